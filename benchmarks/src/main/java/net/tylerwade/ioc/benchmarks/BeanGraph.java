@@ -0,0 +1,134 @@
+package net.tylerwade.ioc.benchmarks;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bean graph generated as Java source and compiled once. Every {@link #load()} defines the classes again in a new
+ * class loader, so the container sees types it has never resolved before.
+ */
+public class BeanGraph {
+
+	private static final String PACKAGE = "generated";
+
+	private final List<String> classNames;
+	private final URL classes;
+
+	private BeanGraph(List<String> classNames, URL classes) {
+
+		this.classNames = classNames;
+		this.classes = classes;
+	}
+
+	/**
+	 * Generates and compiles a bean graph.
+	 *
+	 * @param shape the shape of the graph
+	 * @param size  the size of the graph
+	 * @return the compiled graph
+	 */
+	public static BeanGraph compile(GraphShape shape, int size) {
+
+		try {
+			Path root = Files.createTempDirectory("ioc-bean-graph");
+			Path sources = Files.createDirectories(root.resolve("src").resolve(PACKAGE));
+			Path classes = Files.createDirectories(root.resolve("classes"));
+
+			List<String> classNames = new ArrayList<>();
+			List<String> files = new ArrayList<>(List.of("-d", classes.toString()));
+
+			for (Map.Entry<String, List<String>> bean : shape.dependencies(size).entrySet()) {
+				Path file = sources.resolve(bean.getKey() + ".java");
+				Files.writeString(file, source(bean.getKey(), bean.getValue()));
+				files.add(file.toString());
+				classNames.add(PACKAGE + "." + bean.getKey());
+			}
+
+			JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+			if (compiler.run(null, null, null, files.toArray(String[]::new)) != 0) {
+				throw new IllegalStateException("Failed to compile " + shape + " bean graph of size " + size);
+			}
+
+			return new BeanGraph(List.copyOf(classNames), classes.toUri().toURL());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static String source(String name, List<String> dependencies) {
+
+		StringBuilder parameters = new StringBuilder();
+
+		for (int i = 0; i < dependencies.size(); i++) {
+			if (i > 0) {
+				parameters.append(", ");
+			}
+			parameters.append(dependencies.get(i)).append(" dependency").append(i);
+		}
+
+		return "package " + PACKAGE + ";\n\n"
+				+ "public class " + name + " {\n"
+				+ "\tpublic " + name + "(" + parameters + ") {\n"
+				+ "\t}\n"
+				+ "}\n";
+	}
+
+	/**
+	 * Defines every class of the graph in a new class loader. Close the loaded graph once it is no longer used, so the
+	 * class loader can be collected.
+	 *
+	 * @return the loaded graph
+	 */
+	public Loaded load() {
+
+		try {
+			URLClassLoader classLoader = new URLClassLoader(new URL[]{classes}, BeanGraph.class.getClassLoader());
+			List<Class<?>> types = new ArrayList<>(classNames.size());
+
+			for (String className : classNames) {
+				types.add(classLoader.loadClass(className));
+			}
+
+			return new Loaded(classLoader, types);
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * The classes of a graph loaded by one class loader.
+	 *
+	 * @param classLoader the class loader that defined the classes
+	 * @param types       every bean class, dependencies before dependents, ending with the root
+	 */
+	public record Loaded(URLClassLoader classLoader, List<Class<?>> types) implements AutoCloseable {
+
+		public Class<?> root() {
+
+			return types.getLast();
+		}
+
+		/**
+		 * Closes the class loader. Classes already loaded stay usable.
+		 */
+		@Override
+		public void close() {
+
+			try {
+				classLoader.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,47 @@
+package net.tylerwade.ioc.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Runs every benchmark suite, or the suites whose simple names are given as arguments, writing each suite's results
+ * as JSON to {@code jmh-results/<Suite>.json} so they can be tracked over time.
+ */
+public class BenchmarkRunner {
+
+	private static final List<Class<?>> SUITES = List.of(
+			InjectHitBenchmark.class,
+			ColdCreationBenchmark.class,
+			RecreationBenchmark.class,
+			ContentionBenchmark.class
+	);
+
+	public static void main(String[] args) throws RunnerException, IOException {
+
+		Path results = Files.createDirectories(Path.of("jmh-results"));
+		List<String> selected = List.of(args);
+
+		for (Class<?> suite : SUITES) {
+			if (!selected.isEmpty() && !selected.contains(suite.getSimpleName())) {
+				continue;
+			}
+
+			Options options = new OptionsBuilder()
+					.include(suite.getName() + "\\.")
+					.resultFormat(ResultFormatType.JSON)
+					.result(results.resolve(suite.getSimpleName() + ".json").toString())
+					.build();
+
+			new Runner(options).run();
+		}
+	}
+
+}
@@ -0,0 +1,95 @@
+package net.tylerwade.ioc.benchmarks;
+
+import net.tylerwade.ioc.Beans;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures creating a whole bean graph the container has never seen: resolving every bean definition, checking the
+ * graph for circular dependencies and creating the beans.
+ * <p>
+ * Before each iteration a fixed batch of copies of the graph is loaded, each in its own class loader and outside of
+ * the measured time, and every invocation creates the next copy, so no definition or acyclicity verdict is cached
+ * from a previous invocation. Each iteration runs exactly one batch, after which the beans are dropped and the class
+ * loaders closed, so the classes can be unloaded rather than piling up over the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, batchSize = ColdCreationBenchmark.GRAPHS)
+@Measurement(iterations = 10, batchSize = ColdCreationBenchmark.GRAPHS)
+public class ColdCreationBenchmark {
+
+	static final int GRAPHS = 100;
+
+	@Param({"DEEP", "WIDE", "DIAMOND"})
+	public GraphShape shape;
+
+	@Param({"16", "64"})
+	public int size;
+
+	private BeanGraph graph;
+	private final List<BeanGraph.Loaded> graphs = new ArrayList<>(GRAPHS);
+	private int next;
+
+	@Setup(Level.Trial)
+	public void compileGraph() {
+
+		graph = BeanGraph.compile(shape, size);
+	}
+
+	@Setup(Level.Iteration)
+	public void loadGraphs() {
+
+		Beans.clear();
+
+		for (int i = 0; i < GRAPHS; i++) {
+			graphs.add(graph.load());
+		}
+		next = 0;
+	}
+
+	@TearDown(Level.Iteration)
+	public void unloadGraphs() {
+
+		Beans.clear();
+		graphs.forEach(BeanGraph.Loaded::close);
+		graphs.clear();
+	}
+
+	@Benchmark
+	public Object createGraph() {
+
+		return Beans.inject(nextRoot());
+	}
+
+	@Benchmark
+	public Object initializeGraph() {
+
+		Class<?> root = nextRoot();
+		Beans.initialize(root);
+		return Beans.inject(root);
+	}
+
+	private Class<?> nextRoot() {
+
+		return graphs.get(next++).root();
+	}
+
+}
@@ -0,0 +1,77 @@
+package net.tylerwade.ioc.benchmarks;
+
+import net.tylerwade.ioc.Beans;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Beans#inject(Class)} with many threads, all asking for the same type or each asking for its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ContentionBenchmark {
+
+	private List<Class<?>> types;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+
+		Beans.clear();
+		types = BeanGraph.compile(GraphShape.WIDE, 64).load().types();
+		Beans.initialize(types.getLast());
+	}
+
+	@State(Scope.Thread)
+	public static class ThreadType {
+
+		private Class<?> type;
+
+		@Setup(Level.Trial)
+		public void setUp(ContentionBenchmark benchmark, ThreadParams threadParams) {
+
+			type = benchmark.types.get(threadParams.getThreadIndex() % (benchmark.types.size() - 1));
+		}
+	}
+
+	@Benchmark
+	public Object injectSameType() {
+
+		return Beans.inject(types.getFirst());
+	}
+
+	@Benchmark
+	public Object injectDifferentTypes(ThreadType threadType) {
+
+		return Beans.inject(threadType.type);
+	}
+
+	/**
+	 * Every thread removes and re-creates the same bean, so creations race and threads wait on each other's creation.
+	 */
+	@Benchmark
+	public Object recreateSameType() {
+
+		Beans.remove(types.getFirst());
+		return Beans.inject(types.getFirst());
+	}
+
+}
@@ -0,0 +1,86 @@
+package net.tylerwade.ioc.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shapes of generated bean graphs. Every shape has a single root bean named {@code Root}.
+ */
+public enum GraphShape {
+
+	/**
+	 * A chain of {@code size} beans, each depending on the previous one.
+	 */
+	DEEP {
+		@Override
+		Map<String, List<String>> dependencies(int size) {
+
+			Map<String, List<String>> graph = new LinkedHashMap<>();
+			graph.put("Bean0", List.of());
+
+			for (int i = 1; i < size; i++) {
+				graph.put("Bean" + i, List.of("Bean" + (i - 1)));
+			}
+
+			graph.put(ROOT, List.of("Bean" + (size - 1)));
+			return graph;
+		}
+	},
+
+	/**
+	 * A root depending on {@code size} independent beans.
+	 */
+	WIDE {
+		@Override
+		Map<String, List<String>> dependencies(int size) {
+
+			Map<String, List<String>> graph = new LinkedHashMap<>();
+			List<String> leaves = new ArrayList<>();
+
+			for (int i = 0; i < size; i++) {
+				graph.put("Bean" + i, List.of());
+				leaves.add("Bean" + i);
+			}
+
+			graph.put(ROOT, leaves);
+			return graph;
+		}
+	},
+
+	/**
+	 * {@code size} stacked diamonds: every layer has two beans that both depend on both beans of the layer below.
+	 * A search that does not remember visited beans walks 2^size paths.
+	 */
+	DIAMOND {
+		@Override
+		Map<String, List<String>> dependencies(int size) {
+
+			Map<String, List<String>> graph = new LinkedHashMap<>();
+			graph.put("Bean0", List.of());
+
+			List<String> below = List.of("Bean0");
+
+			for (int layer = 1; layer <= size; layer++) {
+				List<String> current = List.of("Bean" + layer + "L", "Bean" + layer + "R");
+				for (String bean : current) {
+					graph.put(bean, below);
+				}
+				below = current;
+			}
+
+			graph.put(ROOT, below);
+			return graph;
+		}
+	};
+
+	static final String ROOT = "Root";
+
+	/**
+	 * @param size the size of the graph, its meaning depends on the shape
+	 * @return the constructor dependencies of every bean, dependencies before dependents
+	 */
+	abstract Map<String, List<String>> dependencies(int size);
+
+}
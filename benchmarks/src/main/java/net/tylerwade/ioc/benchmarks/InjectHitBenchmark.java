@@ -0,0 +1,89 @@
+package net.tylerwade.ioc.benchmarks;
+
+import net.tylerwade.ioc.BeanRef;
+import net.tylerwade.ioc.Beans;
+import net.tylerwade.ioc.Container;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Beans#inject(Class)} and {@link BeanRef#get()} for beans that already exist, and injection from a
+ * {@link Container#freeze() frozen} container, against a plain map lookup as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class InjectHitBenchmark {
+
+	private final Map<Class<?>, Object> baseline = new ConcurrentHashMap<>();
+	private Class<?> root;
+	private Class<?> leaf;
+	private BeanRef<?> rootRef;
+	private Container frozen;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+
+		Beans.clear();
+
+		BeanGraph.Loaded graph = BeanGraph.compile(GraphShape.DEEP, 10).load();
+		root = graph.root();
+		leaf = graph.types().getFirst();
+
+		Beans.inject(root);
+		baseline.put(root, Beans.inject(root));
+		rootRef = Beans.ref(root);
+		rootRef.get();
+
+		frozen = new Container();
+		frozen.inject(root);
+		frozen.freeze();
+	}
+
+	@Benchmark
+	public Object injectRoot() {
+
+		return Beans.inject(root);
+	}
+
+	@Benchmark
+	public Object injectLeaf() {
+
+		return Beans.inject(leaf);
+	}
+
+	@Benchmark
+	public Object refRoot() {
+
+		return rootRef.get();
+	}
+
+	@Benchmark
+	public Object injectRootFrozen() {
+
+		return frozen.inject(root);
+	}
+
+	@Benchmark
+	public Object mapBaseline() {
+
+		return baseline.get(root);
+	}
+
+}
@@ -0,0 +1,54 @@
+package net.tylerwade.ioc.benchmarks;
+
+import net.tylerwade.ioc.Beans;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Beans#removeWithDependencies(Class)} followed by creating the graph again, with every bean
+ * definition already resolved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RecreationBenchmark {
+
+	@Param({"DEEP", "WIDE", "DIAMOND"})
+	public GraphShape shape;
+
+	@Param({"16", "64"})
+	public int size;
+
+	private Class<?> root;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+
+		Beans.clear();
+		root = BeanGraph.compile(shape, size).load().root();
+		Beans.inject(root);
+	}
+
+	@Benchmark
+	public Object removeAndRecreate() {
+
+		Beans.removeWithDependencies(root);
+		return Beans.inject(root);
+	}
+
+}
@@ -0,0 +1,27 @@
+package net.tylerwade.ioc.processor;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import java.util.List;
+
+/**
+ * Compile-time view of a bean: the constructor the container would pick and the beans it depends on.
+ *
+ * @param type              the bean class
+ * @param constructor       the greediest public constructor
+ * @param dependencies      the classes of the eagerly injected constructor parameters, in order, followed by those of
+ *                          the eagerly injected fields and setters
+ * @param lazyTargets       the lazy target of each constructor parameter, null for parameters injected eagerly
+ * @param elementTypes      the element type of each multi-bound {@code List} or {@code Map} constructor parameter, null
+ *                          for parameters that receive a single bean
+ * @param memberLazyTargets the lazy targets of the injected fields and setters
+ */
+record BeanModel(TypeElement type, ExecutableElement constructor, List<TypeElement> dependencies, List<TypeMirror> lazyTargets,
+				 List<TypeMirror> elementTypes, List<TypeMirror> memberLazyTargets) {
+
+	String name() {
+
+		return type.getQualifiedName().toString();
+	}
+}
@@ -0,0 +1,559 @@
+package net.tylerwade.ioc.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Generates a reflection-free {@code net.tylerwade.ioc.GeneratedFactory} for every
+ * {@code net.tylerwade.ioc.annotation.Component} class.
+ * <p>
+ * Constructor selection follows the same rules as the container at runtime: the public constructor with the most
+ * parameters wins, and every parameter must be a valid bean type or a {@code List} or {@code Map} of all beans of an
+ * interface or abstract class. Fields and setters marked {@code net.tylerwade.ioc.annotation.Inject} are validated
+ * the same way, they are still injected by the container at
+ * runtime and count as dependencies of the bean. The dependency graph reachable from each component
+ * is checked for cycles, so wiring errors fail the build instead of the first {@code Beans.inject} call.
+ * <p>
+ * All components of the compilation are also listed in {@code META-INF/net.tylerwade.ioc.components}, which the
+ * container reads to register them at startup.
+ */
+@SupportedAnnotationTypes(IocProcessor.COMPONENT)
+public class IocProcessor extends AbstractProcessor {
+
+	static final String COMPONENT = "net.tylerwade.ioc.annotation.Component";
+	static final String LAZY = "net.tylerwade.ioc.annotation.Lazy";
+	static final String INJECT = "net.tylerwade.ioc.annotation.Inject";
+	static final String GENERATED_FACTORY = "net.tylerwade.ioc.GeneratedFactory";
+	static final String FACTORY_SUFFIX = "_IocFactory";
+	static final String COMPONENT_INDEX = "META-INF/net.tylerwade.ioc.components";
+
+	private final Map<String, BeanModel> models = new HashMap<>();
+	private final Set<String> acyclic = new HashSet<>();
+	private final Set<String> components = new TreeSet<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				processComponent(element);
+			}
+		}
+
+		if (roundEnv.processingOver() && !components.isEmpty()) {
+			writeComponentIndex();
+		}
+
+		return false;
+	}
+
+	private void processComponent(Element element) {
+
+		if (!(element instanceof TypeElement type) || (element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.RECORD)) {
+			error(element, "@Component can only be placed on classes.");
+			return;
+		}
+
+		try {
+			BeanModel model = resolve(type);
+
+			// Lazy targets are created outside of the bean's construction, so each one starts a new search path.
+			Deque<TypeElement> roots = new ArrayDeque<>(List.of(type));
+			Set<String> seen = new HashSet<>();
+			while (!roots.isEmpty()) {
+				TypeElement root = roots.pop();
+				if (seen.add(root.getQualifiedName().toString())) {
+					checkForCircularDependency(resolve(root), new ArrayList<>(), roots);
+				}
+			}
+
+			writeFactory(model);
+			components.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+		} catch (WiringException e) {
+			error(type, e.getMessage());
+		} catch (IOException e) {
+			error(type, "Failed to write bean factory: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Resolves the constructor and dependencies of a bean class. Results are cached for the whole compilation.
+	 *
+	 * @param type the bean class
+	 * @return the bean model
+	 */
+	private BeanModel resolve(TypeElement type) {
+
+		BeanModel model = models.get(type.getQualifiedName().toString());
+
+		if (model != null) {
+			return model;
+		}
+
+		validateBeanType(type.asType(), null);
+
+		ExecutableElement constructor = getGreediestConstructor(type);
+
+		if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+			throw new WiringException("Bean class '%s' is abstract and cannot be created.", type.getQualifiedName());
+		}
+
+		if (type.getKind() == ElementKind.CLASS && type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+			throw new WiringException("Bean class '%s' is an inner class, it must be static to be created.", type.getQualifiedName());
+		}
+
+		List<TypeElement> dependencies = new ArrayList<>();
+		List<TypeMirror> lazyTargets = new ArrayList<>();
+		List<TypeMirror> elementTypes = new ArrayList<>();
+
+		for (VariableElement parameter : constructor.getParameters()) {
+			TypeMirror elementType = getElementType(parameter, type);
+			elementTypes.add(elementType);
+
+			// Multi-bound elements are interfaces or abstract classes, their implementations are only known at runtime.
+			if (elementType != null) {
+				lazyTargets.add(null);
+				continue;
+			}
+
+			validateBeanType(parameter.asType(), type);
+
+			TypeMirror lazyTarget = getLazyTarget(parameter, type);
+			lazyTargets.add(lazyTarget);
+
+			if (lazyTarget == null) {
+				dependencies.add((TypeElement) processingEnv.getTypeUtils().asElement(parameter.asType()));
+			}
+		}
+
+		List<TypeMirror> memberLazyTargets = new ArrayList<>();
+
+		for (VariableElement member : getInjectedMembers(type)) {
+			if (getElementType(member, type) != null) {
+				continue;
+			}
+
+			validateBeanType(member.asType(), type);
+
+			TypeMirror lazyTarget = getLazyTarget(member, type);
+
+			if (lazyTarget == null) {
+				dependencies.add((TypeElement) processingEnv.getTypeUtils().asElement(member.asType()));
+			} else {
+				memberLazyTargets.add(lazyTarget);
+			}
+		}
+
+		model = new BeanModel(type, constructor, List.copyOf(dependencies), Collections.unmodifiableList(lazyTargets),
+				Collections.unmodifiableList(elementTypes), List.copyOf(memberLazyTargets));
+		models.put(model.name(), model);
+		return model;
+	}
+
+	/**
+	 * Mirrors {@code BeanFactory.validateBeanType} at compile time.
+	 */
+	private void validateBeanType(TypeMirror type, TypeElement parent) {
+
+		if (isValidBeanType(type)) {
+			return;
+		}
+
+		String typeName = processingEnv.getTypeUtils().erasure(type).toString();
+
+		if (parent == null) {
+			throw new WiringException("Invalid bean type '%s'", typeName);
+		}
+
+		throw new WiringException("Invalid bean type '%s' for bean '%s'", typeName, parent.getQualifiedName());
+	}
+
+	private boolean isValidBeanType(TypeMirror type) {
+
+		if (type.getKind() != TypeKind.DECLARED) {
+			return false;
+		}
+
+		String name = ((TypeElement) processingEnv.getTypeUtils().asElement(type)).getQualifiedName().toString();
+
+		return !name.startsWith("net.tylerwade.ioc.")
+				&& !name.startsWith("java.lang.")
+				&& !name.startsWith("java.util.")
+				&& !name.startsWith("java.time.")
+				&& !isSubtype(type, "java.util.Collection")
+				&& !isSubtype(type, "java.util.Map");
+	}
+
+	/**
+	 * Mirrors {@code MultiBinding.of} at compile time: a {@code List<T>} or {@code Map<String, T>} receives every bean
+	 * of its element type, which must be an interface or abstract class.
+	 *
+	 * @return the element type, or null if the parameter or field is not a {@code List} or {@code Map}
+	 */
+	private TypeMirror getElementType(VariableElement variable, TypeElement parent) {
+
+		Types types = processingEnv.getTypeUtils();
+		TypeMirror type = variable.asType();
+
+		if (type.getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+
+		String name = ((TypeElement) types.asElement(type)).getQualifiedName().toString();
+
+		if (!name.equals("java.util.List") && !name.equals("java.util.Map")) {
+			return null;
+		}
+
+		List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+
+		if (arguments.isEmpty()) {
+			throw new WiringException("Invalid bean type '%s' for bean '%s': multi-bound dependencies must declare their element type", name, parent.getQualifiedName());
+		} else if (name.equals("java.util.Map") && !types.erasure(arguments.getFirst()).toString().equals("java.lang.String")) {
+			throw new WiringException("Invalid bean type '%s' for bean '%s': multi-bound maps must be keyed by String", name, parent.getQualifiedName());
+		} else if (getAnnotation(variable, LAZY) != null) {
+			throw new WiringException("Invalid bean type '%s' for bean '%s': multi-bound dependencies cannot be lazy", name, parent.getQualifiedName());
+		}
+
+		TypeMirror elementType = arguments.getLast();
+
+		if (elementType instanceof WildcardType wildcard && wildcard.getSuperBound() == null && wildcard.getExtendsBound() != null) {
+			elementType = wildcard.getExtendsBound();
+		}
+
+		if (elementType.getKind() != TypeKind.DECLARED || !isAbstract((TypeElement) types.asElement(elementType))) {
+			throw new WiringException("Invalid bean type '%s' for bean '%s': multi-bound element type %s must be an interface or abstract class",
+					name, parent.getQualifiedName(), elementType);
+		}
+
+		validateBeanType(elementType, parent);
+		return types.erasure(elementType);
+	}
+
+	private boolean isSubtype(TypeMirror type, String supertypeName) {
+
+		Types types = processingEnv.getTypeUtils();
+		TypeElement supertype = processingEnv.getElementUtils().getTypeElement(supertypeName);
+
+		return supertype != null && types.isSubtype(types.erasure(type), types.erasure(supertype.asType()));
+	}
+
+	/**
+	 * Mirrors {@code BeanFactory.getGreediestConstructor} at compile time: the first public constructor with the most parameters.
+	 */
+	private ExecutableElement getGreediestConstructor(TypeElement type) {
+
+		return ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+				.filter(constructor -> constructor.getModifiers().contains(Modifier.PUBLIC))
+				.max(Comparator.comparingInt(constructor -> constructor.getParameters().size()))
+				.orElseThrow(() -> new WiringException("No suitable DI constructor found for class '%s'.", type.getQualifiedName()));
+	}
+
+	/**
+	 * Mirrors {@code BeanFactory.getInjectedMembers} at compile time: the fields and setter parameters marked
+	 * {@code @Inject}, superclass members first, skipping setters that a subclass overrides.
+	 *
+	 * @return the injected fields and the parameters of the injected setters
+	 */
+	private List<VariableElement> getInjectedMembers(TypeElement type) {
+
+		Elements elements = processingEnv.getElementUtils();
+		Deque<TypeElement> hierarchy = new ArrayDeque<>();
+
+		for (TypeElement current = type; current != null && !current.getQualifiedName().contentEquals("java.lang.Object"); ) {
+			hierarchy.push(current);
+			TypeMirror superclass = current.getSuperclass();
+			current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) processingEnv.getTypeUtils().asElement(superclass) : null;
+		}
+
+		List<VariableElement> members = new ArrayList<>();
+
+		for (TypeElement declaring : hierarchy) {
+			for (VariableElement field : ElementFilter.fieldsIn(declaring.getEnclosedElements())) {
+				if (getAnnotation(field, INJECT) == null) {
+					continue;
+				}
+
+				if (field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.FINAL)) {
+					throw new WiringException("Invalid bean type '%s' for bean '%s': injected field %s must not be static or final",
+							processingEnv.getTypeUtils().erasure(field.asType()), type.getQualifiedName(), field.getSimpleName());
+				}
+
+				members.add(field);
+			}
+
+			for (ExecutableElement method : ElementFilter.methodsIn(declaring.getEnclosedElements())) {
+				if (getAnnotation(method, INJECT) == null) {
+					continue;
+				}
+
+				if (method.getModifiers().contains(Modifier.STATIC) || method.getParameters().size() != 1) {
+					throw new WiringException("Invalid bean type '%s' for bean '%s': injected method %s must be an instance method with one parameter",
+							declaring.getQualifiedName(), type.getQualifiedName(), method.getSimpleName());
+				}
+
+				boolean overridden = !method.getModifiers().contains(Modifier.PRIVATE) && ElementFilter.methodsIn(elements.getAllMembers(type)).stream()
+						.anyMatch(other -> other != method && elements.overrides(other, method, type));
+
+				if (!overridden) {
+					members.add(method.getParameters().getFirst());
+				}
+			}
+		}
+
+		return members;
+	}
+
+	/**
+	 * Mirrors {@code BeanFactory.getLazyTargets} at compile time: finds {@code @Lazy} on the parameter or field, or on its type.
+	 *
+	 * @return the lazy target, or null if the parameter is injected eagerly
+	 */
+	private TypeMirror getLazyTarget(VariableElement parameter, TypeElement parent) {
+
+		Types types = processingEnv.getTypeUtils();
+		Element parameterType = types.asElement(parameter.asType());
+
+		AnnotationMirror lazy = getAnnotation(parameter, LAZY);
+		if (lazy == null && parameterType != null) {
+			lazy = getAnnotation(parameterType, LAZY);
+		}
+
+		if (lazy == null) {
+			return null;
+		}
+
+		// Without a value, or with void.class, the interface itself is resolved through the bindings on first use.
+		TypeMirror target = lazy.getElementValues().entrySet().stream()
+				.filter(entry -> entry.getKey().getSimpleName().contentEquals("value"))
+				.map(entry -> (TypeMirror) entry.getValue().getValue())
+				.filter(value -> value.getKind() != TypeKind.VOID)
+				.findFirst()
+				.orElse(parameter.asType());
+
+		String typeName = types.erasure(parameter.asType()).toString();
+
+		if (parameterType == null || parameterType.getKind() != ElementKind.INTERFACE) {
+			throw new WiringException("Invalid bean type '%s' for bean '%s': lazy dependencies must be interfaces", typeName, parent.getQualifiedName());
+		} else if (!types.isAssignable(types.erasure(target), types.erasure(parameter.asType()))) {
+			throw new WiringException("Invalid bean type '%s' for bean '%s': lazy target does not implement %s", types.erasure(target), parent.getQualifiedName(), typeName);
+		}
+
+		return target;
+	}
+
+	private AnnotationMirror getAnnotation(Element element, String annotationName) {
+
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName)) {
+				return annotation;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Checks for circular dependencies with a depth-first search, remembering every bean already proven acyclic.
+	 *
+	 * @param model     the bean to check
+	 * @param path      the beans on the current search path
+	 * @param lazyRoots collects the lazy targets found, which must be checked on their own
+	 */
+	private void checkForCircularDependency(BeanModel model, List<String> path, Deque<TypeElement> lazyRoots) {
+
+		if (acyclic.contains(model.name())) {
+			return;
+		}
+
+		int index = path.indexOf(model.name());
+
+		if (index >= 0) {
+			List<String> cycle = new ArrayList<>(path.subList(index, path.size()));
+			cycle.add(model.name());
+			throw new WiringException("Circular dependency detected: %s", String.join(" -> ", cycle));
+		}
+
+		path.add(model.name());
+
+		for (TypeElement dependency : model.dependencies()) {
+			// Interfaces and abstract classes are bound to an implementation at runtime, their cycles are checked there.
+			if (!isAbstract(dependency)) {
+				checkForCircularDependency(resolve(dependency), path, lazyRoots);
+			}
+		}
+
+		List<TypeMirror> lazyTargets = new ArrayList<>(model.lazyTargets());
+		lazyTargets.addAll(model.memberLazyTargets());
+
+		for (TypeMirror lazyTarget : lazyTargets) {
+			TypeElement target = lazyTarget != null ? (TypeElement) processingEnv.getTypeUtils().asElement(lazyTarget) : null;
+
+			if (target != null && !isAbstract(target)) {
+				lazyRoots.push(target);
+			}
+		}
+
+		path.removeLast();
+		acyclic.add(model.name());
+	}
+
+	private boolean isAbstract(TypeElement type) {
+
+		return type.getKind() == ElementKind.INTERFACE || type.getModifiers().contains(Modifier.ABSTRACT);
+	}
+
+	/**
+	 * Names the factory of a bean, must match the lookup in the container's {@code BeanFactory}. Each {@code _} of the
+	 * binary simple name is doubled before each {@code $} becomes {@code _0}, so no two bean types get the same name.
+	 */
+	private static String factoryName(String binarySimpleName) {
+
+		return binarySimpleName.replace("_", "__").replace("$", "_0") + FACTORY_SUFFIX;
+	}
+
+	private void writeFactory(BeanModel model) throws IOException {
+
+		Elements elements = processingEnv.getElementUtils();
+		Types types = processingEnv.getTypeUtils();
+
+		TypeElement type = model.type();
+		String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+		String binaryName = elements.getBinaryName(type).toString();
+		String factoryName = factoryName(packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1));
+		String beanName = types.erasure(type.asType()).toString();
+
+		List<String> dependencyTypes = new ArrayList<>();
+		List<String> arguments = new ArrayList<>();
+		List<String> lazyCases = new ArrayList<>();
+		List<String> elementCases = new ArrayList<>();
+
+		for (VariableElement parameter : model.constructor().getParameters()) {
+			String parameterName = types.erasure(parameter.asType()).toString();
+			TypeMirror lazyTarget = model.lazyTargets().get(arguments.size());
+			TypeMirror elementType = model.elementTypes().get(arguments.size());
+
+			if (lazyTarget != null) {
+				lazyCases.add("\t\t\tcase " + arguments.size() + " -> " + types.erasure(lazyTarget) + ".class;\n");
+			}
+
+			if (elementType != null) {
+				elementCases.add("\t\t\tcase " + arguments.size() + " -> " + elementType + ".class;\n");
+			}
+
+			dependencyTypes.add(parameterName + ".class");
+			arguments.add("(" + parameterName + ") dependencies[" + arguments.size() + "]");
+		}
+
+		JavaFileObject file = processingEnv.getFiler().createSourceFile(
+				packageName.isEmpty() ? factoryName : packageName + "." + factoryName, type);
+
+		try (Writer writer = file.openWriter()) {
+			if (!packageName.isEmpty()) {
+				writer.write("package " + packageName + ";\n\n");
+			}
+			writer.write("@javax.annotation.processing.Generated(\"" + IocProcessor.class.getName() + "\")\n");
+			writer.write("@java.lang.SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+			writer.write("public final class " + factoryName + " implements " + GENERATED_FACTORY + "<" + beanName + "> {\n\n");
+			writer.write("\tprivate static final java.util.List<java.lang.Class<?>> DEPENDENCIES = java.util.List.of("
+					+ String.join(", ", dependencyTypes) + ");\n\n");
+			writer.write("\t@java.lang.Override\n");
+			writer.write("\tpublic java.util.List<java.lang.Class<?>> dependencies() {\n");
+			writer.write("\t\treturn DEPENDENCIES;\n");
+			writer.write("\t}\n\n");
+			if (!lazyCases.isEmpty()) {
+				writer.write("\t@java.lang.Override\n");
+				writer.write("\tpublic java.lang.Class<?> lazyTarget(int index) {\n");
+				writer.write("\t\treturn switch (index) {\n");
+				for (String lazyCase : lazyCases) {
+					writer.write(lazyCase);
+				}
+				writer.write("\t\t\tdefault -> null;\n");
+				writer.write("\t\t};\n");
+				writer.write("\t}\n\n");
+			}
+			if (!elementCases.isEmpty()) {
+				writer.write("\t@java.lang.Override\n");
+				writer.write("\tpublic java.lang.Class<?> elementType(int index) {\n");
+				writer.write("\t\treturn switch (index) {\n");
+				for (String elementCase : elementCases) {
+					writer.write(elementCase);
+				}
+				writer.write("\t\t\tdefault -> null;\n");
+				writer.write("\t\t};\n");
+				writer.write("\t}\n\n");
+			}
+			writer.write("\t@java.lang.Override\n");
+			writer.write("\tpublic " + beanName + " create(java.lang.Object[] dependencies) {\n");
+			writer.write("\t\treturn new " + beanName + "(" + String.join(", ", arguments) + ");\n");
+			writer.write("\t}\n");
+			writer.write("}\n");
+		}
+	}
+
+	/**
+	 * Writes the binary names of all components, one per line, so the container can find them at startup without
+	 * scanning the classpath.
+	 */
+	private void writeComponentIndex() {
+
+		try {
+			FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", COMPONENT_INDEX);
+
+			try (Writer writer = file.openWriter()) {
+				writer.write("# Generated by " + IocProcessor.class.getName() + "\n");
+				for (String component : components) {
+					writer.write(component + "\n");
+				}
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write component index: " + e.getMessage());
+		}
+	}
+
+	private void error(Element element, String message) {
+
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+
+}
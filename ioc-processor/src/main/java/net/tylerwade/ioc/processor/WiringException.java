@@ -0,0 +1,12 @@
+package net.tylerwade.ioc.processor;
+
+/**
+ * Thrown while analysing a component whose wiring would fail at runtime. Reported as a compile error on the component.
+ */
+class WiringException extends RuntimeException {
+
+	WiringException(String format, Object... args) {
+
+		super(String.format(format, args));
+	}
+}
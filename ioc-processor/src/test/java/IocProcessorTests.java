@@ -0,0 +1,293 @@
+import net.tylerwade.ioc.processor.IocProcessor;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IocProcessorTests {
+
+	/**
+	 * Minimal copies of the container API the generated code compiles against.
+	 */
+	private static final Map<String, String> API = Map.of(
+			"net/tylerwade/ioc/annotation/Component.java", """
+					package net.tylerwade.ioc.annotation;
+					public @interface Component { String value() default ""; }
+					""",
+			"net/tylerwade/ioc/annotation/Lazy.java", """
+					package net.tylerwade.ioc.annotation;
+					public @interface Lazy { Class<?> value() default void.class; }
+					""",
+			"net/tylerwade/ioc/annotation/Inject.java", """
+					package net.tylerwade.ioc.annotation;
+					public @interface Inject {}
+					""",
+			"net/tylerwade/ioc/GeneratedFactory.java", """
+					package net.tylerwade.ioc;
+					public interface GeneratedFactory<T> {
+						java.util.List<Class<?>> dependencies();
+						default Class<?> lazyTarget(int index) { return null; }
+						default Class<?> elementType(int index) { return null; }
+						T create(Object[] dependencies);
+					}
+					""");
+
+	@Test
+	void factoryIsGeneratedForComponent() throws IOException {
+
+		Compilation compilation = compile(Map.of(
+				"sample/Repo.java", "package sample; public class Repo {}",
+				"sample/Service.java", """
+						package sample;
+						@net.tylerwade.ioc.annotation.Component
+						public class Service {
+							public Service() {}
+							public Service(Repo repo) {}
+						}
+						"""));
+
+		assertTrue(compilation.errors().isEmpty(), compilation.errors().toString());
+		String factory = compilation.generated("sample/Service_IocFactory.java");
+		assertTrue(factory.contains("implements net.tylerwade.ioc.GeneratedFactory<sample.Service>"));
+		assertTrue(factory.contains("java.util.List.of(sample.Repo.class)"));
+		assertTrue(factory.contains("return new sample.Service((sample.Repo) dependencies[0]);"));
+	}
+
+	@Test
+	void nestedComponentFactoryUsesBinaryName() throws IOException {
+
+		Compilation compilation = compile(Map.of(
+				"sample/Outer.java", """
+						package sample;
+						public class Outer {
+							@net.tylerwade.ioc.annotation.Component
+							public static class Inner {}
+						}
+						"""));
+
+		assertTrue(compilation.errors().isEmpty(), compilation.errors().toString());
+		assertTrue(compilation.generated("sample/Outer_0Inner_IocFactory.java").contains("return new sample.Outer.Inner();"));
+	}
+
+	@Test
+	void nestedAndUnderscoreNamedComponentsGetDistinctFactories() throws IOException {
+
+		Compilation compilation = compile(Map.of(
+				"sample/Outer.java", """
+						package sample;
+						public class Outer {
+							@net.tylerwade.ioc.annotation.Component
+							public static class Inner {}
+						}
+						""",
+				"sample/Outer_Inner.java", "package sample; @net.tylerwade.ioc.annotation.Component public class Outer_Inner {}"));
+
+		assertTrue(compilation.errors().isEmpty(), compilation.errors().toString());
+		assertTrue(compilation.generated("sample/Outer_0Inner_IocFactory.java").contains("return new sample.Outer.Inner();"));
+		assertTrue(compilation.generated("sample/Outer__Inner_IocFactory.java").contains("return new sample.Outer_Inner();"));
+	}
+
+	@Test
+	void componentIndexListsComponents() throws IOException {
+
+		Compilation compilation = compile(Map.of(
+				"sample/Repo.java", "package sample; public class Repo {}",
+				"sample/Service.java", "package sample; @net.tylerwade.ioc.annotation.Component public class Service { public Service(Repo repo) {} }",
+				"sample/Outer.java", "package sample; public class Outer { @net.tylerwade.ioc.annotation.Component public static class Inner {} }"));
+
+		assertTrue(compilation.errors().isEmpty(), compilation.errors().toString());
+		List<String> index = Files.readAllLines(compilation.classesDir().resolve("META-INF/net.tylerwade.ioc.components"));
+		assertEquals(List.of("sample.Outer$Inner", "sample.Service"), index.subList(1, index.size()));
+	}
+
+	@Test
+	void circularDependencyFailsCompilation() throws IOException {
+
+		Compilation compilation = compile(Map.of(
+				"sample/A.java", "package sample; @net.tylerwade.ioc.annotation.Component public class A { public A(B b) {} }",
+				"sample/B.java", "package sample; public class B { public B(C c) {} }",
+				"sample/C.java", "package sample; public class C { public C(A a) {} }"));
+
+		assertEquals(1, compilation.errors().size());
+		assertTrue(compilation.errors().getFirst().contains("sample.A -> sample.B -> sample.C -> sample.A"), compilation.errors().toString());
+	}
+
+	@Test
+	void circularDependencyThroughFieldFailsCompilation() throws IOException {
+
+		Compilation compilation = compile(Map.of(
+				"sample/A.java", "package sample; @net.tylerwade.ioc.annotation.Component public class A { @net.tylerwade.ioc.annotation.Inject B b; }",
+				"sample/B.java", "package sample; public class B { public B(A a) {} }"));
+
+		assertEquals(1, compilation.errors().size());
+		assertTrue(compilation.errors().getFirst().contains("sample.A -> sample.B -> sample.A"), compilation.errors().toString());
+	}
+
+	@Test
+	void finalInjectedFieldFailsCompilation() throws IOException {
+
+		Compilation compilation = compile(Map.of(
+				"sample/Repo.java", "package sample; public class Repo {}",
+				"sample/Service.java", "package sample; @net.tylerwade.ioc.annotation.Component public class Service { @net.tylerwade.ioc.annotation.Inject final Repo repo = null; }"));
+
+		assertEquals(List.of("Invalid bean type 'sample.Repo' for bean 'sample.Service': injected field repo must not be static or final"), compilation.errors());
+	}
+
+	@Test
+	void lazyDependencyBreaksCircularDependency() throws IOException {
+
+		Compilation compilation = compile(Map.of(
+				"sample/Scheduler.java", "package sample; public interface Scheduler {}",
+				"sample/Cron.java", "package sample; public class Cron implements Scheduler { public Cron(Dispatcher dispatcher) {} }",
+				"sample/Dispatcher.java", """
+						package sample;
+						@net.tylerwade.ioc.annotation.Component
+						public class Dispatcher {
+							public Dispatcher(@net.tylerwade.ioc.annotation.Lazy(Cron.class) Scheduler scheduler) {}
+						}
+						"""));
+
+		assertTrue(compilation.errors().isEmpty(), compilation.errors().toString());
+		String factory = compilation.generated("sample/Dispatcher_IocFactory.java");
+		assertTrue(factory.contains("case 0 -> sample.Cron.class;"));
+	}
+
+	@Test
+	void interfaceDependencyIsLeftToRuntimeBinding() throws IOException {
+
+		Compilation compilation = compile(Map.of(
+				"sample/Notifier.java", "package sample; public interface Notifier {}",
+				"sample/Alerts.java", "package sample; @net.tylerwade.ioc.annotation.Component public class Alerts { public Alerts(Notifier notifier) {} }"));
+
+		assertTrue(compilation.errors().isEmpty(), compilation.errors().toString());
+		assertTrue(compilation.generated("sample/Alerts_IocFactory.java").contains("return new sample.Alerts((sample.Notifier) dependencies[0]);"));
+	}
+
+	@Test
+	void lazyDependencyWithoutTargetResolvesInterface() throws IOException {
+
+		Compilation compilation = compile(Map.of(
+				"sample/Scheduler.java", "package sample; public interface Scheduler {}",
+				"sample/Dispatcher.java", "package sample; @net.tylerwade.ioc.annotation.Component public class Dispatcher { public Dispatcher(@net.tylerwade.ioc.annotation.Lazy Scheduler scheduler) {} }"));
+
+		assertTrue(compilation.errors().isEmpty(), compilation.errors().toString());
+		assertTrue(compilation.generated("sample/Dispatcher_IocFactory.java").contains("case 0 -> sample.Scheduler.class;"));
+	}
+
+	@Test
+	void lazyClassDependencyFailsCompilation() throws IOException {
+
+		Compilation compilation = compile(Map.of(
+				"sample/Cron.java", "package sample; public class Cron {}",
+				"sample/Dispatcher.java", "package sample; @net.tylerwade.ioc.annotation.Component public class Dispatcher { public Dispatcher(@net.tylerwade.ioc.annotation.Lazy(Cron.class) Cron cron) {} }"));
+
+		assertEquals(List.of("Invalid bean type 'sample.Cron' for bean 'sample.Dispatcher': lazy dependencies must be interfaces"), compilation.errors());
+	}
+
+	@Test
+	void invalidDependencyFailsCompilation() throws IOException {
+
+		Compilation compilation = compile(Map.of(
+				"sample/Book.java", "package sample; @net.tylerwade.ioc.annotation.Component public class Book { public Book(String title) {} }"));
+
+		assertEquals(List.of("Invalid bean type 'java.lang.String' for bean 'sample.Book'"), compilation.errors());
+	}
+
+	@Test
+	void multiBoundParameterRecordsElementType() throws IOException {
+
+		Compilation compilation = compile(Map.of(
+				"sample/Route.java", "package sample; public interface Route {}",
+				"sample/Router.java", """
+						package sample;
+						@net.tylerwade.ioc.annotation.Component
+						public class Router {
+							public Router(java.util.List<Route> routes, java.util.Map<String, ? extends Route> byName) {}
+						}
+						"""));
+
+		assertTrue(compilation.errors().isEmpty(), compilation.errors().toString());
+		String factory = compilation.generated("sample/Router_IocFactory.java");
+		assertTrue(factory.contains("java.util.List.of(java.util.List.class, java.util.Map.class)"));
+		assertTrue(factory.contains("case 0 -> sample.Route.class;"));
+		assertTrue(factory.contains("case 1 -> sample.Route.class;"));
+	}
+
+	@Test
+	void multiBoundMapWithoutStringKeyFailsCompilation() throws IOException {
+
+		Compilation compilation = compile(Map.of(
+				"sample/Route.java", "package sample; public interface Route {}",
+				"sample/Router.java", "package sample; @net.tylerwade.ioc.annotation.Component public class Router { public Router(java.util.Map<Integer, Route> routes) {} }"));
+
+		assertEquals(List.of("Invalid bean type 'java.util.Map' for bean 'sample.Router': multi-bound maps must be keyed by String"), compilation.errors());
+	}
+
+	@Test
+	void dependencyWithoutConstructorFailsCompilation() throws IOException {
+
+		Compilation compilation = compile(Map.of(
+				"sample/Port.java", "package sample; public class Port { Port() {} }",
+				"sample/Adapter.java", "package sample; @net.tylerwade.ioc.annotation.Component public class Adapter { public Adapter(Port port) {} }"));
+
+		assertEquals(List.of("No suitable DI constructor found for class 'sample.Port'."), compilation.errors());
+	}
+
+	private static Compilation compile(Map<String, String> sources) throws IOException {
+
+		Path root = Files.createTempDirectory("ioc-processor");
+		Path sourceDir = root.resolve("src");
+		Path generatedDir = root.resolve("generated");
+		Path classesDir = root.resolve("classes");
+		Files.createDirectories(generatedDir);
+		Files.createDirectories(classesDir);
+
+		List<Path> files = new ArrayList<>();
+		for (Map<String, String> group : List.of(API, sources)) {
+			for (Map.Entry<String, String> source : group.entrySet()) {
+				Path file = sourceDir.resolve(source.getKey());
+				Files.createDirectories(file.getParent());
+				Files.writeString(file, source.getValue());
+				files.add(file);
+			}
+		}
+
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+			JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+					List.of("-d", classesDir.toString(), "-s", generatedDir.toString()),
+					null, fileManager.getJavaFileObjectsFromPaths(files));
+			task.setProcessors(List.of(new IocProcessor()));
+			task.call();
+		}
+
+		List<String> errors = diagnostics.getDiagnostics().stream()
+				.filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+				.map(diagnostic -> diagnostic.getMessage(null))
+				.toList();
+
+		return new Compilation(generatedDir, classesDir, errors);
+	}
+
+	private record Compilation(Path generatedDir, Path classesDir, List<String> errors) {
+
+		String generated(String path) throws IOException {
+			return Files.readString(generatedDir.resolve(path));
+		}
+	}
+
+}
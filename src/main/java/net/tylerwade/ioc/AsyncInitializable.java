@@ -0,0 +1,23 @@
+package net.tylerwade.ioc;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Implemented by beans that need slow initialization, such as opening connections or loading data, after they are
+ * constructed.
+ * <p>
+ * The container starts the initialization as soon as the bean is created, on whichever path creates it, and does not
+ * wait for it. {@link Container#injectAsync(Class)} only completes once the initialization has completed, and beans
+ * created through it wait for the initialization of their dependencies before they are constructed. A failed
+ * initialization fails those futures, the bean itself stays in the container.
+ */
+public interface AsyncInitializable {
+
+	/**
+	 * Starts initializing the bean. This should return quickly and complete the stage from another thread.
+	 *
+	 * @return a stage that completes when the bean is ready for use
+	 */
+	CompletionStage<?> initializeAsync();
+
+}
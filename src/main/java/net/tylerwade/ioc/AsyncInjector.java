@@ -0,0 +1,160 @@
+package net.tylerwade.ioc;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Creates beans of a container asynchronously. Each bean is created as soon as all of its dependencies are ready,
+ * so independent branches of the graph, and the {@link AsyncInitializable} initializations along them, overlap
+ * without any thread waiting for them.
+ * <p>
+ * Asynchronous requests for the same bean share one future while it is pending. The bean itself is still created
+ * through {@link Container#inject(Class)}, so it is created only once however it is requested.
+ */
+@Slf4j
+class AsyncInjector {
+
+	private final Container container;
+	private final Map<Class<?>, CompletableFuture<Object>> pending = new ConcurrentHashMap<>();
+	private final Map<Class<?>, Initialization> initializations = new ConcurrentHashMap<>();
+
+	AsyncInjector(Container container) {
+
+		this.container = container;
+	}
+
+	/**
+	 * Gets a bean once it and all of its dependencies are ready, creating them asynchronously if necessary.
+	 *
+	 * @param implementation the concrete class type of the bean
+	 * @param executor       runs the bean creations
+	 * @return a future that completes with the bean, or with the reason it could not be created or initialized
+	 */
+	CompletableFuture<Object> inject(Class<?> implementation, Executor executor) {
+
+		Object existing = container.getBean(implementation);
+
+		if (existing != null) {
+			return whenReady(implementation, existing);
+		}
+
+		CompletableFuture<Object> future = new CompletableFuture<>();
+		CompletableFuture<Object> racing = pending.putIfAbsent(implementation, future);
+
+		if (racing != null) {
+			return racing;
+		}
+
+		try {
+			// Invalid beans and cycles fail here, before any dependency is requested.
+			List<Class<?>> dependencies = container.getBindings().getDependencies(implementation);
+			container.getDependencyGraph().checkForCircularDependency(implementation);
+
+			CompletableFuture<?>[] ready = new CompletableFuture<?>[dependencies.size()];
+			for (int i = 0; i < ready.length; i++) {
+				ready[i] = inject(container.getBindings().resolve(dependencies.get(i)), executor);
+			}
+
+			CompletableFuture.allOf(ready)
+					.thenApplyAsync(ignored -> container.inject(implementation), executor)
+					.thenCompose(bean -> whenReady(implementation, bean))
+					.whenComplete((bean, failure) -> {
+						pending.remove(implementation, future);
+						if (failure != null) {
+							future.completeExceptionally(unwrap(failure));
+						} else {
+							future.complete(bean);
+						}
+					});
+		} catch (RuntimeException e) {
+			pending.remove(implementation, future);
+			future.completeExceptionally(e);
+		}
+
+		return future;
+	}
+
+	/**
+	 * Starts the initialization of a bean that has just been created, if it has one.
+	 *
+	 * @param implementation the concrete class type of the bean
+	 * @param bean           the new bean
+	 */
+	void created(Class<?> implementation, Object bean) {
+
+		if (!(bean instanceof AsyncInitializable initializable)) {
+			return;
+		}
+
+		CompletableFuture<?> stage;
+		try {
+			CompletionStage<?> started = initializable.initializeAsync();
+			stage = started != null ? started.toCompletableFuture() : CompletableFuture.completedFuture(null);
+		} catch (RuntimeException e) {
+			stage = CompletableFuture.failedFuture(e);
+		}
+
+		stage.whenComplete((ignored, failure) -> {
+			if (failure != null) {
+				log.error("Failed to initialize bean for {}. Reason: {}", implementation.getName(), unwrap(failure).getMessage());
+			}
+		});
+
+		initializations.put(implementation, new Initialization(bean, stage));
+	}
+
+	/**
+	 * Forgets the initialization of a removed bean.
+	 *
+	 * @param implementation the concrete class type of the bean
+	 */
+	void remove(Class<?> implementation) {
+
+		initializations.remove(implementation);
+	}
+
+	/**
+	 * Forgets all initializations.
+	 */
+	void clear() {
+
+		initializations.clear();
+	}
+
+	/**
+	 * @return a future that completes with the bean once the initialization of this exact instance has completed, in
+	 * this container or the ancestor that created it
+	 */
+	private CompletableFuture<Object> whenReady(Class<?> implementation, Object bean) {
+
+		for (Container owner = container; owner != null; owner = owner.getParent()) {
+			Initialization initialization = owner.getAsyncInjector().initializations.get(implementation);
+
+			if (initialization != null && initialization.bean() == bean) {
+				return initialization.stage().thenApply(ignored -> bean);
+			}
+		}
+
+		return CompletableFuture.completedFuture(bean);
+	}
+
+	private static Throwable unwrap(Throwable failure) {
+
+		return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+	}
+
+	/**
+	 * The initialization started for a bean instance.
+	 */
+	private record Initialization(Object bean, CompletableFuture<?> stage) {
+
+	}
+
+}
@@ -0,0 +1,25 @@
+package net.tylerwade.ioc;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning the creation of a bean, including the creation of its dependencies.
+ */
+@Name("net.tylerwade.ioc.BeanCreation")
+@Label("Bean Creation")
+@Category("IoC")
+@Description("Creation of a bean and its dependencies")
+@StackTrace(false)
+final class BeanCreationEvent extends jdk.jfr.Event {
+
+	@Label("Bean Type")
+	Class<?> beanType;
+
+	@Label("Dependency Count")
+	int dependencyCount;
+
+}
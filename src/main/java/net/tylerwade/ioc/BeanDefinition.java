@@ -0,0 +1,274 @@
+package net.tylerwade.ioc;
+
+import net.tylerwade.ioc.exception.BeanCreationException;
+import net.tylerwade.ioc.exception.InvalidBeanTypeException;
+import net.tylerwade.ioc.exception.RequiredConstructorNotFound;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolved metadata for a bean type: the constructor used to create it, the fields and setters injected after it,
+ * the collections of beans it receives, the methods called to destroy it, its dependencies and whether the type is a
+ * valid bean at all.
+ * <p>
+ * Definitions are computed once per class and cached, so constructor selection, member scanning and validation never
+ * run twice for the same type.
+ */
+class BeanDefinition {
+
+	private static final Map<Class<?>, BeanDefinition> planned = new ConcurrentHashMap<>();
+
+	private static final ClassValue<BeanDefinition> definitions = new ClassValue<>() {
+		@Override
+		protected BeanDefinition computeValue(Class<?> beanType) {
+
+			BeanDefinition definition = planned.remove(beanType);
+			return definition != null ? definition : resolve(beanType);
+		}
+	};
+
+	private final Class<?> beanType;
+	private final Constructor<?> constructor;
+	private final List<Class<?>> parameterTypes;
+	private final List<Class<?>> lazyTargets;
+	private final List<MultiBinding> multiBindings;
+	private final List<InjectedMember> members;
+	private final List<MethodHandle> destroyMethods;
+	private final List<Class<?>> dependencies;
+	private final List<MultiBinding> allMultiBindings;
+	private final RuntimeException failure;
+	private final BeanInstantiator generatedInstantiator;
+	private final BeanInstantiator[] instantiators = new BeanInstantiator[InstantiationStrategy.values().length];
+
+	private BeanDefinition(Class<?> beanType, Constructor<?> constructor, List<Class<?>> parameterTypes, List<Class<?>> lazyTargets,
+						   List<MultiBinding> multiBindings, List<InjectedMember> members, List<MethodHandle> destroyMethods,
+						   BeanInstantiator generatedInstantiator, RuntimeException failure) {
+
+		this.beanType = beanType;
+		this.constructor = constructor;
+		this.parameterTypes = parameterTypes;
+		this.lazyTargets = lazyTargets;
+		this.multiBindings = multiBindings;
+		this.members = members;
+		this.destroyMethods = destroyMethods;
+		this.generatedInstantiator = generatedInstantiator;
+		this.failure = failure;
+
+		List<Class<?>> dependencies = new ArrayList<>(parameterTypes.size() + members.size());
+		List<MultiBinding> allMultiBindings = new ArrayList<>();
+		for (int i = 0; i < parameterTypes.size(); i++) {
+			if (multiBindings.get(i) != null) {
+				allMultiBindings.add(multiBindings.get(i));
+			} else if (lazyTargets.get(i) == null) {
+				dependencies.add(parameterTypes.get(i));
+			}
+		}
+		for (InjectedMember member : members) {
+			if (member.getMultiBinding() != null) {
+				allMultiBindings.add(member.getMultiBinding());
+			} else if (member.getLazyTarget() == null) {
+				dependencies.add(member.getType());
+			}
+		}
+		this.dependencies = List.copyOf(dependencies);
+		this.allMultiBindings = List.copyOf(allMultiBindings);
+	}
+
+	/**
+	 * Gets the cached definition for a bean type, resolving it on first use.
+	 *
+	 * @param beanType the class type of the bean
+	 * @return the definition, which may hold a validation failure
+	 */
+	static BeanDefinition of(Class<?> beanType) {
+
+		return definitions.get(beanType);
+	}
+
+	/**
+	 * Supplies the definition of a bean type from a {@link WiringPlan}, so it is not resolved again. The definition
+	 * is only used if the type has not been resolved yet.
+	 *
+	 * @param beanType    the class type of the bean
+	 * @param constructor the constructor recorded in the plan
+	 * @param lazyTargets the lazy target of each constructor parameter, null for parameters that are injected eagerly
+	 */
+	static void plan(Class<?> beanType, Constructor<?> constructor, List<Class<?>> lazyTargets) {
+
+		// Injected members and destroy methods are not part of the plan, their handles have to be looked up in any case.
+		planned.put(beanType, new BeanDefinition(beanType, constructor, List.of(constructor.getParameterTypes()),
+				Collections.unmodifiableList(lazyTargets), BeanFactory.getMultiBindings(beanType, constructor), BeanFactory.getInjectedMembers(beanType),
+				BeanFactory.getDestroyMethods(beanType), null, null));
+	}
+
+	/**
+	 * Drops the planned definitions that were never needed.
+	 */
+	static void clearPlanned() {
+
+		planned.clear();
+	}
+
+	private static BeanDefinition resolve(Class<?> beanType) {
+
+		try {
+			BeanFactory.validateBeanType(beanType);
+
+			GeneratedFactory<?> factory = BeanFactory.getGeneratedFactory(beanType);
+			if (factory != null) {
+				List<Class<?>> parameterTypes = List.copyOf(factory.dependencies());
+				List<Class<?>> lazyTargets = new ArrayList<>(parameterTypes.size());
+				List<MultiBinding> multiBindings = new ArrayList<>(parameterTypes.size());
+				for (int i = 0; i < parameterTypes.size(); i++) {
+					Class<?> elementType = factory.elementType(i);
+					lazyTargets.add(factory.lazyTarget(i));
+					multiBindings.add(elementType != null ? MultiBinding.forElement(beanType, parameterTypes.get(i), elementType) : null);
+				}
+				return new BeanDefinition(beanType, null, parameterTypes, Collections.unmodifiableList(lazyTargets),
+						Collections.unmodifiableList(multiBindings), BeanFactory.getInjectedMembers(beanType), BeanFactory.getDestroyMethods(beanType), factory::create, null);
+			}
+
+			Constructor<?> constructor = BeanFactory.getGreediestConstructor(beanType);
+			List<Class<?>> lazyTargets = Collections.unmodifiableList(Arrays.asList(BeanFactory.getLazyTargets(beanType, constructor)));
+			return new BeanDefinition(beanType, constructor, List.of(constructor.getParameterTypes()), lazyTargets,
+					BeanFactory.getMultiBindings(beanType, constructor), BeanFactory.getInjectedMembers(beanType), BeanFactory.getDestroyMethods(beanType), null, null);
+		} catch (RuntimeException e) {
+			return new BeanDefinition(beanType, null, List.of(), List.of(), List.of(), List.of(), List.of(), null, e);
+		}
+	}
+
+	/**
+	 * Ensures the type can be created as a bean.
+	 *
+	 * @return this definition
+	 * @throws RuntimeException a new exception of the type of the failure found while resolving the definition, if any,
+	 *                          with that failure as its cause
+	 */
+	BeanDefinition validate() {
+
+		if (failure != null) {
+			// A fresh exception per call, so callers never share, add suppressed exceptions to or re-stack one instance.
+			throw switch (failure) {
+				case InvalidBeanTypeException e -> new InvalidBeanTypeException(e);
+				case RequiredConstructorNotFound e -> new RequiredConstructorNotFound(e);
+				case BeanCreationException e -> new BeanCreationException(e);
+				default -> new BeanCreationException(beanType, failure);
+			};
+		}
+
+		return this;
+	}
+
+	/**
+	 * @return true if the type can be created as a bean
+	 */
+	boolean isValid() {
+
+		return failure == null;
+	}
+
+	Class<?> getBeanType() {
+
+		return beanType;
+	}
+
+	/**
+	 * @return the greediest public constructor, or null if the definition is invalid or the bean has a generated factory
+	 */
+	Constructor<?> getConstructor() {
+
+		return constructor;
+	}
+
+	/**
+	 * Gets the instantiator for the constructor, creating it the first time the strategy is used for this type.
+	 * Beans with a generated factory always use the factory.
+	 *
+	 * @param strategy how the constructor should be invoked
+	 * @return the instantiator
+	 */
+	BeanInstantiator getInstantiator(InstantiationStrategy strategy) {
+
+		if (generatedInstantiator != null) {
+			return generatedInstantiator;
+		}
+
+		BeanInstantiator instantiator = instantiators[strategy.ordinal()];
+
+		if (instantiator == null) {
+			// Racing threads build equivalent instantiators, so whichever is stored last is fine.
+			instantiator = strategy.createInstantiator(constructor);
+			instantiators[strategy.ordinal()] = instantiator;
+		}
+
+		return instantiator;
+	}
+
+	/**
+	 * @return the constructor parameter types, in declaration order
+	 */
+	List<Class<?>> getParameterTypes() {
+
+		return parameterTypes;
+	}
+
+	/**
+	 * @param index the constructor parameter index
+	 * @return the bean type a lazy proxy creates on first use for the parameter, or null if the parameter is injected eagerly
+	 */
+	Class<?> getLazyTarget(int index) {
+
+		return lazyTargets.get(index);
+	}
+
+	/**
+	 * @param index the constructor parameter index
+	 * @return the beans injected as a collection for the parameter, or null if the parameter is a single bean
+	 */
+	MultiBinding getMultiBinding(int index) {
+
+		return multiBindings.get(index);
+	}
+
+	/**
+	 * @return the multi-bindings of the constructor parameters and injected members, their beans must exist before
+	 * this bean is created too
+	 */
+	List<MultiBinding> getMultiBindings() {
+
+		return allMultiBindings;
+	}
+
+	/**
+	 * @return the fields and setters marked {@link net.tylerwade.ioc.annotation.Inject}, in injection order
+	 */
+	List<InjectedMember> getMembers() {
+
+		return members;
+	}
+
+	/**
+	 * @return the handles that destroy the bean, of type {@code (Object) void}, in the order they are called
+	 */
+	List<MethodHandle> getDestroyMethods() {
+
+		return destroyMethods;
+	}
+
+	/**
+	 * @return the beans that must exist before this bean is created: every parameter and member type that is neither
+	 * lazy nor multi-bound
+	 */
+	List<Class<?>> getDependencies() {
+
+		return dependencies;
+	}
+
+}
@@ -1,61 +1,102 @@
 package net.tylerwade.ioc;
 
 import lombok.extern.slf4j.Slf4j;
+import net.tylerwade.ioc.annotation.Destroy;
+import net.tylerwade.ioc.annotation.Inject;
+import net.tylerwade.ioc.annotation.Lazy;
 import net.tylerwade.ioc.exception.BeanCreationException;
-import net.tylerwade.ioc.exception.CircularDependencyException;
 import net.tylerwade.ioc.exception.InvalidBeanTypeException;
 import net.tylerwade.ioc.exception.RequiredConstructorNotFound;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 @Slf4j
 class BeanFactory {
 
+	private static volatile InstantiationStrategy instantiationStrategy = InstantiationStrategy.fromSystemProperty();
+
 	/**
 	 * Creates a bean of the specified type, resolving and injecting its dependencies.
 	 *
-	 * @param beanType the class type of the bean to create
+	 * @param container the container to get the dependencies from
+	 * @param beanType  the class type of the bean to create
 	 */
-	protected static Object createBean(Class<?> beanType) {
+	protected static Object createBean(Container container, Class<?> beanType) {
+
+		BeanCreationEvent event = Instrumentation.creationStarted();
+		long start = System.nanoTime();
 
 		try {
-			if (!BeanLockManager.lock(beanType)) {
-				// A creation is already in progress for this bean type. This shouldn't happen due to the earlier check.
-				throw new IllegalStateException("Recursive creation conflict for bean type: " + beanType.getName());
-			}
+			FactoryBinding binding = container.getBindings().getFactory(beanType);
 
-			validateBeanType(beanType);
+			if (binding != null) {
+				return createFromFactory(container, beanType, binding, event, start);
+			}
 
-			log.info("Creating bean for {}", beanType.getName());
+			BeanDefinition definition = BeanDefinition.of(beanType).validate();
 
-			Constructor<?> constructor = getGreediestConstructor(beanType);
+			log.debug("Creating bean for {}", beanType.getName());
 
-			checkForCircularDependency(beanType, new HashSet<>());
+			container.getDependencyGraph().checkForCircularDependency(beanType);
 
-			Map<Class<?>, Object> dependencies = getDependencies(constructor.getParameterTypes());
+			Object[] dependencies = getDependencies(container, definition);
 
-			Object newBean = createBeanInstance(beanType, dependencies, constructor);
+			Object newBean = createBeanInstance(beanType, dependencies, definition);
 
-			// Store the newly created bean in the context.
+			injectMembers(container, newBean, definition);
 
-			log.info("Finished creating bean for {}", beanType.getName());
+			Instrumentation.created(event, start, beanType, dependencies.length + definition.getMembers().size());
+			log.debug("Finished creating bean for {}", beanType.getName());
 			return newBean;
-		} catch (Exception e) {
+		} catch (RuntimeException | Error e) {
+			// Errors too, such as ExceptionInInitializerError, so the creation's timing frame is always popped.
+			Instrumentation.creationFailed(beanType, e);
 			log.error("Failed to create bean for {}. Reason: {}", beanType.getName(), e.getMessage());
 			throw e;
-		} finally {
-			BeanLockManager.unlock(beanType);
 		}
 	}
 
-	private static void validateBeanType(Class<?> type) {
+	/**
+	 * Creates a bean with the factory it is bound to, no constructor or member is reflected on.
+	 */
+	private static Object createFromFactory(Container container, Class<?> beanType, FactoryBinding binding, BeanCreationEvent event, long start) {
+
+		log.debug("Creating bean for {} with its factory", beanType.getName());
+
+		container.getDependencyGraph().checkForCircularDependency(beanType);
+
+		Object newBean = binding.create(container);
+
+		Instrumentation.created(event, start, beanType, binding.getDependencies().size());
+		log.debug("Finished creating bean for {}", beanType.getName());
+		return newBean;
+	}
+
+	/**
+	 * Checks that a type is allowed to be a bean.
+	 *
+	 * @param type the class type to check
+	 */
+	static void validateBeanType(Class<?> type) {
 
 		if (type.isPrimitive()
 				|| type.getName().startsWith("net.tylerwade.ioc.")
@@ -71,30 +112,33 @@ class BeanFactory {
 	}
 
 	/**
-	 * Identiefies the constructor with the most parameters (the "greediest" constructor).
+	 * Identifies the constructor with the most parameters (the "greediest" constructor) and validates its parameters.
+	 * This does the reflection behind {@link BeanDefinition}, use {@link BeanDefinition#of(Class)} to get the cached result.
 	 *
 	 * @param beanType the class type of the bean
 	 * @return the greediest constructor
 	 */
-	public static Constructor<?> getGreediestConstructor(Class<?> beanType) {
+	static Constructor<?> getGreediestConstructor(Class<?> beanType) {
 
 		Constructor<?>[] constructors = beanType.getConstructors();
 
 		if (constructors.length == 0) {
 			throw new RequiredConstructorNotFound(beanType);
-		} else if (constructors.length == 1) {
-			return constructors[0];
 		}
 
 		Constructor<?> constructor = Arrays.stream(constructors)
 				.max(Comparator.comparingInt(Constructor::getParameterCount))
 				.orElseThrow(() -> new RequiredConstructorNotFound(beanType));
 
-		for (Class<?> param : constructor.getParameterTypes()) {
+		for (Parameter parameter : constructor.getParameters()) {
+			if (MultiBinding.of(beanType, parameter.getType(), parameter.getParameterizedType()) != null) {
+				continue;
+			}
+
 			try {
-				validateBeanType(param);
+				validateBeanType(parameter.getType());
 			} catch (InvalidBeanTypeException e) {
-				throw new InvalidBeanTypeException(param, beanType);
+				throw new InvalidBeanTypeException(parameter.getType(), beanType);
 			}
 		}
 
@@ -102,68 +146,398 @@ class BeanFactory {
 	}
 
 	/**
-	 * Checks for circular dependencies in the constructor parameters.
-	 * Implements a recursive depth-first search to detect cycles.
+	 * Reads the {@code List} and {@code Map} constructor parameters that receive every bean of their element type.
+	 * This does the reflection behind {@link BeanDefinition}, use {@link BeanDefinition#of(Class)} to get the cached result.
+	 *
+	 * @param beanType    the class type of the bean
+	 * @param constructor the constructor used to create the bean
+	 * @return the multi-binding of each parameter, null for parameters that receive a single bean
+	 */
+	static List<MultiBinding> getMultiBindings(Class<?> beanType, Constructor<?> constructor) {
+
+		Parameter[] parameters = constructor.getParameters();
+		MultiBinding[] multiBindings = new MultiBinding[parameters.length];
+
+		for (int i = 0; i < parameters.length; i++) {
+			multiBindings[i] = MultiBinding.of(beanType, parameters[i].getType(), parameters[i].getParameterizedType());
+
+			if (multiBindings[i] != null && parameters[i].isAnnotationPresent(Lazy.class)) {
+				throw new InvalidBeanTypeException(parameters[i].getType(), beanType, "multi-bound dependencies cannot be lazy");
+			}
+		}
+
+		return Collections.unmodifiableList(Arrays.asList(multiBindings));
+	}
+
+	/**
+	 * Looks up the factory generated for a bean type by the {@code ioc-processor} annotation processor.
+	 * This does the reflection behind {@link BeanDefinition}, use {@link BeanDefinition#of(Class)} to get the cached result.
 	 *
-	 * @param clazz   the class to check
-	 * @param parents the set of parent classes in the current dependency chain
+	 * @param beanType the class type of the bean
+	 * @return the generated factory, or null if the bean has none
 	 */
-	private static void checkForCircularDependency(Class<?> clazz, Set<Class<?>> parents) {
+	static GeneratedFactory<?> getGeneratedFactory(Class<?> beanType) {
 
-		parents.add(clazz);
+		ClassLoader classLoader = beanType.getClassLoader();
 
-		Constructor<?> constructor = getGreediestConstructor(clazz);
+		if (classLoader == null) {
+			return null;
+		}
+
+		String packageName = beanType.getPackageName();
+		String simpleName = packageName.isEmpty() ? beanType.getName() : beanType.getName().substring(packageName.length() + 1);
+		// Same mangling as the processor: _ is doubled, then $ becomes _0, so Outer$Inner and Outer_Inner do not collide.
+		String factoryName = (packageName.isEmpty() ? "" : packageName + ".")
+				+ simpleName.replace("_", "__").replace("$", "_0") + GeneratedFactory.SUFFIX;
 
-		for (Class<?> paramType : constructor.getParameterTypes()) {
-			if (parents.contains(paramType)) {
-				throw new CircularDependencyException(clazz, paramType);
+		try {
+			Class<?> factoryType = Class.forName(factoryName, true, classLoader);
+
+			if (!GeneratedFactory.class.isAssignableFrom(factoryType)) {
+				return null;
 			}
 
-			checkForCircularDependency(paramType, parents);
+			return (GeneratedFactory<?>) factoryType.getConstructor().newInstance();
+		} catch (ClassNotFoundException e) {
+			return null;
+		} catch (ReflectiveOperationException e) {
+			throw new BeanCreationException(beanType, e);
+		}
+	}
+
+	/**
+	 * Finds the constructor parameters marked {@link Lazy}, either on the parameter or on the parameter's type.
+	 * This does the reflection behind {@link BeanDefinition}, use {@link BeanDefinition#of(Class)} to get the cached result.
+	 *
+	 * @param beanType    the class type of the bean
+	 * @param constructor the constructor used to create the bean
+	 * @return the lazy target of each parameter, null for parameters that are injected eagerly
+	 */
+	static Class<?>[] getLazyTargets(Class<?> beanType, Constructor<?> constructor) {
+
+		Parameter[] parameters = constructor.getParameters();
+		Class<?>[] lazyTargets = new Class<?>[parameters.length];
+
+		for (int i = 0; i < parameters.length; i++) {
+			lazyTargets[i] = getLazyTarget(beanType, parameters[i].getType(), parameters[i].getAnnotation(Lazy.class));
 		}
 
-		parents.remove(clazz);
+		return lazyTargets;
 	}
 
+	/**
+	 * Finds the lazy target of a dependency marked {@link Lazy}, either where it is declared or on its type.
+	 *
+	 * @param beanType the class type of the bean that declares the dependency
+	 * @param type     the declared type of the dependency
+	 * @param declared the annotation where the dependency is declared, or null
+	 * @return the lazy target, or null if the dependency is injected eagerly
+	 */
+	private static Class<?> getLazyTarget(Class<?> beanType, Class<?> type, Lazy declared) {
+
+		Lazy lazy = declared != null ? declared : type.getAnnotation(Lazy.class);
+
+		if (lazy == null) {
+			return null;
+		}
+
+		Class<?> target = lazy.value() == void.class ? type : lazy.value();
+
+		if (!type.isInterface()) {
+			throw new InvalidBeanTypeException(type, beanType, "lazy dependencies must be interfaces");
+		} else if (!type.isAssignableFrom(target)) {
+			throw new InvalidBeanTypeException(target, beanType, "lazy target does not implement " + type.getName());
+		}
+
+		return target;
+	}
 
 	/**
-	 * Resolves the dependencies required for a bean's constructor.
+	 * Finds the fields and setters marked {@link Inject}, validates them and looks up the handles that set them.
+	 * Members declared by superclasses come first, setters overridden by a subclass are only injected once.
+	 * This does the reflection behind {@link BeanDefinition}, use {@link BeanDefinition#of(Class)} to get the cached result.
 	 *
-	 * @param requiredFields the classes of the required dependencies
-	 * @return a map of dependency class types to their instances
+	 * @param beanType the class type of the bean
+	 * @return the injected members, in injection order
 	 */
-	private static Map<Class<?>, Object> getDependencies(Class<?>[] requiredFields) {
+	static List<InjectedMember> getInjectedMembers(Class<?> beanType) {
+
+		Deque<Class<?>> hierarchy = new ArrayDeque<>();
+		for (Class<?> type = beanType; type != null && type != Object.class; type = type.getSuperclass()) {
+			hierarchy.push(type);
+		}
+
+		List<InjectedMember> members = new ArrayList<>();
+		Set<String> overridden = new HashSet<>();
 
-		Map<Class<?>, Object> dependencies = new HashMap<>();
+		for (Class<?> type : hierarchy) {
+			MethodHandles.Lookup lookup = null;
 
-		for (Class<?> clazz : requiredFields) {
-			Object dependency = Beans.inject(clazz);
-			dependencies.put(clazz, dependency);
+			for (Field field : type.getDeclaredFields()) {
+				if (!field.isAnnotationPresent(Inject.class)) {
+					continue;
+				}
+
+				if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+					throw new InvalidBeanTypeException(field.getType(), beanType, "injected field " + field.getName() + " must not be static or final");
+				}
+
+				MultiBinding multiBinding = getMemberMultiBinding(beanType, field.getType(), field.getGenericType(), field.getAnnotation(Lazy.class));
+				lookup = lookup != null ? lookup : lookup(beanType, type);
+
+				try {
+					Class<?> lazyTarget = multiBinding == null ? getLazyTarget(beanType, field.getType(), field.getAnnotation(Lazy.class)) : null;
+					members.add(InjectedMember.forField(field, lazyTarget, multiBinding, lookup));
+				} catch (IllegalAccessException e) {
+					throw new InvalidBeanTypeException(field.getType(), beanType, "injected field " + field.getName() + " is not accessible");
+				}
+			}
+
+			for (Method method : type.getDeclaredMethods()) {
+				if (!method.isAnnotationPresent(Inject.class) || method.isBridge()) {
+					continue;
+				}
+
+				if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 1) {
+					throw new InvalidBeanTypeException(type, beanType, "injected method " + method.getName() + " must be an instance method with one parameter");
+				}
+
+				Class<?> parameterType = method.getParameterTypes()[0];
+
+				if (!Modifier.isPrivate(method.getModifiers()) && isOverridden(beanType, type, method)) {
+					continue;
+				}
+
+				Parameter parameter = method.getParameters()[0];
+				MultiBinding multiBinding = getMemberMultiBinding(beanType, parameterType, parameter.getParameterizedType(), parameter.getAnnotation(Lazy.class));
+				lookup = lookup != null ? lookup : lookup(beanType, type);
+
+				try {
+					Class<?> lazyTarget = multiBinding == null ? getLazyTarget(beanType, parameterType, parameter.getAnnotation(Lazy.class)) : null;
+					members.add(InjectedMember.forSetter(method, lazyTarget, multiBinding, lookup));
+				} catch (IllegalAccessException e) {
+					throw new InvalidBeanTypeException(parameterType, beanType, "injected method " + method.getName() + " is not accessible");
+				}
+			}
+		}
+
+		return List.copyOf(members);
+	}
+
+	/**
+	 * Finds the methods marked {@link Destroy} and looks up the handles that call them, followed by {@code close()}
+	 * for {@link AutoCloseable} beans. Methods of subclasses come first, overridden methods are only called once.
+	 * This does the reflection behind {@link BeanDefinition}, use {@link BeanDefinition#of(Class)} to get the cached result.
+	 *
+	 * @param beanType the class type of the bean
+	 * @return handles of type {@code (Object) void}, in the order they are called
+	 */
+	static List<MethodHandle> getDestroyMethods(Class<?> beanType) {
+
+		List<MethodHandle> handles = new ArrayList<>();
+		Set<String> seen = new HashSet<>();
+
+		for (Class<?> type = beanType; type != null && type != Object.class; type = type.getSuperclass()) {
+			for (Method method : type.getDeclaredMethods()) {
+				if (method.isBridge()) {
+					continue;
+				}
+
+				// A subclass that overrides a destroy method decides on its own whether it is one.
+				boolean overridden = method.getParameterCount() == 0
+						&& !Modifier.isPrivate(method.getModifiers())
+						&& !Modifier.isStatic(method.getModifiers())
+						&& !seen.add(method.getName());
+
+				if (overridden || !method.isAnnotationPresent(Destroy.class)) {
+					continue;
+				}
+
+				if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0) {
+					throw new InvalidBeanTypeException(type, beanType, "destroy method " + method.getName() + " must be an instance method without parameters");
+				}
+
+				try {
+					handles.add(adaptDestroyMethod(lookup(beanType, type).unreflect(method)));
+				} catch (IllegalAccessException e) {
+					throw new InvalidBeanTypeException(type, beanType, "destroy method " + method.getName() + " is not accessible");
+				}
+			}
+		}
+
+		if (AutoCloseable.class.isAssignableFrom(beanType) && !isDestroyMethod(beanType, "close")) {
+			try {
+				handles.add(adaptDestroyMethod(MethodHandles.publicLookup().findVirtual(AutoCloseable.class, "close", MethodType.methodType(void.class))));
+			} catch (ReflectiveOperationException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		return List.copyOf(handles);
+	}
+
+	private static MethodHandle adaptDestroyMethod(MethodHandle handle) {
+
+		return handle.asType(MethodType.methodType(void.class, Object.class));
+	}
+
+	private static boolean isDestroyMethod(Class<?> beanType, String name) {
+
+		for (Class<?> type = beanType; type != null; type = type.getSuperclass()) {
+			try {
+				return type.getDeclaredMethod(name).isAnnotationPresent(Destroy.class);
+			} catch (NoSuchMethodException e) {
+				// Declared further up.
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Validates the type of an injected member.
+	 *
+	 * @return the multi-binding of the member, or null if the member receives a single bean
+	 */
+	private static MultiBinding getMemberMultiBinding(Class<?> beanType, Class<?> memberType, Type genericType, Lazy lazy) {
+
+		MultiBinding multiBinding = MultiBinding.of(beanType, memberType, genericType);
+
+		if (multiBinding != null) {
+			if (lazy != null) {
+				throw new InvalidBeanTypeException(memberType, beanType, "multi-bound dependencies cannot be lazy");
+			}
+			return multiBinding;
+		}
+
+		try {
+			validateBeanType(memberType);
+		} catch (InvalidBeanTypeException e) {
+			throw new InvalidBeanTypeException(memberType, beanType);
+		}
+
+		return null;
+	}
+
+	/**
+	 * @return true if a subclass between the bean type and the declaring class overrides the method, which then
+	 * decides on its own whether it is injected
+	 */
+	private static boolean isOverridden(Class<?> beanType, Class<?> declaringType, Method method) {
+
+		for (Class<?> type = beanType; type != declaringType; type = type.getSuperclass()) {
+			try {
+				Method override = type.getDeclaredMethod(method.getName(), method.getParameterTypes());
+
+				if (!Modifier.isPrivate(override.getModifiers()) && !Modifier.isStatic(override.getModifiers())) {
+					return true;
+				}
+			} catch (NoSuchMethodException e) {
+				// Not overridden at this level.
+			}
+		}
+
+		return false;
+	}
+
+	private static MethodHandles.Lookup lookup(Class<?> beanType, Class<?> declaringType) {
+
+		try {
+			return MethodHandles.privateLookupIn(declaringType, MethodHandles.lookup());
+		} catch (IllegalAccessException e) {
+			throw new InvalidBeanTypeException(declaringType, beanType, "package " + declaringType.getPackageName() + " is not open to net.tylerwade.ioc");
+		}
+	}
+
+	/**
+	 * Resolves the dependencies required for a bean's constructor. Lazy parameters get a proxy instead of the bean,
+	 * multi-bound parameters the collection of their beans.
+	 *
+	 * @param container  the container to get the dependencies from
+	 * @param definition the definition of the bean
+	 * @return the dependency instances, in constructor parameter order
+	 */
+	private static Object[] getDependencies(Container container, BeanDefinition definition) {
+
+		List<Class<?>> parameterTypes = definition.getParameterTypes();
+		Object[] dependencies = new Object[parameterTypes.size()];
+
+		for (int i = 0; i < dependencies.length; i++) {
+			Class<?> lazyTarget = definition.getLazyTarget(i);
+			MultiBinding multiBinding = definition.getMultiBinding(i);
+
+			if (multiBinding != null) {
+				dependencies[i] = container.getCollection(multiBinding);
+			} else {
+				dependencies[i] = lazyTarget == null
+						? container.inject(parameterTypes.get(i))
+						: LazyProxy.create(container, parameterTypes.get(i), lazyTarget);
+			}
 		}
 
 		return dependencies;
 	}
 
+	/**
+	 * Injects the fields and setters marked {@link Inject} into a new bean. Lazy members get a proxy instead of the bean.
+	 *
+	 * @param container  the container to get the dependencies from
+	 * @param bean       the bean instance
+	 * @param definition the definition holding the members to inject
+	 */
+	private static void injectMembers(Container container, Object bean, BeanDefinition definition) {
+
+		for (InjectedMember member : definition.getMembers()) {
+			Object dependency;
+
+			if (member.getMultiBinding() != null) {
+				dependency = container.getCollection(member.getMultiBinding());
+			} else {
+				dependency = member.getLazyTarget() == null
+						? container.inject(member.getType())
+						: LazyProxy.create(container, member.getType(), member.getLazyTarget());
+			}
+
+			try {
+				member.inject(bean, dependency);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new BeanCreationException(definition.getBeanType(), e);
+			}
+		}
+	}
+
 	/**
 	 * Creates an instance of the bean using the provided constructor and resolved dependencies.
 	 *
 	 * @param beanType     the class type of the bean
-	 * @param dependencies the resolved dependencies
-	 * @param constructor  the constructor to use for instantiation
+	 * @param dependencies the resolved dependencies, in constructor parameter order
+	 * @param definition   the definition holding the constructor to use for instantiation
 	 * @return the newly created bean instance
 	 */
-	private static Object createBeanInstance(Class<?> beanType, Map<Class<?>, Object> dependencies, Constructor<?> constructor) {
+	private static Object createBeanInstance(Class<?> beanType, Object[] dependencies, BeanDefinition definition) {
 
 		try {
-			Object[] constructorArgs = Arrays.stream(constructor.getParameterTypes())
-					.map(dependencies::get)
-					.toArray();
-
-			return constructor.newInstance(constructorArgs);
-		} catch (ReflectiveOperationException e) {
-			throw new BeanCreationException(beanType, constructor, e);
+			return definition.getInstantiator(instantiationStrategy).newInstance(dependencies);
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable e) {
+			if (definition.getConstructor() == null) {
+				throw new BeanCreationException(beanType, e);
+			}
+			throw new BeanCreationException(beanType, definition.getConstructor(), e);
 		}
 	}
 
+	static InstantiationStrategy getInstantiationStrategy() {
+
+		return instantiationStrategy;
+	}
+
+	static void setInstantiationStrategy(InstantiationStrategy strategy) {
+
+		instantiationStrategy = strategy;
+	}
 
 }
\ No newline at end of file
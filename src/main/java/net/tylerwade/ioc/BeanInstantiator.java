@@ -0,0 +1,16 @@
+package net.tylerwade.ioc;
+
+/**
+ * Creates instances of a single bean type from already resolved constructor arguments.
+ */
+@FunctionalInterface
+interface BeanInstantiator {
+
+	/**
+	 * @param args the constructor arguments, in parameter order
+	 * @return the new bean instance
+	 * @throws Throwable anything thrown by the bean's constructor
+	 */
+	Object newInstance(Object[] args) throws Throwable;
+
+}
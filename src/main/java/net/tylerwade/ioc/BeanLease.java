@@ -0,0 +1,58 @@
+package net.tylerwade.ioc;
+
+/**
+ * An instance borrowed from a {@link BeanPool}. The caller has the instance to itself until the lease is closed, which
+ * returns it to the pool, best with try-with-resources:
+ * <pre>{@code
+ * try (BeanLease<Parser> lease = parsers.lease()) {
+ *     return lease.get().parse(input);
+ * }
+ * }</pre>
+ * A lease belongs to the thread that took it and must not be shared.
+ *
+ * @param <T> the type of the pooled bean
+ */
+public final class BeanLease<T> implements AutoCloseable {
+
+	private final BeanPool<T> pool;
+	private final BeanPool.Entry<T> entry;
+	private boolean returned;
+
+	BeanLease(BeanPool<T> pool, BeanPool.Entry<T> entry) {
+
+		this.pool = pool;
+		this.entry = entry;
+	}
+
+	/**
+	 * @return the leased instance
+	 * @throws IllegalStateException if the lease has already been closed
+	 */
+	public T get() {
+
+		if (returned) {
+			throw new IllegalStateException("Lease of " + pool.getBeanType().getName() + " has already been returned");
+		}
+
+		return entry.bean();
+	}
+
+	/**
+	 * Returns the instance to the pool. Closing a lease again does nothing.
+	 */
+	@Override
+	public void close() {
+
+		if (!returned) {
+			returned = true;
+			pool.release(entry);
+		}
+	}
+
+	@Override
+	public String toString() {
+
+		return "BeanLease[" + pool.getBeanType().getName() + "]";
+	}
+
+}
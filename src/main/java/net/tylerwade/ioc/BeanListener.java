@@ -0,0 +1,63 @@
+package net.tylerwade.ioc;
+
+/**
+ * Receives bean creation events from the IoC context.
+ * <p>
+ * Listeners are registered with {@link Beans#addListener(BeanListener)}, or discovered with
+ * {@link java.util.ServiceLoader} when listed in {@code META-INF/services/net.tylerwade.ioc.BeanListener}.
+ * They are called synchronously on the thread that created or waited for the bean, so they should return quickly.
+ * An exception thrown by a listener is logged and does not affect the injection.
+ */
+public interface BeanListener {
+
+	/**
+	 * Called after a bean has been created, before it is published to other threads.
+	 *
+	 * @param beanType        the class type of the bean
+	 * @param dependencyCount the number of dependencies injected into the bean: its constructor parameters and
+	 *                        {@link net.tylerwade.ioc.annotation.Inject} members, or the dependencies declared by its
+	 *                        factory binding
+	 * @param durationNanos   the time taken to create the bean, including the creation of its dependencies
+	 */
+	default void beanCreated(Class<?> beanType, int dependencyCount, long durationNanos) {
+
+	}
+
+	/**
+	 * Called after a bean has been created, before it is published to other threads, with the time the bean took on
+	 * its own. Calls {@link #beanCreated(Class, int, long)} unless overridden.
+	 *
+	 * @param beanType        the class type of the bean
+	 * @param dependencyCount the number of dependencies injected into the bean: its constructor parameters and
+	 *                        {@link net.tylerwade.ioc.annotation.Inject} members, or the dependencies declared by its
+	 *                        factory binding
+	 * @param durationNanos   the time taken to create the bean, including the creation of its dependencies
+	 * @param selfNanos       the time taken to create the bean, without the time spent creating or waiting for
+	 *                        dependencies
+	 */
+	default void beanCreated(Class<?> beanType, int dependencyCount, long durationNanos, long selfNanos) {
+
+		beanCreated(beanType, dependencyCount, durationNanos);
+	}
+
+	/**
+	 * Called after the creation of a bean has failed.
+	 *
+	 * @param beanType the class type of the bean
+	 * @param cause    the reason the creation failed
+	 */
+	default void beanCreationFailed(Class<?> beanType, Throwable cause) {
+
+	}
+
+	/**
+	 * Called after a thread has waited for a bean that another thread was creating.
+	 *
+	 * @param beanType  the class type of the bean
+	 * @param waitNanos the time spent waiting
+	 */
+	default void beanAwaited(Class<?> beanType, long waitNanos) {
+
+	}
+
+}
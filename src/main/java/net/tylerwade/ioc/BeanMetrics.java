@@ -0,0 +1,17 @@
+package net.tylerwade.ioc;
+
+/**
+ * Snapshot of the counters kept by the IoC context, see {@link Beans#getMetrics()}.
+ * The counters are cumulative since the class was loaded and are not reset by {@link Beans#clear()}.
+ *
+ * @param injectHits    requests answered with a bean that already existed
+ * @param injectMisses  requests that had to create the bean
+ * @param creations     beans created successfully
+ * @param failures      bean creations that failed
+ * @param waits         requests that waited for another thread to finish creating the bean
+ * @param creationNanos the time spent creating beans, nested creations are counted in every enclosing creation too
+ * @param waitNanos     the time spent waiting for other threads to finish creating beans
+ */
+public record BeanMetrics(long injectHits, long injectMisses, long creations, long failures, long waits, long creationNanos, long waitNanos) {
+
+}
@@ -0,0 +1,331 @@
+package net.tylerwade.ioc;
+
+import lombok.extern.slf4j.Slf4j;
+import net.tylerwade.ioc.exception.PoolExhaustedException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of instances of one bean type, for objects that are expensive to build but not thread-safe, such as
+ * parsers, digesters and buffers. Get one with {@link Container#pool(Class, int)} or {@link Beans#pool(Class, int)}.
+ * <p>
+ * Instances are created on demand like any other bean, with their dependencies injected from the container, but they
+ * are not singletons: each one is handed to a single caller at a time through a {@link BeanLease}. At most
+ * {@code maxSize} instances are created, once all of them are leased further callers wait for one to be returned.
+ * Pooled instances are separate from a singleton of the same type, if one is injected.
+ * <p>
+ * Each thread first tries the instance it leased last: it claims the instance with a compare-and-set on the instance
+ * itself and takes a permit without blocking, so a thread that keeps leasing gets the same instance back without
+ * scanning the pool. Otherwise it waits for a permit and scans the pool for an idle instance, starting at an offset of
+ * its own so that threads do not all compete for the first instances. New instances are built outside of any lock.
+ * <p>
+ * Closing the container destroys the pooled instances, see {@link net.tylerwade.ioc.annotation.Destroy}, before any
+ * singleton. Instances still leased then are destroyed when they are returned.
+ *
+ * @param <T> the type of the pooled bean
+ */
+@Slf4j
+public final class BeanPool<T> {
+
+	private final Class<T> beanType;
+	private final Class<?> implementation;
+	private final Container container;
+	private final int maxSize;
+
+	// One permit per instance that may be leased, so leases beyond maxSize wait here rather than in the pool.
+	private final Semaphore permits;
+	private final List<Entry<T>> entries = new CopyOnWriteArrayList<>();
+	// Instances created or being created, so a slot is reserved before the instance is built outside of any lock.
+	private final AtomicInteger reserved = new AtomicInteger();
+	private final ThreadLocal<Entry<T>> lastLeased = new ThreadLocal<>();
+	private volatile boolean closed;
+
+	BeanPool(Class<T> beanType, Container container, int maxSize) {
+
+		this.beanType = beanType;
+		this.implementation = container.getBindings().resolve(beanType);
+		this.container = container;
+		this.maxSize = maxSize;
+		this.permits = new Semaphore(maxSize);
+
+		// Fails on an invalid or cyclic bean now, rather than on the first lease.
+		container.getDependencyGraph().checkForCircularDependency(implementation);
+	}
+
+	/**
+	 * Leases an instance, creating it if no idle one is left and the pool is not full, otherwise waiting until another
+	 * caller returns one.
+	 *
+	 * @return the lease, close it to return the instance
+	 * @throws IllegalStateException if the pool has been closed
+	 */
+	public BeanLease<T> lease() {
+
+		BeanLease<T> lease = leaseLast();
+
+		if (lease != null) {
+			return lease;
+		}
+
+		permits.acquireUninterruptibly();
+		return borrow();
+	}
+
+	/**
+	 * Leases an instance like {@link #lease()}, waiting at most the given time for one to be returned.
+	 *
+	 * @param timeout how long to wait if every instance is leased
+	 * @return the lease, close it to return the instance
+	 * @throws PoolExhaustedException if no instance was returned in time
+	 * @throws IllegalStateException  if the pool has been closed, or the thread was interrupted while waiting
+	 */
+	public BeanLease<T> lease(Duration timeout) {
+
+		Objects.requireNonNull(timeout, "timeout must not be null");
+
+		BeanLease<T> lease = leaseLast();
+
+		if (lease != null) {
+			return lease;
+		}
+
+		try {
+			if (!permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+				throw new PoolExhaustedException(beanType, maxSize, timeout);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for a pooled " + beanType.getName(), e);
+		}
+
+		return borrow();
+	}
+
+	/**
+	 * Leases the instance the current thread leased last, if it is idle and a permit is free right away.
+	 *
+	 * @return the lease, or null to take the slow path
+	 */
+	private BeanLease<T> leaseLast() {
+
+		Entry<T> entry = lastLeased.get();
+
+		if (entry == null || closed || !entry.claim()) {
+			return null;
+		}
+
+		// An idle instance usually means a free permit, unless a caller that already holds one is about to claim it.
+		if (!permits.tryAcquire()) {
+			unclaim(entry);
+			return null;
+		}
+
+		return new BeanLease<>(this, entry);
+	}
+
+	/**
+	 * Takes an idle instance, or creates one. The caller holds a permit.
+	 */
+	private BeanLease<T> borrow() {
+
+		try {
+			if (closed) {
+				throw new IllegalStateException("Pool of " + beanType.getName() + " has been closed");
+			}
+
+			Entry<T> entry = claimIdle();
+
+			if (entry == null) {
+				entry = create();
+			}
+
+			lastLeased.set(entry);
+			return new BeanLease<>(this, entry);
+		} catch (RuntimeException | Error e) {
+			// Closing the pool releases extra permits, passing this one on wakes the next waiter.
+			permits.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Claims an idle instance, scanning from an offset that depends on the current thread.
+	 */
+	private Entry<T> claimIdle() {
+
+		Object[] snapshot = entries.toArray();
+		int start = snapshot.length > 0 ? (int) (Thread.currentThread().threadId() % snapshot.length) : 0;
+
+		for (int i = 0; i < snapshot.length; i++) {
+			@SuppressWarnings("unchecked")
+			Entry<T> entry = (Entry<T>) snapshot[(start + i) % snapshot.length];
+
+			if (entry.claim()) {
+				return entry;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Creates a new instance, unless an idle one turned up in the meantime. Only the slot is reserved atomically, the
+	 * instance is built without holding a lock, so instances are created concurrently.
+	 */
+	private Entry<T> create() {
+
+		// With a permit held, at most maxSize - 1 instances are leased by others, so a full pool has an idle instance.
+		for (int count = reserved.get(); ; count = reserved.get()) {
+			if (count < maxSize) {
+				if (reserved.compareAndSet(count, count + 1)) {
+					break;
+				}
+				continue;
+			}
+
+			Entry<T> entry = claimIdle();
+
+			if (entry != null) {
+				return entry;
+			}
+
+			Thread.onSpinWait();
+		}
+
+		Entry<T> entry;
+		try {
+			entry = new Entry<>(beanType.cast(BeanFactory.createBean(container, implementation)));
+		} catch (RuntimeException | Error e) {
+			reserved.decrementAndGet();
+			throw e;
+		}
+
+		entries.add(entry);
+
+		log.debug("Created pooled instance {} of {} for {}", entries.size(), maxSize, beanType.getName());
+		return entry;
+	}
+
+	/**
+	 * Returns a leased instance to the pool, or destroys it if the pool has been closed.
+	 */
+	void release(Entry<T> entry) {
+
+		unclaim(entry);
+		permits.release();
+	}
+
+	private void unclaim(Entry<T> entry) {
+
+		entry.leased.set(false);
+
+		// Whichever of this and close() claims the instance after the pool was closed destroys it.
+		if (closed && entry.claim()) {
+			destroy(entry);
+		}
+	}
+
+	/**
+	 * Closes the pool and destroys every idle instance. Leased instances are destroyed when they are returned, waiting
+	 * and later leases fail.
+	 */
+	void close() {
+
+		closed = true;
+		lastLeased.remove();
+
+		for (Entry<T> entry : entries) {
+			if (entry.claim()) {
+				destroy(entry);
+			}
+		}
+
+		permits.release(maxSize);
+	}
+
+	private void destroy(Entry<T> entry) {
+
+		T bean = entry.bean();
+
+		entries.remove(entry);
+		reserved.decrementAndGet();
+
+		// Other threads may still cache the entry, but it stays claimed and no longer holds the instance.
+		entry.clear();
+		if (lastLeased.get() == entry) {
+			lastLeased.remove();
+		}
+
+		Teardown.destroy(implementation, bean, container.getBindings());
+	}
+
+	/**
+	 * @return the class type of the pooled bean
+	 */
+	public Class<T> getBeanType() {
+
+		return beanType;
+	}
+
+	/**
+	 * @return the number of instances the pool holds at most
+	 */
+	public int getMaxSize() {
+
+		return maxSize;
+	}
+
+	/**
+	 * @return the number of instances created so far and not destroyed
+	 */
+	public int getSize() {
+
+		return entries.size();
+	}
+
+	@Override
+	public String toString() {
+
+		return "BeanPool[" + beanType.getName() + ", " + entries.size() + "/" + maxSize + "]";
+	}
+
+	/**
+	 * A pooled instance and whether it is currently leased. A destroyed entry stays leased and drops the instance.
+	 */
+	static final class Entry<T> {
+
+		private final AtomicBoolean leased = new AtomicBoolean(true);
+		private volatile T bean;
+
+		Entry(T bean) {
+
+			this.bean = bean;
+		}
+
+		T bean() {
+
+			return bean;
+		}
+
+		/**
+		 * @return true if the instance was idle and is now leased by the caller
+		 */
+		boolean claim() {
+
+			return !leased.get() && leased.compareAndSet(false, true);
+		}
+
+		void clear() {
+
+			bean = null;
+		}
+	}
+
+}
@@ -0,0 +1,74 @@
+package net.tylerwade.ioc;
+
+/**
+ * Handle to a singleton bean, for code that looks the same bean up repeatedly. Get one with
+ * {@link Container#ref(Class)} or {@link Beans#ref(Class)}.
+ * <p>
+ * The handle keeps the registry slot of its bean, which may belong to a parent container, so once the bean exists
+ * {@link #get()} is a single read of that slot, without hashing, allocation or locking. When the bean is removed its
+ * slot is retired, and the next {@link #get()} injects the bean again and keeps the new slot. Reads that find the bean
+ * in the slot are not counted in {@link BeanMetrics}.
+ *
+ * @param <T> the type of the bean
+ */
+public final class BeanRef<T> {
+
+	private static final BeanSlot UNRESOLVED = new BeanSlot(Object.class);
+
+	private final Class<T> beanType;
+	private final Container container;
+
+	// Not volatile: a stale slot only sends get() down the slow path, and the bean itself is read through a volatile.
+	private BeanSlot slot = UNRESOLVED;
+
+	BeanRef(Class<T> beanType, Container container) {
+
+		this.beanType = beanType;
+		this.container = container;
+	}
+
+	/**
+	 * Gets the bean, creating it and its dependencies if necessary.
+	 *
+	 * @return the bean instance
+	 */
+	@SuppressWarnings("unchecked")
+	public T get() {
+
+		Object bean = slot.get();
+
+		if (bean == null) {
+			bean = resolve();
+		}
+
+		return (T) bean;
+	}
+
+	private Object resolve() {
+
+		Object bean = container.inject(beanType);
+		BeanSlot current = container.getSlot(beanType);
+
+		// The bean may have been removed again in the meantime, the next get() then resolves once more.
+		if (current != null) {
+			slot = current;
+		}
+
+		return bean;
+	}
+
+	/**
+	 * @return the class type of the bean
+	 */
+	public Class<T> getBeanType() {
+
+		return beanType;
+	}
+
+	@Override
+	public String toString() {
+
+		return "BeanRef[" + beanType.getName() + "]";
+	}
+
+}
@@ -0,0 +1,225 @@
+package net.tylerwade.ioc;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Concurrent store of singleton beans, in an array indexed by {@link TypeIds type id}.
+ * <p>
+ * Each type gets its own {@link BeanSlot}, so creations of different types never contend with each other and a
+ * lookup of an existing bean takes no lock. Large contexts need no hash map entries, only one array element per type.
+ */
+class BeanRegistry {
+
+	private final IdTable<BeanSlot> slots = new IdTable<>();
+
+	/**
+	 * @param beanType the class type of the bean
+	 * @return the bean, or null if it does not exist or is still being created
+	 */
+	Object get(Class<?> beanType) {
+
+		return get(TypeIds.of(beanType));
+	}
+
+	/**
+	 * @param id the type id of the bean
+	 * @return the bean, or null if it does not exist or is still being created
+	 */
+	Object get(int id) {
+
+		BeanSlot slot = slots.get(id);
+		return slot != null ? slot.get() : null;
+	}
+
+	/**
+	 * @param beanType the class type of the bean
+	 * @return the current slot for the bean, or null if the bean has not been requested since it was last removed
+	 */
+	BeanSlot getSlot(Class<?> beanType) {
+
+		return slots.get(TypeIds.of(beanType));
+	}
+
+	/**
+	 * Gets the bean of the given type, creating it with the factory if it does not exist yet.
+	 * If another thread is already creating the bean, the calling thread waits for that creation instead.
+	 *
+	 * @param beanType the class type of the bean
+	 * @param factory  creates the bean, invoked at most once per slot
+	 * @return the bean instance
+	 */
+	Object getOrCreate(Class<?> beanType, Function<Class<?>, Object> factory) {
+
+		int id = TypeIds.of(beanType);
+		BeanSlot slot = slots.get(id);
+
+		if (slot == null) {
+			slot = slots.computeIfAbsent(id, ignored -> new BeanSlot(beanType));
+		} else {
+			Object bean = slot.get();
+			if (bean != null) {
+				Instrumentation.injectHit();
+				return bean;
+			}
+		}
+
+		if (slot.claim()) {
+			Instrumentation.injectMiss();
+			return create(slot, factory);
+		}
+
+		if (slot.isCreatedBy(Thread.currentThread())) {
+			throw new IllegalStateException("Recursive creation conflict for bean type: " + beanType.getName());
+		}
+
+		Object bean = slot.get();
+
+		if (bean != null) {
+			Instrumentation.injectHit();
+			return bean;
+		}
+
+		return await(slot);
+	}
+
+	private Object await(BeanSlot slot) {
+
+		BeanWaitEvent event = Instrumentation.waitStarted();
+		long start = System.nanoTime();
+
+		try {
+			return slot.await();
+		} finally {
+			Instrumentation.awaited(event, start, slot.getBeanType());
+		}
+	}
+
+	private Object create(BeanSlot slot, Function<Class<?>, Object> factory) {
+
+		Object bean;
+
+		try {
+			bean = factory.apply(slot.getBeanType());
+		} catch (RuntimeException | Error e) {
+			// Drop the failed slot so the next request retries the creation.
+			slots.remove(TypeIds.of(slot.getBeanType()), slot);
+			slot.fail(e);
+			throw e;
+		}
+
+		slot.publish(bean);
+		return bean;
+	}
+
+	/**
+	 * @param beanType the class type of the bean
+	 * @return true if the bean exists
+	 */
+	boolean contains(Class<?> beanType) {
+
+		return get(beanType) != null;
+	}
+
+	/**
+	 * @param id the type id of the bean
+	 * @return true if the bean exists
+	 */
+	boolean contains(int id) {
+
+		return get(id) != null;
+	}
+
+	/**
+	 * @param beanType the class type of the bean
+	 * @return true if the bean is currently being created
+	 */
+	boolean isCreating(Class<?> beanType) {
+
+		BeanSlot slot = slots.get(TypeIds.of(beanType));
+		return slot != null && slot.isCreating();
+	}
+
+	/**
+	 * Removes the bean of the given type. The next request for it creates a new instance.
+	 *
+	 * @param beanType the class type of the bean
+	 */
+	void remove(Class<?> beanType) {
+
+		remove(TypeIds.of(beanType));
+	}
+
+	/**
+	 * Removes the bean with the given type id. The next request for it creates a new instance.
+	 *
+	 * @param id the type id of the bean
+	 * @return the removed bean, or null if it did not exist or was still being created
+	 */
+	Object remove(int id) {
+
+		BeanSlot slot = slots.set(id, null);
+
+		if (slot == null) {
+			return null;
+		}
+
+		Object bean = slot.get();
+		slot.retire();
+		return bean;
+	}
+
+	/**
+	 * Removes all beans and returns those that had been created.
+	 *
+	 * @return the removed beans indexed by type id, null where no bean had been created
+	 */
+	Object[] drain() {
+
+		AtomicReferenceArray<BeanSlot> removed = slots.clear();
+		Object[] beans = new Object[removed.length()];
+
+		for (int id = 0; id < beans.length; id++) {
+			BeanSlot slot = removed.get(id);
+
+			if (slot != null) {
+				beans[id] = slot.get();
+				slot.retire();
+			}
+		}
+
+		return beans;
+	}
+
+	/**
+	 * Copies the created beans into an array indexed by type id, replacing the beans already there.
+	 *
+	 * @param beans the array to copy into
+	 * @return the array, or a larger copy of it if a bean had a higher type id
+	 */
+	Object[] copyInto(Object[] beans) {
+
+		for (int id = 0; id < slots.capacity(); id++) {
+			Object bean = get(id);
+
+			if (bean != null) {
+				if (id >= beans.length) {
+					beans = Arrays.copyOf(beans, slots.capacity());
+				}
+				beans[id] = bean;
+			}
+		}
+
+		return beans;
+	}
+
+	/**
+	 * Removes all beans.
+	 */
+	void clear() {
+
+		drain();
+	}
+
+}
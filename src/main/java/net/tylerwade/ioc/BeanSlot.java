@@ -0,0 +1,125 @@
+package net.tylerwade.ioc;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Once-only creation slot for a single bean type.
+ * <p>
+ * Exactly one thread claims the slot and builds the bean. Every other thread parks on the slot until the bean
+ * is published, and once it is published a read is a single volatile load.
+ */
+class BeanSlot {
+
+	private final Class<?> beanType;
+	private final AtomicReference<Thread> creator = new AtomicReference<>();
+	private final CompletableFuture<Object> ready = new CompletableFuture<>();
+	private volatile Object bean;
+	private volatile boolean retired;
+
+	BeanSlot(Class<?> beanType) {
+
+		this.beanType = beanType;
+	}
+
+	/**
+	 * @return the class type this slot holds a bean for
+	 */
+	Class<?> getBeanType() {
+
+		return beanType;
+	}
+
+	/**
+	 * @return the published bean, or null if it has not been created yet or the slot has been retired
+	 */
+	Object get() {
+
+		return bean;
+	}
+
+	/**
+	 * Claims the right to create the bean for this slot.
+	 *
+	 * @return true if the calling thread is now responsible for creating the bean, false if another thread claimed it first
+	 */
+	boolean claim() {
+
+		return creator.get() == null && creator.compareAndSet(null, Thread.currentThread());
+	}
+
+	/**
+	 * @return true if the bean has been claimed but is not yet published
+	 */
+	boolean isCreating() {
+
+		return creator.get() != null && !ready.isDone();
+	}
+
+	/**
+	 * @param thread the thread to check
+	 * @return true if the given thread is still in the middle of creating this bean
+	 */
+	boolean isCreatedBy(Thread thread) {
+
+		return creator.get() == thread && !ready.isDone();
+	}
+
+	/**
+	 * Publishes the created bean and wakes every thread waiting on this slot.
+	 *
+	 * @param bean the created bean
+	 */
+	void publish(Object bean) {
+
+		this.bean = bean;
+
+		// Pairs with retire(): whichever runs second sees the other's write, so a retired slot never keeps its bean.
+		if (retired) {
+			this.bean = null;
+		}
+
+		ready.complete(bean);
+	}
+
+	/**
+	 * Retires the slot after it has been removed from the registry. {@link #get()} returns null from then on, so
+	 * anyone still holding the slot, such as a {@link BeanRef}, looks the bean up again.
+	 */
+	void retire() {
+
+		retired = true;
+		bean = null;
+	}
+
+	/**
+	 * Fails the creation, rethrowing the cause in every thread waiting on this slot.
+	 *
+	 * @param cause the reason the creation failed
+	 */
+	void fail(Throwable cause) {
+
+		ready.completeExceptionally(cause);
+	}
+
+	/**
+	 * Parks the calling thread until the bean has been published or its creation has failed.
+	 *
+	 * @return the published bean
+	 */
+	Object await() {
+
+		try {
+			return ready.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			} else if (e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+}
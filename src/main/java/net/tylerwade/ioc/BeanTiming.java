@@ -0,0 +1,15 @@
+package net.tylerwade.ioc;
+
+import java.util.List;
+
+/**
+ * How long the creation of one bean took, see {@link StartupReport}.
+ *
+ * @param beanType       the class type of the bean
+ * @param selfNanos      the time the bean took on its own, without creating or waiting for its dependencies
+ * @param inclusiveNanos the time from the start to the end of the creation, including its dependencies
+ * @param dependencies   the profiled beans the bean was created with
+ */
+public record BeanTiming(Class<?> beanType, long selfNanos, long inclusiveNanos, List<Class<?>> dependencies) {
+
+}
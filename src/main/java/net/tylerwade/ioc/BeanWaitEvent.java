@@ -0,0 +1,20 @@
+package net.tylerwade.ioc;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event spanning the time a thread waits for a bean that another thread is creating.
+ */
+@Name("net.tylerwade.ioc.BeanWait")
+@Label("Bean Wait")
+@Category("IoC")
+@Description("Wait for a bean being created by another thread")
+final class BeanWaitEvent extends jdk.jfr.Event {
+
+	@Label("Bean Type")
+	Class<?> beanType;
+
+}
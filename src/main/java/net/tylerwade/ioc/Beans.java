@@ -1,21 +1,34 @@
 package net.tylerwade.ioc;
 
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
-import lombok.extern.slf4j.Slf4j;
-
-import java.lang.reflect.Constructor;
-import java.util.HashMap;
-import java.util.Map;
+/**
+ * Static facade over a default {@link Container}. Use {@link #getContainer()} to create child containers from it,
+ * or create independent containers with {@code new Container()}.
+ * <p>
+ * The instantiation strategy, listeners and metrics are shared by all containers in the JVM.
+ */
+public class Beans {
 
-import static org.hamcrest.MatcherAssert.*;
+	private static final Container container = new Container();
 
-@Slf4j
-public class Beans {
+	/**
+	 * @return the default container behind this facade
+	 */
+	public static Container getContainer() {
 
-	private static final Map<Class<?>, Object> beans = new HashMap<>();
+		return container;
+	}
 
 	/**
 	 * Get a bean from the IoC context, creating it and its dependencies if necessary.
+	 * Interfaces and abstract classes are resolved to their implementation, see {@link #bind(Class, Class)}.
 	 *
 	 * @param beanType the class type of the bean to retrieve
 	 * @param <T>      the type of the bean
@@ -23,24 +36,156 @@ public class Beans {
 	 */
 	public static <T> T inject(Class<?> beanType) {
 
-		assertThat("beanType must not be null", beanType != null);
+		return container.inject(beanType);
+	}
+
+	/**
+	 * Gets a bean without blocking, once it and all of its dependencies are created and initialized. Beans that do not
+	 * exist yet are created asynchronously as soon as their dependencies are ready, see {@link AsyncInitializable}.
+	 *
+	 * @param beanType the class type of the bean to retrieve
+	 * @param <T>      the type of the bean
+	 * @return a future that completes with the bean, or with the reason it could not be created or initialized
+	 */
+	public static <T> CompletableFuture<T> injectAsync(Class<T> beanType) {
+
+		return container.injectAsync(beanType);
+	}
+
+	/**
+	 * Gets a handle to the bean of the given type, for code that looks the bean up repeatedly. The bean is created on
+	 * the first {@link BeanRef#get()}, not by this method.
+	 *
+	 * @param beanType the class type of the bean
+	 * @param <T>      the type of the bean
+	 * @return the handle
+	 */
+	public static <T> BeanRef<T> ref(Class<T> beanType) {
+
+		return container.ref(beanType);
+	}
+
+	/**
+	 * Gets the pool of instances of the given type, for beans that are expensive to build but not thread-safe. Each
+	 * instance is leased to one caller at a time, see {@link BeanPool}.
+	 *
+	 * @param beanType the class type of the pooled bean
+	 * @param maxSize  the number of instances the pool holds at most
+	 * @param <T>      the type of the bean
+	 * @return the pool
+	 */
+	public static <T> BeanPool<T> pool(Class<T> beanType, int maxSize) {
+
+		return container.pool(beanType, maxSize);
+	}
+
+	/**
+	 * Eagerly creates the given beans and all of their dependencies. Beans that do not depend on each other are
+	 * created concurrently, each on its own virtual thread.
+	 *
+	 * @param roots the class types of the beans to create
+	 */
+	public static void initialize(Class<?>... roots) {
+
+		container.initialize(roots);
+	}
+
+	/**
+	 * Eagerly creates the given beans and all of their dependencies. Beans that do not depend on each other are
+	 * created concurrently on the given executor.
+	 *
+	 * @param executor runs the bean creations
+	 * @param roots    the class types of the beans to create
+	 */
+	public static void initialize(Executor executor, Class<?>... roots) {
+
+		container.initialize(executor, roots);
+	}
+
+	/**
+	 * Eagerly creates the given beans and all of their dependencies, using a wiring plan saved by an earlier run.
+	 * <p>
+	 * If the plan file was recorded for the same roots and none of the bean classes has changed since, the beans are
+	 * created in plan order without resolving their constructors or checking for circular dependencies again.
+	 * Otherwise the beans are created as with {@link #initialize(Class[])} and a new plan is written to the file.
+	 *
+	 * @param wiringPlan the plan file, created if it does not exist
+	 * @param roots      the class types of the beans to create
+	 */
+	public static void initialize(Path wiringPlan, Class<?>... roots) {
+
+		container.initialize(wiringPlan, roots);
+	}
+
+	/**
+	 * Binds an interface or abstract class to the class created when it is injected. An explicit binding replaces
+	 * any earlier one and takes precedence over implementations discovered by {@link #registerComponents()}.
+	 * Beans that were already created keep the implementation they were given.
+	 *
+	 * @param type           the interface or abstract class
+	 * @param implementation the concrete class to create for it
+	 * @param <T>            the bound type
+	 */
+	public static <T> void bind(Class<T> type, Class<? extends T> implementation) {
+
+		container.bind(type, implementation);
+	}
+
+	/**
+	 * Binds a type to a factory that creates its bean without reflection. The factory gets the declared dependencies
+	 * from its {@link Resolver}, see {@link Container#bind(Class, Function, Class[])}.
+	 *
+	 * @param type         the class type of the bean
+	 * @param factory      creates the bean
+	 * @param dependencies the bean types the factory gets from its resolver
+	 * @param <T>          the bound type
+	 */
+	public static <T> void bind(Class<T> type, Function<? super Resolver, ? extends T> factory, Class<?>... dependencies) {
+
+		container.bind(type, factory, dependencies);
+	}
+
+	/**
+	 * Removes the binding added with {@link #bind(Class, Class)} or {@link #bind(Class, Function, Class[])}. The type
+	 * is then resolved by discovery again.
+	 *
+	 * @param type the bound type
+	 */
+	public static void unbind(Class<?> type) {
+
+		container.unbind(type);
+	}
+
+	/**
+	 * Registers every component listed in the component indexes generated by the {@code ioc-processor} annotation
+	 * processor. No classpath scanning is done. The components are validated and checked for circular dependencies,
+	 * but not created. Each component becomes the implementation of its interfaces and abstract superclasses, unless
+	 * another component implements them too or they are bound with {@link #bind(Class, Class)}.
+	 *
+	 * @return the registered component classes
+	 */
+	public static List<Class<?>> registerComponents() {
+
+		return container.registerComponents();
+	}
 
-		try {
-			while (BeanLockManager.isLocked(beanType)) {
-				// Busy-wait until the bean is fully created.
-			}
+	/**
+	 * Registers every indexed component, see {@link #registerComponents()}, and eagerly creates all of them with
+	 * {@link #initialize(Class[])}.
+	 */
+	public static void initializeComponents() {
 
-			if (!exists(beanType)) {
-				Object bean = BeanFactory.createBean(beanType);
-				beans.put(beanType, bean);
-				log.info("Bean for {} created and stored in context", beanType.getName());
-			}
+		container.initializeComponents();
+	}
 
-			return (T) beans.get(beanType);
-		} catch (Exception e) {
-			log.error("Failed to get bean for {}", beanType.getName());
-			throw e;
-		}
+	/**
+	 * Gets the components registered with {@link #registerComponents()}.
+	 *
+	 * @return the registered component classes
+	 */
+	public static Set<Class<?>> getComponents() {
+
+		return container.getComponents();
 	}
 
 	/**
@@ -51,7 +196,7 @@ public class Beans {
 	 */
 	public static boolean exists(Class<?> beanType) {
 
-		return beans.containsKey(beanType);
+		return container.exists(beanType);
 	}
 
 
@@ -63,44 +208,130 @@ public class Beans {
 	 */
 	public static boolean isCreating(Class<?> beanType) {
 
-		return BeanLockManager.isLocked(beanType);
+		return container.isCreating(beanType);
+	}
+
+	/**
+	 * Freezes the beans that exist now into an immutable lookup table, so later injections are a single lock-free
+	 * lookup and any change to the IoC context is rejected, see {@link Container#freeze()}. {@link #close()} and
+	 * {@link #clear()} unfreeze it.
+	 */
+	public static void freeze() {
+
+		container.freeze();
+	}
+
+	/**
+	 * @return true if the IoC context is frozen, see {@link #freeze()}
+	 */
+	public static boolean isFrozen() {
+
+		return container.isFrozen();
 	}
 
 	/**
-	 * Clears all beans from the IoC context.
+	 * Gets the strategy used to invoke bean constructors.
+	 *
+	 * @return the current instantiation strategy
+	 */
+	public static InstantiationStrategy getInstantiationStrategy() {
+
+		return BeanFactory.getInstantiationStrategy();
+	}
+
+	/**
+	 * Sets the strategy used to invoke bean constructors. Beans that already exist are not affected.
+	 *
+	 * @param strategy the instantiation strategy
+	 */
+	public static void setInstantiationStrategy(InstantiationStrategy strategy) {
+
+		Objects.requireNonNull(strategy, "strategy must not be null");
+
+		BeanFactory.setInstantiationStrategy(strategy);
+	}
+
+	/**
+	 * Registers a listener for bean creation events.
+	 *
+	 * @param listener the listener to add
+	 */
+	public static void addListener(BeanListener listener) {
+
+		Objects.requireNonNull(listener, "listener must not be null");
+
+		Instrumentation.addListener(listener);
+	}
+
+	/**
+	 * Unregisters a listener added with {@link #addListener(BeanListener)}.
+	 *
+	 * @param listener the listener to remove
+	 */
+	public static void removeListener(BeanListener listener) {
+
+		Instrumentation.removeListener(listener);
+	}
+
+	/**
+	 * Gets a snapshot of the inject and creation counters. Creations and waits are also recorded as the
+	 * {@code net.tylerwade.ioc.BeanCreation} and {@code net.tylerwade.ioc.BeanWait} Flight Recorder events.
+	 *
+	 * @return the current metrics
+	 */
+	public static BeanMetrics getMetrics() {
+
+		return Instrumentation.snapshot();
+	}
+
+	/**
+	 * Destroys and removes all beans, each after the beans that depend on it, see {@link Container#close(java.time.Duration)}.
+	 * The IoC context can be used again afterwards.
+	 */
+	public static void close() {
+
+		container.close();
+	}
+
+	/**
+	 * Clears all beans from the IoC context, without destroying them.
 	 */
 	public static void clear() {
 
-		beans.clear();
+		container.clear();
 	}
 
 	/**
-	 * Removes a specific bean from the IoC context.
+	 * Removes a specific bean from the IoC context and destroys it.
 	 *
 	 * @param beanType the class type of the bean to remove
 	 */
 	public static void remove(Class<?> beanType) {
 
-		beans.remove(beanType);
+		container.remove(beanType);
 	}
 
 	/**
-	 * Removes a bean and all its dependencies from the IoC context.
-	 * @param beanType the class type of the bean to remove
+	 * Re-creates a bean together with every bean that depends on it, directly or through other beans, for example
+	 * after the configuration behind the bean has changed. Each bean is re-created after the beans it depends on, the
+	 * old instances are destroyed.
+	 *
+	 * @param beanType the class type of the bean to refresh
+	 * @return the refreshed bean types, in the order they were re-created, empty if the bean does not exist
 	 */
-	public static void removeWithDependencies(Class<?> beanType) {
+	public static List<Class<?>> refresh(Class<?> beanType) {
 
-		if (!exists(beanType)) {
-			return;
-		}
-
-		beans.remove(beanType);
+		return container.refresh(beanType);
+	}
 
-		Constructor<?> constructor = BeanFactory.getGreediestConstructor(beanType);
+	/**
+	 * Removes a bean from the IoC context, and its dependencies unless another bean still uses them, and destroys the
+	 * removed beans.
+	 * @param beanType the class type of the bean to remove
+	 */
+	public static void removeWithDependencies(Class<?> beanType) {
 
-		for (Class<?> paramType : constructor.getParameterTypes()) {
-			removeWithDependencies(paramType);
-		}
+		container.removeWithDependencies(beanType);
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,333 @@
+package net.tylerwade.ioc;
+
+import net.tylerwade.ioc.exception.AmbiguousBeanTypeException;
+import net.tylerwade.ioc.exception.UnresolvedBeanTypeException;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves interfaces and abstract classes to the class that implements them.
+ * <p>
+ * An implementation is either bound explicitly with {@link Container#bind(Class, Class)}, or discovered from the
+ * registered components: every component is indexed under all of its interfaces and abstract superclasses when it is
+ * registered. Resolving a type is then a map lookup, concrete classes resolve to themselves without any lookup.
+ * <p>
+ * A type bound to a factory with {@link Container#bind(Class, java.util.function.Function, Class[])} resolves to
+ * itself, its bean is created by the factory instead.
+ * <p>
+ * The bindings of a child {@link Container} fall back to those of its parent: the nearest container that binds or
+ * discovers an implementation wins.
+ */
+class Bindings {
+
+	private final Bindings parent;
+	private final Map<Class<?>, Class<?>> bound = new ConcurrentHashMap<>();
+	private final Map<Class<?>, List<Class<?>>> discovered = new ConcurrentHashMap<>();
+	private final Map<Class<?>, FactoryBinding> factories = new ConcurrentHashMap<>();
+	private final AtomicLong modifications = new AtomicLong();
+
+	/**
+	 * @param parent the bindings to fall back to, or null
+	 */
+	Bindings(Bindings parent) {
+
+		this.parent = parent;
+	}
+
+	/**
+	 * Resolves a requested type to the class to create.
+	 *
+	 * @param type the requested class type
+	 * @return the bound or discovered implementation, or the type itself if it is concrete
+	 * @throws UnresolvedBeanTypeException if an abstract type has no implementation
+	 * @throws AmbiguousBeanTypeException  if an abstract type has more than one discovered implementation and none is bound
+	 */
+	Class<?> resolve(Class<?> type) {
+
+		if (!isAbstract(type)) {
+			return type;
+		}
+
+		for (Bindings bindings = this; bindings != null; bindings = bindings.parent) {
+			Class<?> implementation = bindings.resolveLocally(type);
+
+			if (implementation != null) {
+				return implementation;
+			}
+		}
+
+		throw new UnresolvedBeanTypeException(type);
+	}
+
+	private Class<?> resolveLocally(Class<?> type) {
+
+		if (factories.containsKey(type)) {
+			return type;
+		}
+
+		Class<?> implementation = bound.get(type);
+
+		if (implementation != null) {
+			return implementation;
+		}
+
+		List<Class<?>> candidates = discovered.get(type);
+
+		if (candidates == null || candidates.isEmpty()) {
+			return null;
+		} else if (candidates.size() > 1) {
+			throw new AmbiguousBeanTypeException(type, candidates);
+		}
+
+		return candidates.getFirst();
+	}
+
+	/**
+	 * Resolves a requested type like {@link #resolve(Class)}, without failing.
+	 *
+	 * @param type the requested class type
+	 * @return the implementation, or the type itself if it has none or is ambiguous
+	 */
+	Class<?> lookup(Class<?> type) {
+
+		if (!isAbstract(type)) {
+			return type;
+		}
+
+		try {
+			return resolve(type);
+		} catch (UnresolvedBeanTypeException | AmbiguousBeanTypeException e) {
+			return type;
+		}
+	}
+
+	/**
+	 * @param type the class type to check
+	 * @return true if the type is an interface or abstract class that needs an implementation
+	 */
+	static boolean isAbstract(Class<?> type) {
+
+		// Primitive and array classes report themselves abstract too.
+		return type.isInterface() || (Modifier.isAbstract(type.getModifiers()) && !type.isPrimitive() && !type.isArray());
+	}
+
+	/**
+	 * Binds an interface or abstract class to an implementation, replacing any earlier binding.
+	 *
+	 * @param type           the interface or abstract class
+	 * @param implementation the class to create when the type is requested
+	 */
+	void bind(Class<?> type, Class<?> implementation) {
+
+		factories.remove(type);
+		bound.put(type, implementation);
+		modifications.incrementAndGet();
+	}
+
+	/**
+	 * Binds a type to a factory, replacing any earlier binding of the type.
+	 *
+	 * @param binding the factory binding
+	 */
+	void bind(FactoryBinding binding) {
+
+		bound.remove(binding.getType());
+		factories.put(binding.getType(), binding);
+		modifications.incrementAndGet();
+	}
+
+	/**
+	 * @param type the type to unbind
+	 */
+	void unbind(Class<?> type) {
+
+		boolean removed = bound.remove(type) != null;
+		removed |= factories.remove(type) != null;
+
+		if (removed) {
+			modifications.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Gets the factory binding of a type, from the nearest bindings that bind the type at all.
+	 *
+	 * @param type the resolved class type
+	 * @return the factory binding, or null if the type is not bound to a factory
+	 */
+	FactoryBinding getFactory(Class<?> type) {
+
+		for (Bindings bindings = this; bindings != null; bindings = bindings.parent) {
+			FactoryBinding binding = bindings.factories.get(type);
+
+			if (binding != null) {
+				return binding;
+			} else if (bindings.bound.containsKey(type)) {
+				return null;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Gets the beans that must exist before the bean of a type is created: those declared by its factory binding, or
+	 * the eager dependencies of its {@link BeanDefinition} followed by the implementations of its multi-bindings.
+	 *
+	 * @param implementation the resolved class type
+	 * @return the dependency types, not yet resolved
+	 * @throws RuntimeException if the type is not bound to a factory and is not a valid bean
+	 */
+	List<Class<?>> getDependencies(Class<?> implementation) {
+
+		FactoryBinding binding = getFactory(implementation);
+
+		if (binding != null) {
+			return binding.getDependencies();
+		}
+
+		BeanDefinition definition = BeanDefinition.of(implementation).validate();
+
+		if (definition.getMultiBindings().isEmpty()) {
+			return definition.getDependencies();
+		}
+
+		List<Class<?>> dependencies = new ArrayList<>(definition.getDependencies());
+		for (MultiBinding multiBinding : definition.getMultiBindings()) {
+			dependencies.addAll(getImplementations(multiBinding.elementType()));
+		}
+		return dependencies;
+	}
+
+	/**
+	 * Gets every implementation of an interface or abstract class, for a {@link MultiBinding}: the discovered
+	 * components, the bound implementation and the type itself if it is bound to a factory. Implementations known to
+	 * the parent bindings come first, each one is listed once.
+	 *
+	 * @param type the interface or abstract class
+	 * @return the implementations, in registration order
+	 */
+	List<Class<?>> getImplementations(Class<?> type) {
+
+		Deque<Bindings> chain = new ArrayDeque<>();
+		for (Bindings bindings = this; bindings != null; bindings = bindings.parent) {
+			chain.push(bindings);
+		}
+
+		Set<Class<?>> implementations = new LinkedHashSet<>();
+
+		for (Bindings bindings : chain) {
+			implementations.addAll(bindings.discovered.getOrDefault(type, List.of()));
+
+			Class<?> implementation = bindings.bound.get(type);
+			if (implementation != null) {
+				implementations.add(implementation);
+			}
+
+			if (bindings.factories.containsKey(type)) {
+				implementations.add(type);
+			}
+		}
+
+		return List.copyOf(implementations);
+	}
+
+	/**
+	 * @return every interface and abstract class bound or discovered here or in a parent, the types they resolve to
+	 * are found with {@link #lookup(Class)}
+	 */
+	Set<Class<?>> getAbstractTypes() {
+
+		Set<Class<?>> types = new HashSet<>();
+
+		for (Bindings bindings = this; bindings != null; bindings = bindings.parent) {
+			types.addAll(bindings.bound.keySet());
+			types.addAll(bindings.discovered.keySet());
+			bindings.factories.keySet().stream().filter(Bindings::isAbstract).forEach(types::add);
+		}
+
+		return types;
+	}
+
+	/**
+	 * Adds components to the index of discovered implementations, under all of their interfaces and abstract
+	 * superclasses.
+	 *
+	 * @param components the component classes
+	 */
+	void index(Collection<Class<?>> components) {
+
+		for (Class<?> component : components) {
+			if (isAbstract(component)) {
+				continue;
+			}
+
+			for (Class<?> supertype : getSupertypes(component)) {
+				discovered.compute(supertype, (key, candidates) -> {
+					if (candidates == null) {
+						return List.of(component);
+					} else if (candidates.contains(component)) {
+						return candidates;
+					}
+					return concat(candidates, component);
+				});
+			}
+		}
+
+		modifications.incrementAndGet();
+	}
+
+	/**
+	 * @return a number that changes whenever these bindings or those of a parent change
+	 */
+	long version() {
+
+		return modifications.get() + (parent != null ? parent.version() : 0);
+	}
+
+	private static Set<Class<?>> getSupertypes(Class<?> component) {
+
+		Set<Class<?>> supertypes = new HashSet<>();
+		Deque<Class<?>> pending = new ArrayDeque<>();
+		pending.push(component);
+
+		while (!pending.isEmpty()) {
+			Class<?> type = pending.pop();
+
+			for (Class<?> anInterface : type.getInterfaces()) {
+				if (supertypes.add(anInterface)) {
+					pending.push(anInterface);
+				}
+			}
+
+			Class<?> superclass = type.getSuperclass();
+			if (superclass != null && superclass != Object.class) {
+				if (isAbstract(superclass)) {
+					supertypes.add(superclass);
+				}
+				pending.push(superclass);
+			}
+		}
+
+		return supertypes;
+	}
+
+	private static List<Class<?>> concat(List<Class<?>> candidates, Class<?> component) {
+
+		Class<?>[] types = candidates.toArray(new Class<?>[candidates.size() + 1]);
+		types[candidates.size()] = component;
+		return List.of(types);
+	}
+
+}
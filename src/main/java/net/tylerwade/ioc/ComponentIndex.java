@@ -0,0 +1,79 @@
+package net.tylerwade.ioc;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads the component index generated by the {@code ioc-processor} annotation processor.
+ * <p>
+ * Every jar built with the processor contains a {@code META-INF/net.tylerwade.ioc.components} file listing the binary
+ * names of its {@link net.tylerwade.ioc.annotation.Component} classes, one per line. Reading these files replaces
+ * scanning the classpath for components.
+ */
+class ComponentIndex {
+
+	static final String LOCATION = "META-INF/net.tylerwade.ioc.components";
+
+	/**
+	 * Loads the components listed in every index visible to the class loader.
+	 *
+	 * @param classLoader the class loader to find the indexes and load the components with
+	 * @return the component classes, in index order and without duplicates
+	 */
+	static List<Class<?>> load(ClassLoader classLoader) {
+
+		Set<Class<?>> components = new LinkedHashSet<>();
+
+		try {
+			Enumeration<URL> indexes = classLoader.getResources(LOCATION);
+
+			while (indexes.hasMoreElements()) {
+				for (String name : readIndex(indexes.nextElement())) {
+					components.add(loadComponent(name, classLoader));
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to read component index " + LOCATION, e);
+		}
+
+		return List.copyOf(components);
+	}
+
+	private static List<String> readIndex(URL index) throws IOException {
+
+		List<String> names = new ArrayList<>();
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				int comment = line.indexOf('#');
+				String name = (comment >= 0 ? line.substring(0, comment) : line).trim();
+
+				if (!name.isEmpty()) {
+					names.add(name);
+				}
+			}
+		}
+
+		return names;
+	}
+
+	private static Class<?> loadComponent(String name, ClassLoader classLoader) {
+
+		try {
+			return Class.forName(name, false, classLoader);
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException("Component '" + name + "' listed in " + LOCATION + " could not be loaded", e);
+		}
+	}
+
+}
@@ -0,0 +1,33 @@
+package net.tylerwade.ioc;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Template for an instantiator that holds its method handle in a {@code static final} field, so the JIT treats the
+ * handle as a constant and inlines the constructor behind it. A handle captured in a lambda or an instance field is
+ * not a constant, and invoking it is no faster than reflection.
+ * <p>
+ * The class itself is never initialized. {@link MethodHandleInstantiator} defines a hidden copy of it per constructor, with
+ * the constructor's handle as the class data that initializes {@link #HANDLE}.
+ */
+final class ConstantHandleInstantiator implements BeanInstantiator {
+
+	private static final MethodHandle HANDLE;
+
+	static {
+		try {
+			HANDLE = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+		} catch (IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	@Override
+	public Object newInstance(Object[] args) throws Throwable {
+
+		return (Object) HANDLE.invokeExact(args);
+	}
+
+}
@@ -0,0 +1,774 @@
+package net.tylerwade.ioc;
+
+import lombok.extern.slf4j.Slf4j;
+import net.tylerwade.ioc.exception.BeanDestructionException;
+import net.tylerwade.ioc.exception.FrozenContainerException;
+import net.tylerwade.ioc.exception.InvalidBeanTypeException;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * An IoC context: its own singleton beans, bindings and registered components. {@link Beans} is the static facade
+ * over a default container.
+ * <p>
+ * A child container, made with {@link #createChild()}, starts empty and shares nothing but a reference with its
+ * parent, so creating one takes constant time. A child sees every bean its ancestors have already created and every
+ * binding they hold, its own bindings take precedence. Any bean that no ancestor has yet is created in the child and
+ * stays private to it. Lookups that fall through to a parent take no lock.
+ * <p>
+ * Beans can also be requested with {@link #injectAsync(Class)}, which creates each bean as soon as its dependencies
+ * are ready and waits for {@link AsyncInitializable} beans to finish initializing, without blocking the caller.
+ * <p>
+ * {@link #close()} destroys the beans of the container, see {@link net.tylerwade.ioc.annotation.Destroy}. Close child
+ * containers before their parent, a parent does not know its children.
+ * <p>
+ * Beans that are expensive to build but not thread-safe can be pooled instead, see {@link #pool(Class, int)}.
+ * <p>
+ * Once startup is done, {@link #freeze()} turns the beans into an immutable lookup table for the fastest lookups.
+ */
+@Slf4j
+public class Container implements AutoCloseable {
+
+	private static final Executor ASYNC_EXECUTOR = Thread::startVirtualThread;
+	private static final Duration DESTROY_TIMEOUT = Duration.ofSeconds(30);
+
+	private final Container parent;
+	private final BeanRegistry registry = new BeanRegistry();
+	private final DependentIndex dependents = new DependentIndex();
+	private final Bindings bindings;
+	private final DependencyGraph dependencyGraph;
+	private final Set<Class<?>> components = ConcurrentHashMap.newKeySet();
+	private final AsyncInjector asyncInjector = new AsyncInjector(this);
+	private final MultiBindings multiBindings;
+	private final Map<Class<?>, BeanPool<?>> pools = new ConcurrentHashMap<>();
+	private final Function<Class<?>, Object> factory = this::createBean;
+	private volatile FrozenBeans frozen;
+
+	/**
+	 * Creates an empty root container.
+	 */
+	public Container() {
+
+		this(null);
+	}
+
+	private Container(Container parent) {
+
+		this.parent = parent;
+		this.bindings = new Bindings(parent != null ? parent.bindings : null);
+		this.dependencyGraph = new DependencyGraph(bindings);
+		this.multiBindings = new MultiBindings(this);
+	}
+
+	/**
+	 * Creates a child container that falls back to this one for beans and bindings.
+	 *
+	 * @return the new child container
+	 */
+	public Container createChild() {
+
+		return new Container(this);
+	}
+
+	/**
+	 * @return the parent container, or null if this is a root container
+	 */
+	public Container getParent() {
+
+		return parent;
+	}
+
+	/**
+	 * Get a bean from this container or one of its ancestors, creating it and its dependencies in this container if
+	 * none of them has it yet. Interfaces and abstract classes are resolved to their implementation, see
+	 * {@link #bind(Class, Class)}.
+	 *
+	 * @param beanType the class type of the bean to retrieve
+	 * @param <T>      the type of the bean
+	 * @return the requested bean instance
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T inject(Class<?> beanType) {
+
+		Objects.requireNonNull(beanType, "beanType must not be null");
+
+		FrozenBeans frozenBeans = frozen;
+		if (frozenBeans != null) {
+			return (T) frozenBeans.get(beanType);
+		}
+
+		try {
+			Class<?> implementation = bindings.resolve(beanType);
+
+			if (parent != null) {
+				Object inherited = findInAncestors(implementation);
+
+				if (inherited != null) {
+					Instrumentation.injectHit();
+					return (T) inherited;
+				}
+			}
+
+			// Only one thread creates a given bean, any other thread asking for it waits for that creation.
+			return (T) registry.getOrCreate(implementation, factory);
+		} catch (Exception e) {
+			log.error("Failed to get bean for {}", beanType.getName());
+			throw e;
+		}
+	}
+
+	/**
+	 * Gets a bean without blocking, once it and all of its dependencies are created and initialized. Beans that do not
+	 * exist yet are created asynchronously, each on its own virtual thread as soon as its dependencies are ready, so
+	 * independent beans and their {@link AsyncInitializable} initializations overlap. Use {@link CompletableFuture#get}
+	 * with a timeout or {@link CompletableFuture#orTimeout} to bound the wait.
+	 *
+	 * @param beanType the class type of the bean to retrieve
+	 * @param <T>      the type of the bean
+	 * @return a future that completes with the bean, or with the reason it could not be created or initialized
+	 */
+	public <T> CompletableFuture<T> injectAsync(Class<T> beanType) {
+
+		return injectAsync(beanType, ASYNC_EXECUTOR);
+	}
+
+	/**
+	 * Gets a bean without blocking, once it and all of its dependencies are created and initialized. Beans that do not
+	 * exist yet are created on the given executor as soon as their dependencies are ready.
+	 *
+	 * @param beanType the class type of the bean to retrieve
+	 * @param executor runs the bean creations
+	 * @param <T>      the type of the bean
+	 * @return a future that completes with the bean, or with the reason it could not be created or initialized
+	 */
+	public <T> CompletableFuture<T> injectAsync(Class<T> beanType, Executor executor) {
+
+		Objects.requireNonNull(beanType, "beanType must not be null");
+		Objects.requireNonNull(executor, "executor must not be null");
+
+		try {
+			FrozenBeans frozenBeans = frozen;
+			if (frozenBeans != null) {
+				return CompletableFuture.completedFuture(beanType.cast(frozenBeans.get(beanType)));
+			}
+
+			// A new dependent future for every caller, so cancelling it does not affect anyone else waiting for the bean.
+			return asyncInjector.inject(bindings.resolve(beanType), executor).thenApply(beanType::cast);
+		} catch (RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	/**
+	 * Gets a handle to the bean of the given type, for code that looks the bean up repeatedly. The bean is created on
+	 * the first {@link BeanRef#get()}, not by this method.
+	 *
+	 * @param beanType the class type of the bean
+	 * @param <T>      the type of the bean
+	 * @return the handle
+	 */
+	public <T> BeanRef<T> ref(Class<T> beanType) {
+
+		Objects.requireNonNull(beanType, "beanType must not be null");
+
+		return new BeanRef<>(beanType, this);
+	}
+
+	/**
+	 * Gets the pool of instances of the given type, creating it on first use. Pooled instances are created with their
+	 * dependencies injected from this container, but each is leased to one caller at a time, see {@link BeanPool}.
+	 *
+	 * @param beanType the class type of the pooled bean, interfaces and abstract classes are resolved to their
+	 *                 implementation
+	 * @param maxSize  the number of instances the pool holds at most
+	 * @param <T>      the type of the bean
+	 * @return the pool
+	 * @throws IllegalArgumentException if the type is already pooled with another size
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> BeanPool<T> pool(Class<T> beanType, int maxSize) {
+
+		Objects.requireNonNull(beanType, "beanType must not be null");
+
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("maxSize must be at least 1");
+		}
+
+		BeanPool<?> pool = pools.computeIfAbsent(beanType, ignored -> new BeanPool<>(beanType, this, maxSize));
+
+		if (pool.getMaxSize() != maxSize) {
+			throw new IllegalArgumentException(String.format("%s is already pooled with a maximum of %d instances",
+					beanType.getName(), pool.getMaxSize()));
+		}
+
+		return (BeanPool<T>) pool;
+	}
+
+	private Object createBean(Class<?> beanType) {
+
+		// Reached by injections that were already under way when the container was frozen.
+		checkNotFrozen("create bean " + beanType.getName());
+
+		Object bean = BeanFactory.createBean(this, beanType);
+
+		List<Class<?>> dependencies = bindings.getDependencies(beanType);
+		int[] ids = new int[dependencies.size()];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = TypeIds.of(bindings.lookup(dependencies.get(i)));
+		}
+		dependents.record(TypeIds.of(beanType), ids);
+		asyncInjector.created(beanType, bean);
+
+		log.debug("Bean for {} created and stored in context", beanType.getName());
+		return bean;
+	}
+
+	/**
+	 * @return the bean created by this container or the nearest ancestor that has one, or null
+	 */
+	private Object findInAncestors(Class<?> implementation) {
+
+		Object bean = registry.get(implementation);
+
+		for (Container container = parent; bean == null && container != null; container = container.parent) {
+			bean = container.registry.get(implementation);
+		}
+
+		return bean;
+	}
+
+	/**
+	 * @return the slot holding the bean in this container or the nearest ancestor that has one, or null
+	 */
+	BeanSlot getSlot(Class<?> beanType) {
+
+		Class<?> implementation = bindings.lookup(beanType);
+
+		for (Container container = this; container != null; container = container.parent) {
+			BeanSlot slot = container.registry.getSlot(implementation);
+
+			if (slot != null && (slot.get() != null || container == this)) {
+				return slot;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Eagerly creates the given beans and all of their dependencies. Beans that do not depend on each other are
+	 * created concurrently, each on its own virtual thread.
+	 *
+	 * @param roots the class types of the beans to create
+	 */
+	public void initialize(Class<?>... roots) {
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			initialize(executor, roots);
+		}
+	}
+
+	/**
+	 * Eagerly creates the given beans and all of their dependencies. Beans that do not depend on each other are
+	 * created concurrently on the given executor.
+	 *
+	 * @param executor runs the bean creations
+	 * @param roots    the class types of the beans to create
+	 */
+	public void initialize(Executor executor, Class<?>... roots) {
+
+		Objects.requireNonNull(executor, "executor must not be null");
+		Objects.requireNonNull(roots, "roots must not be null");
+
+		ParallelInitializer.initialize(this, executor, roots);
+	}
+
+	/**
+	 * Eagerly creates the given beans and all of their dependencies, using a wiring plan saved by an earlier run.
+	 * <p>
+	 * If the plan file was recorded for the same roots and none of the bean classes has changed since, the beans are
+	 * created in plan order without resolving their constructors or checking for circular dependencies again.
+	 * Otherwise the beans are created as with {@link #initialize(Class[])} and a new plan is written to the file.
+	 *
+	 * @param wiringPlan the plan file, created if it does not exist
+	 * @param roots      the class types of the beans to create
+	 */
+	public void initialize(Path wiringPlan, Class<?>... roots) {
+
+		Objects.requireNonNull(wiringPlan, "wiringPlan must not be null");
+		Objects.requireNonNull(roots, "roots must not be null");
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			WiringPlan.initialize(this, executor, wiringPlan, roots);
+		}
+	}
+
+	/**
+	 * Binds an interface or abstract class to the class created when it is injected. An explicit binding replaces
+	 * any earlier one and takes precedence over implementations discovered by {@link #registerComponents()}.
+	 * Beans that were already created keep the implementation they were given.
+	 *
+	 * @param type           the interface or abstract class
+	 * @param implementation the concrete class to create for it
+	 * @param <T>            the bound type
+	 */
+	public <T> void bind(Class<T> type, Class<? extends T> implementation) {
+
+		Objects.requireNonNull(type, "type must not be null");
+		Objects.requireNonNull(implementation, "implementation must not be null");
+		checkNotFrozen("bind " + type.getName());
+
+		if (!Bindings.isAbstract(type)) {
+			throw new InvalidBeanTypeException(type, implementation, "only interfaces and abstract classes can be bound");
+		} else if (Bindings.isAbstract(implementation) || !type.isAssignableFrom(implementation)) {
+			throw new InvalidBeanTypeException(implementation, type, "implementation must be a concrete subtype of " + type.getName());
+		}
+
+		bindings.bind(type, implementation);
+		log.debug("Bound {} to {}", type.getName(), implementation.getName());
+	}
+
+	/**
+	 * Binds a type to a factory that creates its bean, for types that cannot or should not be created by reflection,
+	 * such as third-party classes without a suitable constructor. The factory gets the declared dependencies from its
+	 * {@link Resolver}, they are taken into account for cycle detection, creation order and teardown order like the
+	 * constructor parameters of other beans. The bean is destroyed with the {@link net.tylerwade.ioc.annotation.Destroy}
+	 * methods and {@code close()} of the class the factory returned.
+	 * <p>
+	 * The type can be an interface, an abstract class or a concrete class. The binding replaces any earlier binding of
+	 * the type, beans that were already created are kept.
+	 *
+	 * @param type         the class type of the bean
+	 * @param factory      creates the bean, called at most once per creation like a constructor
+	 * @param dependencies the bean types the factory gets from its resolver
+	 * @param <T>          the bound type
+	 */
+	public <T> void bind(Class<T> type, Function<? super Resolver, ? extends T> factory, Class<?>... dependencies) {
+
+		Objects.requireNonNull(type, "type must not be null");
+		Objects.requireNonNull(factory, "factory must not be null");
+		Objects.requireNonNull(dependencies, "dependencies must not be null");
+		checkNotFrozen("bind " + type.getName());
+
+		if (type.isPrimitive() || type.isArray()) {
+			throw new InvalidBeanTypeException(type);
+		}
+
+		bindings.bind(new FactoryBinding(type, factory, List.of(dependencies)));
+		log.debug("Bound {} to a factory with {} dependencies", type.getName(), dependencies.length);
+	}
+
+	/**
+	 * Removes the binding added with {@link #bind(Class, Class)} or {@link #bind(Class, Function, Class[])}. The type
+	 * is then resolved by discovery, or by the parent container, again.
+	 *
+	 * @param type the bound type
+	 */
+	public void unbind(Class<?> type) {
+
+		checkNotFrozen("unbind " + type.getName());
+
+		bindings.unbind(type);
+	}
+
+	/**
+	 * Registers every component listed in the component indexes generated by the {@code ioc-processor} annotation
+	 * processor. No classpath scanning is done. The components are validated and checked for circular dependencies,
+	 * but not created. Each component becomes the implementation of its interfaces and abstract superclasses, unless
+	 * another component implements them too or they are bound with {@link #bind(Class, Class)}.
+	 *
+	 * @return the registered component classes
+	 */
+	public List<Class<?>> registerComponents() {
+
+		checkNotFrozen("register components");
+
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+		List<Class<?>> indexed = ComponentIndex.load(classLoader != null ? classLoader : Container.class.getClassLoader());
+
+		bindings.index(indexed);
+
+		for (Class<?> component : indexed) {
+			dependencyGraph.checkForCircularDependency(component);
+		}
+
+		components.addAll(indexed);
+		log.info("Registered {} components from the component index", indexed.size());
+		return indexed;
+	}
+
+	/**
+	 * Registers every indexed component, see {@link #registerComponents()}, and eagerly creates all of them with
+	 * {@link #initialize(Class[])}.
+	 */
+	public void initializeComponents() {
+
+		initialize(registerComponents().toArray(Class<?>[]::new));
+	}
+
+	/**
+	 * Gets the components registered with {@link #registerComponents()} on this container.
+	 *
+	 * @return the registered component classes
+	 */
+	public Set<Class<?>> getComponents() {
+
+		return Set.copyOf(components);
+	}
+
+	/**
+	 * Checks if a bean of the specified type exists in this container or one of its ancestors.
+	 *
+	 * @param beanType the class type of the bean to check
+	 * @return true if the bean exists, false otherwise
+	 */
+	public boolean exists(Class<?> beanType) {
+
+		return findInAncestors(bindings.lookup(beanType)) != null;
+	}
+
+	/**
+	 * Checks if a bean of the specified type is currently being created in this container.
+	 *
+	 * @param beanType the class type of the bean to check
+	 * @return true if the bean is being created, false otherwise
+	 */
+	public boolean isCreating(Class<?> beanType) {
+
+		return registry.isCreating(bindings.lookup(beanType));
+	}
+
+	/**
+	 * Freezes the beans that exist now, for contexts that no longer change after startup. The beans of this container
+	 * and its ancestors are compiled into an immutable table indexed by {@link TypeIds type id}, which also maps every
+	 * bound or discovered interface and abstract class to the bean of its implementation. From then on
+	 * {@link #inject(Class)} is a single table lookup, without resolving bindings, touching registry slots, counting
+	 * {@link BeanMetrics} or taking any lock.
+	 * <p>
+	 * A frozen container rejects every change with a {@link FrozenContainerException}: creating a bean that did not
+	 * exist when it was frozen, binding, unbinding, registering components, refreshing and removing beans. Beans that
+	 * ancestors create or remove later are not seen. {@link #close()} and {@link #clear()} empty the container and
+	 * unfreeze it. Child containers can still be created and create their own beans.
+	 * <p>
+	 * Freeze once startup has finished, a bean still being created when the container is frozen is not in the table.
+	 * Freezing a frozen container does nothing.
+	 */
+	public synchronized void freeze() {
+
+		if (frozen != null) {
+			return;
+		}
+
+		Deque<Container> chain = new ArrayDeque<>();
+		for (Container container = this; container != null; container = container.parent) {
+			chain.push(container);
+		}
+
+		// Root first, so the beans of nearer containers replace those of their ancestors.
+		Object[] beans = new Object[0];
+		for (Container container : chain) {
+			beans = container.registry.copyInto(beans);
+		}
+
+		int count = 0;
+		for (Object bean : beans) {
+			if (bean != null) {
+				count++;
+			}
+		}
+
+		for (Class<?> type : bindings.getAbstractTypes()) {
+			int implementation = TypeIds.of(bindings.lookup(type));
+			int id = TypeIds.of(type);
+
+			if (implementation < beans.length && beans[implementation] != null) {
+				if (id >= beans.length) {
+					beans = Arrays.copyOf(beans, id + 1);
+				}
+				beans[id] = beans[implementation];
+			}
+		}
+
+		frozen = new FrozenBeans(beans);
+		log.info("Froze container with {} beans", count);
+	}
+
+	/**
+	 * @return true if the container is frozen, see {@link #freeze()}
+	 */
+	public boolean isFrozen() {
+
+		return frozen != null;
+	}
+
+	private void checkNotFrozen(String operation) {
+
+		if (frozen != null) {
+			throw new FrozenContainerException(operation);
+		}
+	}
+
+	/**
+	 * Re-creates a bean of this container together with every bean of this container that depends on it, directly or
+	 * through other beans. Each bean is re-created after the beans it depends on, so dependents get the new instances.
+	 * Other beans, including the unchanged dependencies of refreshed beans, are kept. The old instances are destroyed
+	 * before the new ones are created, each after the old beans that depend on it, see {@link #close(Duration)}.
+	 * <p>
+	 * Dependents are found in an index kept as beans are created, no definitions are resolved to find them. Lazy
+	 * proxies and child containers keep the instances they already hold. If a re-creation fails, the beans not yet
+	 * re-created stay removed and are created again on their next injection.
+	 *
+	 * @param beanType the class type of the bean to refresh
+	 * @return the refreshed bean types, in the order they were re-created, empty if the bean does not exist in this
+	 * container
+	 * @throws BeanDestructionException if destroying an old instance failed, after the beans have been re-created
+	 */
+	public List<Class<?>> refresh(Class<?> beanType) {
+
+		Objects.requireNonNull(beanType, "beanType must not be null");
+		checkNotFrozen("refresh " + beanType.getName());
+
+		Class<?> implementation = bindings.resolve(beanType);
+
+		int id = TypeIds.of(implementation);
+
+		if (!registry.contains(id)) {
+			return List.of();
+		}
+
+		int[] order = dependents.dependentsFirst(new int[]{id}, registry::contains);
+		List<Class<?>> refreshed = new ArrayList<>(order.length);
+
+		// Reversed, so each bean comes before the beans that depend on it.
+		for (int i = order.length - 1; i >= 0; i--) {
+			refreshed.add(TypeIds.type(order[i]));
+		}
+
+		BeanDestructionException failure = null;
+
+		try {
+			discard(order);
+		} catch (BeanDestructionException e) {
+			failure = e;
+		}
+
+		for (Class<?> type : refreshed) {
+			inject(type);
+		}
+
+		if (failure != null) {
+			throw failure;
+		}
+
+		log.info("Refreshed {} and {} dependent beans", implementation.getName(), refreshed.size() - 1);
+		return List.copyOf(refreshed);
+	}
+
+	/**
+	 * Destroys and removes all beans of this container, waiting up to 30 seconds for each bean. See
+	 * {@link #close(Duration)}.
+	 */
+	@Override
+	public void close() {
+
+		close(DESTROY_TIMEOUT);
+	}
+
+	/**
+	 * Destroys and removes all beans of this container. Each bean's {@link net.tylerwade.ioc.annotation.Destroy}
+	 * methods are called, then {@code close()} if it is {@link AutoCloseable}. A bean is destroyed only after every
+	 * bean of this container that depends on it, beans that do not depend on each other are destroyed concurrently on
+	 * virtual threads. A bean that takes longer than the timeout is logged and left behind, the teardown carries on
+	 * with its dependencies. Beans of parent containers are not affected, and the container can be used again
+	 * afterwards, no longer frozen.
+	 * <p>
+	 * The pools of the container are closed first, see {@link BeanPool}. Their idle instances are destroyed on the
+	 * calling thread and failures to destroy them are only logged.
+	 *
+	 * @param timeout how long a single bean may take to be destroyed
+	 * @throws BeanDestructionException if a destroy method failed, after all other beans have been destroyed
+	 */
+	public void close(Duration timeout) {
+
+		Objects.requireNonNull(timeout, "timeout must not be null");
+
+		frozen = null;
+
+		// Pooled instances depend on singletons but nothing depends on them, so they go first.
+		pools.values().forEach(BeanPool::close);
+		pools.clear();
+
+		Object[] beans = registry.drain();
+		asyncInjector.clear();
+		multiBindings.clear();
+
+		try {
+			Teardown.destroy(beans, dependents, bindings, ASYNC_EXECUTOR, timeout);
+		} finally {
+			dependents.clear();
+		}
+	}
+
+	/**
+	 * Clears all beans and pools from this container, without destroying them. Beans of parent containers are not
+	 * affected. A frozen container is no longer frozen afterwards.
+	 */
+	public void clear() {
+
+		frozen = null;
+		pools.clear();
+		registry.clear();
+		dependents.clear();
+		asyncInjector.clear();
+		multiBindings.clear();
+	}
+
+	/**
+	 * Removes a specific bean from this container and destroys it, see {@link #close(Duration)}. Beans of parent
+	 * containers are not affected.
+	 *
+	 * @param beanType the class type of the bean to remove
+	 * @throws BeanDestructionException if a destroy method failed, the bean is removed anyway
+	 */
+	public void remove(Class<?> beanType) {
+
+		checkNotFrozen("remove " + beanType.getName());
+
+		discard(TypeIds.of(bindings.lookup(beanType)));
+	}
+
+	/**
+	 * Removes a bean from this container, and its dependencies unless another bean of this container still uses them.
+	 * The removed beans are destroyed, each after the removed beans that depend on it. Beans of parent containers are
+	 * not affected.
+	 *
+	 * @param beanType the class type of the bean to remove
+	 * @throws BeanDestructionException if a destroy method failed, after all removed beans have been destroyed
+	 */
+	public void removeWithDependencies(Class<?> beanType) {
+
+		checkNotFrozen("remove " + beanType.getName());
+
+		int root = TypeIds.of(bindings.lookup(beanType));
+
+		if (!registry.contains(root)) {
+			return;
+		}
+
+		// Everything to remove is found first, so the beans can be destroyed together in dependency order.
+		BitSet removed = new BitSet();
+		removed.set(root);
+
+		int[] pending = {root};
+		int count = 1;
+
+		while (count > 0) {
+			int[] dependencies = dependents.getDependencies(pending[--count]);
+
+			if (dependencies == null) {
+				continue;
+			}
+
+			for (int dependency : dependencies) {
+				if (!removed.get(dependency) && registry.contains(dependency) && Arrays.stream(dependents.getDependents(dependency))
+						.allMatch(dependent -> removed.get(dependent) || !registry.contains(dependent))) {
+					removed.set(dependency);
+
+					if (count == pending.length) {
+						pending = Arrays.copyOf(pending, count * 2);
+					}
+					pending[count++] = dependency;
+				}
+			}
+		}
+
+		discard(removed.stream().toArray());
+	}
+
+	/**
+	 * Removes beans of this container and everything recorded about them, then destroys them. Each bean is destroyed
+	 * after the removed beans that depend on it, while their dependency edges are still recorded.
+	 */
+	private void discard(int... ids) {
+
+		Object[] beans = new Object[0];
+
+		for (int id : ids) {
+			Object bean = registry.remove(id);
+			asyncInjector.remove(TypeIds.type(id));
+
+			if (bean != null) {
+				if (id >= beans.length) {
+					beans = Arrays.copyOf(beans, Math.max(id + 1, TypeIds.count()));
+				}
+				beans[id] = bean;
+			}
+		}
+
+		multiBindings.clear();
+
+		try {
+			if (beans.length > 0) {
+				Teardown.destroy(beans, dependents, bindings, ASYNC_EXECUTOR, DESTROY_TIMEOUT);
+			}
+		} finally {
+			for (int id : ids) {
+				dependents.forget(id);
+			}
+		}
+	}
+
+	/**
+	 * @return the bean of this container or the nearest ancestor that has one, or null
+	 */
+	Object getBean(Class<?> implementation) {
+
+		return findInAncestors(implementation);
+	}
+
+	DependentIndex getDependents() {
+
+		return dependents;
+	}
+
+	/**
+	 * @return the collection of beans injected for a multi-binding, shared by every bean of this container
+	 */
+	Object getCollection(MultiBinding multiBinding) {
+
+		return multiBindings.get(multiBinding);
+	}
+
+	AsyncInjector getAsyncInjector() {
+
+		return asyncInjector;
+	}
+
+	Bindings getBindings() {
+
+		return bindings;
+	}
+
+	DependencyGraph getDependencyGraph() {
+
+		return dependencyGraph;
+	}
+
+}
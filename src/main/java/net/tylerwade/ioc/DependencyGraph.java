@@ -0,0 +1,343 @@
+package net.tylerwade.ioc;
+
+import net.tylerwade.ioc.exception.CircularDependencyException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Analyses the constructor dependency graph between bean types.
+ * <p>
+ * Each type is visited at most once per check, and types already proven free of cycles are remembered, so a
+ * check stops as soon as it reaches a verified subgraph. Checking a whole graph from cold is linear in its size.
+ * <p>
+ * Types are identified by {@link TypeIds type id}. The resolved dependencies of each type are kept as an int array
+ * indexed by id, and the searches run over ids and bit sets, so large graphs do not allocate a boxed node or set
+ * entry per type.
+ * <p>
+ * Interface dependencies are followed to their implementations, so each {@link Container} has its own graph. The
+ * resolved dependencies and the remembered types are forgotten whenever a binding changes, since a binding can
+ * close a cycle.
+ */
+class DependencyGraph {
+
+	private static final int[] NONE = new int[0];
+
+	private final Bindings bindings;
+	private volatile State state;
+
+	/**
+	 * @param bindings resolves interface dependencies to their implementations
+	 */
+	DependencyGraph(Bindings bindings) {
+
+		this.bindings = bindings;
+		this.state = new State(bindings.version());
+	}
+
+	/**
+	 * Checks for circular dependencies reachable from a bean type.
+	 * Implements an iterative depth-first search, where reaching a type that is still on the search path closes a cycle.
+	 *
+	 * @param beanType the class type to check
+	 * @throws CircularDependencyException with the full cycle path, if a cycle is found
+	 */
+	void checkForCircularDependency(Class<?> beanType) {
+
+		State state = currentState();
+		int root = TypeIds.of(beanType);
+
+		if (state.isAcyclic(root)) {
+			return;
+		}
+
+		Path path = new Path();
+		BitSet onPath = new BitSet();
+		BitSet finished = new BitSet();
+
+		path.push(root, state.dependencies(root, bindings));
+		onPath.set(root);
+
+		while (!path.isEmpty()) {
+			if (!path.hasNext()) {
+				int type = path.pop();
+				onPath.clear(type);
+				finished.set(type);
+				continue;
+			}
+
+			int dependency = path.next();
+
+			if (finished.get(dependency) || state.isAcyclic(dependency)) {
+				continue;
+			}
+
+			if (onPath.get(dependency)) {
+				throw new CircularDependencyException(path.getCycle(dependency));
+			}
+
+			path.push(dependency, state.dependencies(dependency, bindings));
+			onPath.set(dependency);
+		}
+
+		// Every type finished without reaching the search path has an acyclic subgraph.
+		state.markAcyclic(finished);
+	}
+
+	/**
+	 * @return the state for the current bindings, replaced by an empty one if a binding has changed
+	 */
+	private State currentState() {
+
+		State current = state;
+		long version = bindings.version();
+
+		if (current.bindingsVersion != version) {
+			// Threads still working on the old state only write to it, so nothing stale leaks into the new one.
+			current = new State(version);
+			state = current;
+		}
+
+		return current;
+	}
+
+	/**
+	 * Marks types as free of cycles without checking them, for graphs that were checked in an earlier run.
+	 *
+	 * @param types the class types known to be acyclic
+	 */
+	void markAcyclic(Collection<Class<?>> types) {
+
+		BitSet ids = new BitSet();
+		for (Class<?> type : types) {
+			ids.set(TypeIds.of(type));
+		}
+
+		currentState().markAcyclic(ids);
+	}
+
+	/**
+	 * Groups the beans reachable from the roots into creation levels. Level 0 holds beans without dependencies, and
+	 * every other bean is one level above its deepest dependency, so the beans of one level only depend on beans of
+	 * lower levels and can be created concurrently.
+	 *
+	 * @param roots the class types to start from
+	 * @return the creation levels, lowest first
+	 * @throws CircularDependencyException if a cycle is reachable from a root
+	 */
+	List<List<Class<?>>> getCreationLevels(Collection<Class<?>> roots) {
+
+		int[] levels = new int[0];
+		List<List<Class<?>>> creationLevels = new ArrayList<>();
+
+		for (Class<?> requested : roots) {
+			Class<?> implementation = bindings.resolve(requested);
+			checkForCircularDependency(implementation);
+
+			State state = currentState();
+			int root = TypeIds.of(implementation);
+
+			// Levels are stored plus one, so the zero of a new array means not visited.
+			levels = ensureCapacity(levels, root);
+			if (levels[root] != 0) {
+				continue;
+			}
+
+			Path path = new Path();
+			path.push(root, state.dependencies(root, bindings));
+
+			// Post-order walk, a bean's level is known once all of its dependencies are finished.
+			while (!path.isEmpty()) {
+				if (path.hasNext()) {
+					int dependency = path.next();
+					levels = ensureCapacity(levels, dependency);
+
+					if (levels[dependency] == 0) {
+						path.push(dependency, state.dependencies(dependency, bindings));
+					}
+					continue;
+				}
+
+				int[] dependencies = path.dependencies();
+				int type = path.pop();
+
+				int level = 0;
+				for (int dependency : dependencies) {
+					level = Math.max(level, levels[dependency]);
+				}
+
+				levels[type] = level + 1;
+
+				if (level == creationLevels.size()) {
+					creationLevels.add(new ArrayList<>());
+				}
+				creationLevels.get(level).add(TypeIds.type(type));
+			}
+		}
+
+		return creationLevels;
+	}
+
+	private static int[] ensureCapacity(int[] array, int id) {
+
+		return id < array.length ? array : Arrays.copyOf(array, Math.max(id + 1, TypeIds.count()));
+	}
+
+	/**
+	 * What the graph knows for one version of the bindings: the resolved dependencies of each type and the types
+	 * proven free of cycles.
+	 */
+	private static class State {
+
+		private final long bindingsVersion;
+		private final IdTable<int[]> dependencies = new IdTable<>();
+		private volatile AtomicLongArray acyclic = new AtomicLongArray(0);
+
+		private State(long bindingsVersion) {
+
+			this.bindingsVersion = bindingsVersion;
+		}
+
+		/**
+		 * Gets the dependencies of a type, resolved to the implementations actually created, computing them on first use.
+		 * Types bound to a factory have the dependencies declared with the binding.
+		 *
+		 * @return the type ids of the eager dependencies
+		 */
+		private int[] dependencies(int id, Bindings bindings) {
+
+			int[] resolved = dependencies.get(id);
+
+			if (resolved == null) {
+				// Racing threads resolve the same ids, so whichever is stored last is fine.
+				List<Class<?>> types = bindings.getDependencies(TypeIds.type(id));
+				resolved = types.isEmpty() ? NONE : new int[types.size()];
+
+				for (int i = 0; i < resolved.length; i++) {
+					resolved[i] = TypeIds.of(bindings.resolve(types.get(i)));
+				}
+
+				dependencies.set(id, resolved);
+			}
+
+			return resolved;
+		}
+
+		private boolean isAcyclic(int id) {
+
+			AtomicLongArray bits = acyclic;
+			int word = id >>> 6;
+			return word < bits.length() && (bits.get(word) & 1L << id) != 0;
+		}
+
+		private void markAcyclic(BitSet ids) {
+
+			if (ids.isEmpty()) {
+				return;
+			}
+
+			AtomicLongArray bits = ensureCapacity(ids.length() - 1);
+
+			for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+				long mask = 1L << id;
+				bits.getAndAccumulate(id >>> 6, mask, (word, bit) -> word | bit);
+			}
+		}
+
+		private synchronized AtomicLongArray ensureCapacity(int id) {
+
+			AtomicLongArray bits = acyclic;
+
+			if (id >>> 6 < bits.length()) {
+				return bits;
+			}
+
+			// A bit set concurrently in the old array may be lost, which only means checking that type again.
+			AtomicLongArray grown = new AtomicLongArray(Math.max((id >>> 6) + 1, (TypeIds.count() + 63) >>> 6));
+			for (int i = 0; i < bits.length(); i++) {
+				grown.set(i, bits.get(i));
+			}
+
+			acyclic = grown;
+			return grown;
+		}
+	}
+
+	/**
+	 * The search path of a depth-first search: the type ids on the path, their dependencies and the index of the next
+	 * dependency to visit for each.
+	 */
+	private static class Path {
+
+		private int[] types = new int[16];
+		private int[][] dependencies = new int[16][];
+		private int[] next = new int[16];
+		private int depth;
+
+		private void push(int type, int[] typeDependencies) {
+
+			if (depth == types.length) {
+				types = Arrays.copyOf(types, depth * 2);
+				dependencies = Arrays.copyOf(dependencies, depth * 2);
+				next = Arrays.copyOf(next, depth * 2);
+			}
+
+			types[depth] = type;
+			dependencies[depth] = typeDependencies;
+			next[depth] = 0;
+			depth++;
+		}
+
+		private int pop() {
+
+			depth--;
+			dependencies[depth] = null;
+			return types[depth];
+		}
+
+		private boolean isEmpty() {
+
+			return depth == 0;
+		}
+
+		private boolean hasNext() {
+
+			return next[depth - 1] < dependencies[depth - 1].length;
+		}
+
+		private int next() {
+
+			return dependencies[depth - 1][next[depth - 1]++];
+		}
+
+		/**
+		 * @return the dependencies of the type on top of the path
+		 */
+		private int[] dependencies() {
+
+			return dependencies[depth - 1];
+		}
+
+		/**
+		 * @return the cycle closed by reaching the dependency, from its first occurrence on the path back to itself
+		 */
+		private List<Class<?>> getCycle(int dependency) {
+
+			List<Class<?>> cycle = new ArrayList<>();
+
+			for (int i = 0; i < depth; i++) {
+				if (types[i] == dependency || !cycle.isEmpty()) {
+					cycle.add(TypeIds.type(types[i]));
+				}
+			}
+
+			cycle.add(TypeIds.type(dependency));
+			return cycle;
+		}
+	}
+
+}
@@ -0,0 +1,211 @@
+package net.tylerwade.ioc;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+
+/**
+ * Records which beans of a container were created with which dependencies, in both directions, so the beans that
+ * depend on a given bean can be found without resolving any definitions.
+ * <p>
+ * Edges are recorded when a bean has been created and forgotten when it is removed. Only eager dependencies are
+ * recorded, a lazy proxy keeps the instance it resolved. Beans are identified by {@link TypeIds type id} and the
+ * edges are kept in int arrays indexed by id. Recording and reading are rare compared to injection, so all access is
+ * synchronized.
+ */
+class DependentIndex {
+
+	private static final int[] NONE = new int[0];
+
+	private int[][] dependencies = new int[0][];
+	private int[][] dependents = new int[0][];
+	private int[] dependentCounts = new int[0];
+
+	/**
+	 * Records the dependencies a bean was created with, replacing any recorded before.
+	 *
+	 * @param id           the type id of the bean
+	 * @param dependencies the type ids of the implementations of its eager dependencies
+	 */
+	synchronized void record(int id, int[] dependencies) {
+
+		ensureCapacity(id);
+		unlink(id);
+
+		// Without duplicates, so the bean is listed once per dependency without searching the dependents.
+		dependencies = Arrays.stream(dependencies).distinct().toArray();
+		this.dependencies[id] = dependencies;
+
+		for (int dependency : dependencies) {
+			ensureCapacity(dependency);
+
+			int[] set = dependents[dependency];
+			int count = dependentCounts[dependency];
+
+			if (set == null || count == set.length) {
+				set = set == null ? new int[4] : Arrays.copyOf(set, count * 2);
+				dependents[dependency] = set;
+			}
+
+			set[count] = id;
+			dependentCounts[dependency] = count + 1;
+		}
+	}
+
+	/**
+	 * Forgets the dependencies of a removed bean. Beans that depend on it stay recorded.
+	 *
+	 * @param id the type id of the bean
+	 * @return the type ids of the dependencies the bean was created with, empty if none were recorded
+	 */
+	synchronized int[] forget(int id) {
+
+		int[] previous = unlink(id);
+
+		if (previous != null) {
+			dependencies[id] = null;
+		}
+
+		return previous != null ? previous : NONE;
+	}
+
+	private int[] unlink(int id) {
+
+		int[] previous = id < dependencies.length ? dependencies[id] : null;
+
+		if (previous == null) {
+			return null;
+		}
+
+		for (int dependency : previous) {
+			int[] set = dependents[dependency];
+			int count = dependentCounts[dependency];
+			int index = indexOf(set, count, id);
+
+			if (index >= 0) {
+				set[index] = set[count - 1];
+				dependentCounts[dependency] = count - 1;
+			}
+		}
+
+		return previous;
+	}
+
+	/**
+	 * @param id the type id of the bean
+	 * @return the type ids of the dependencies the bean was created with, or null if no creation of the bean is recorded
+	 */
+	synchronized int[] getDependencies(int id) {
+
+		int[] recorded = id < dependencies.length ? dependencies[id] : null;
+		return recorded != null ? recorded.clone() : null;
+	}
+
+	/**
+	 * @param id the type id of the bean
+	 * @return the type ids of the beans recorded as created with the bean as a direct dependency
+	 */
+	synchronized int[] getDependents(int id) {
+
+		return id < dependents.length && dependentCounts[id] > 0 ? Arrays.copyOf(dependents[id], dependentCounts[id]) : NONE;
+	}
+
+	/**
+	 * Orders beans so that each one comes after every bean that depends on it, directly or through other beans. The
+	 * walk is iterative, so long chains of dependents do not grow the call stack.
+	 *
+	 * @param roots   the type ids to start from
+	 * @param include whether a dependent is followed, for example whether it still exists
+	 * @return the type ids of the roots and of the included beans that depend on them, dependents first
+	 */
+	int[] dependentsFirst(int[] roots, IntPredicate include) {
+
+		BitSet visited = new BitSet();
+		int[] order = new int[Math.max(16, roots.length)];
+		int count = 0;
+
+		int[] stack = new int[16];
+		int[][] children = new int[16][];
+		int[] next = new int[16];
+
+		for (int root : roots) {
+			if (visited.get(root)) {
+				continue;
+			}
+
+			visited.set(root);
+			stack[0] = root;
+			children[0] = getDependents(root);
+			next[0] = 0;
+			int depth = 1;
+
+			while (depth > 0) {
+				int top = depth - 1;
+
+				if (next[top] == children[top].length) {
+					if (count == order.length) {
+						order = Arrays.copyOf(order, count * 2);
+					}
+					order[count++] = stack[top];
+					children[top] = null;
+					depth--;
+					continue;
+				}
+
+				int dependent = children[top][next[top]++];
+
+				if (visited.get(dependent) || !include.test(dependent)) {
+					continue;
+				}
+
+				if (depth == stack.length) {
+					stack = Arrays.copyOf(stack, depth * 2);
+					children = Arrays.copyOf(children, depth * 2);
+					next = Arrays.copyOf(next, depth * 2);
+				}
+
+				visited.set(dependent);
+				stack[depth] = dependent;
+				children[depth] = getDependents(dependent);
+				next[depth] = 0;
+				depth++;
+			}
+		}
+
+		return Arrays.copyOf(order, count);
+	}
+
+	/**
+	 * Forgets everything.
+	 */
+	synchronized void clear() {
+
+		dependencies = new int[0][];
+		dependents = new int[0][];
+		dependentCounts = new int[0];
+	}
+
+	private void ensureCapacity(int id) {
+
+		if (id < dependencies.length) {
+			return;
+		}
+
+		int capacity = Math.max(id + 1, Math.max(16, dependencies.length * 2));
+		dependencies = Arrays.copyOf(dependencies, capacity);
+		dependents = Arrays.copyOf(dependents, capacity);
+		dependentCounts = Arrays.copyOf(dependentCounts, capacity);
+	}
+
+	private static int indexOf(int[] set, int count, int id) {
+
+		for (int i = 0; i < count; i++) {
+			if (set[i] == id) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+}
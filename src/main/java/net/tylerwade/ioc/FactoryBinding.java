@@ -0,0 +1,77 @@
+package net.tylerwade.ioc;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A bean type bound to a factory function, see {@link Container#bind(Class, Function, Class[])}.
+ * <p>
+ * The dependencies are declared with the binding, so the bean takes part in cycle detection, creation levels and
+ * teardown order like any other bean, without its type ever being reflected on.
+ */
+class FactoryBinding {
+
+	private final Class<?> type;
+	private final Function<? super Resolver, ?> factory;
+	private final List<Class<?>> dependencies;
+
+	/**
+	 * @param type         the bound class type
+	 * @param factory      creates the bean
+	 * @param dependencies the bean types the factory may request from its {@link Resolver}
+	 */
+	FactoryBinding(Class<?> type, Function<? super Resolver, ?> factory, List<Class<?>> dependencies) {
+
+		this.type = type;
+		this.factory = factory;
+		this.dependencies = dependencies;
+	}
+
+	/**
+	 * Creates the bean by calling the factory.
+	 *
+	 * @param container the container to get the dependencies from
+	 * @return the bean instance
+	 * @throws IllegalStateException if the factory returns null or an object that is not of the bound type
+	 */
+	Object create(Container container) {
+
+		Object bean = factory.apply(new Resolver(container, this));
+
+		if (!type.isInstance(bean)) {
+			throw new IllegalStateException("Factory for " + type.getName() + " returned " + (bean == null ? "null" : "an instance of " + bean.getClass().getName()));
+		}
+
+		return bean;
+	}
+
+	/**
+	 * @return the bound class type
+	 */
+	Class<?> getType() {
+
+		return type;
+	}
+
+	/**
+	 * @return the bean types the factory may request, all of them must exist before the bean is created
+	 */
+	List<Class<?>> getDependencies() {
+
+		return dependencies;
+	}
+
+	/**
+	 * Finds the methods that destroy a bean created by the factory, from the class of the bean rather than the bound
+	 * type, which may be an interface.
+	 *
+	 * @param bean the bean created by the factory
+	 * @return handles of type {@code (Object) void}, in the order they are called
+	 */
+	List<MethodHandle> getDestroyMethods(Object bean) {
+
+		return BeanFactory.getDestroyMethods(bean.getClass());
+	}
+
+}
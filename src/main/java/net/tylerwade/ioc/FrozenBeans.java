@@ -0,0 +1,52 @@
+package net.tylerwade.ioc;
+
+import net.tylerwade.ioc.exception.FrozenContainerException;
+
+/**
+ * Immutable lookup table of the beans of a frozen {@link Container}, see {@link Container#freeze()}.
+ * <p>
+ * Type ids are dense and no two types share one, so they already are a minimal perfect hash of the bean types. The
+ * table is a plain array indexed by id, holding the bean of every created type and of every interface or abstract
+ * class that resolves to one. A lookup is the {@link ClassValue} read behind {@link TypeIds#of(Class)} and an array
+ * load, without binding resolution, slot state or locking.
+ */
+final class FrozenBeans {
+
+	private final Object[] beans;
+
+	/**
+	 * @param beans the beans indexed by type id, not copied and no longer changed by the caller
+	 */
+	FrozenBeans(Object[] beans) {
+
+		this.beans = beans;
+	}
+
+	/**
+	 * @param beanType the requested class type
+	 * @return the bean
+	 * @throws FrozenContainerException if the bean did not exist when the container was frozen
+	 */
+	Object get(Class<?> beanType) {
+
+		int id = TypeIds.of(beanType);
+		Object bean = id < beans.length ? beans[id] : null;
+
+		if (bean == null) {
+			throw new FrozenContainerException("create bean " + beanType.getName());
+		}
+
+		return bean;
+	}
+
+	/**
+	 * @param beanType the requested class type
+	 * @return true if the table has a bean for the type
+	 */
+	boolean contains(Class<?> beanType) {
+
+		int id = TypeIds.of(beanType);
+		return id < beans.length && beans[id] != null;
+	}
+
+}
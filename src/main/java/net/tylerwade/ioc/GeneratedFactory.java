@@ -0,0 +1,55 @@
+package net.tylerwade.ioc;
+
+import java.util.List;
+
+/**
+ * Creates a bean without reflection. Implementations are generated at compile time by the {@code ioc-processor}
+ * annotation processor, one per {@link net.tylerwade.ioc.annotation.Component} class.
+ * <p>
+ * A factory for {@code com.example.UserService} is named {@code com.example.UserService_IocFactory}. Each {@code _} of
+ * the binary simple name is doubled and each {@code $} of a nested class becomes {@code _0}, so {@code Outer$Inner}
+ * gets {@code Outer_0Inner_IocFactory} and a top-level {@code Outer_Inner} gets {@code Outer__Inner_IocFactory}.
+ * When a factory is present, it is used instead of the bean's constructor.
+ *
+ * @param <T> the type of the bean
+ */
+public interface GeneratedFactory<T> {
+
+	/**
+	 * Suffix appended to the bean's binary simple name to name its factory.
+	 */
+	String SUFFIX = "_IocFactory";
+
+	/**
+	 * @return the types of the beans passed to {@link #create(Object[])}, in order
+	 */
+	List<Class<?>> dependencies();
+
+	/**
+	 * @param index the index of a dependency
+	 * @return the bean type a lazy proxy creates on first use for the dependency, or null if it is injected eagerly
+	 */
+	default Class<?> lazyTarget(int index) {
+
+		return null;
+	}
+
+	/**
+	 * @param index the index of a dependency
+	 * @return the element type of a {@code List} or {@code Map} dependency that receives every bean of that type, or
+	 * null if the dependency is a single bean
+	 */
+	default Class<?> elementType(int index) {
+
+		return null;
+	}
+
+	/**
+	 * Creates the bean. Lazy dependencies are passed as proxies, multi-bound dependencies as immutable collections.
+	 *
+	 * @param dependencies the dependency instances, in the order of {@link #dependencies()}
+	 * @return the new bean instance
+	 */
+	T create(Object[] dependencies);
+
+}
@@ -0,0 +1,113 @@
+package net.tylerwade.ioc;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * Array of values indexed by {@link TypeIds type id}, grown as higher ids are stored.
+ * <p>
+ * Reads are a volatile load of the array and of the element, without locking or hashing. Writes are serialized, so
+ * none is lost when the array is replaced by a larger copy. The array only grows to the highest id stored in this
+ * table.
+ *
+ * @param <T> the type of the values
+ */
+final class IdTable<T> {
+
+	private volatile AtomicReferenceArray<T> entries = new AtomicReferenceArray<>(0);
+
+	/**
+	 * @param id the type id
+	 * @return the value, or null if none is stored
+	 */
+	T get(int id) {
+
+		AtomicReferenceArray<T> current = entries;
+		return id < current.length() ? current.get(id) : null;
+	}
+
+	/**
+	 * Gets the value stored for an id, storing a new one if there is none.
+	 *
+	 * @param id      the type id
+	 * @param factory creates the value, called while holding the write lock
+	 * @return the stored value
+	 */
+	synchronized T computeIfAbsent(int id, IntFunction<T> factory) {
+
+		AtomicReferenceArray<T> current = ensureCapacity(id);
+		T value = current.get(id);
+
+		if (value == null) {
+			value = factory.apply(id);
+			current.set(id, value);
+		}
+
+		return value;
+	}
+
+	/**
+	 * @param id    the type id
+	 * @param value the value to store, or null to remove it
+	 * @return the value stored before, or null
+	 */
+	synchronized T set(int id, T value) {
+
+		if (value == null && id >= entries.length()) {
+			return null;
+		}
+
+		return ensureCapacity(id).getAndSet(id, value);
+	}
+
+	/**
+	 * Removes the value of an id only if it is the given one.
+	 *
+	 * @param id       the type id
+	 * @param expected the value to remove
+	 * @return true if the value was removed
+	 */
+	synchronized boolean remove(int id, T expected) {
+
+		AtomicReferenceArray<T> current = entries;
+		return id < current.length() && current.compareAndSet(id, expected, null);
+	}
+
+	/**
+	 * Removes all values at once.
+	 *
+	 * @return the values that were stored, indexed by id, which no longer change
+	 */
+	synchronized AtomicReferenceArray<T> clear() {
+
+		AtomicReferenceArray<T> previous = entries;
+		entries = new AtomicReferenceArray<>(0);
+		return previous;
+	}
+
+	/**
+	 * @return one more than the highest id that can currently be stored without growing
+	 */
+	int capacity() {
+
+		return entries.length();
+	}
+
+	private AtomicReferenceArray<T> ensureCapacity(int id) {
+
+		AtomicReferenceArray<T> current = entries;
+
+		if (id < current.length()) {
+			return current;
+		}
+
+		AtomicReferenceArray<T> grown = new AtomicReferenceArray<>(Math.max(id + 1, Math.max(16, current.length() * 2)));
+		for (int i = 0; i < current.length(); i++) {
+			grown.set(i, current.get(i));
+		}
+
+		entries = grown;
+		return grown;
+	}
+
+}
@@ -0,0 +1,108 @@
+package net.tylerwade.ioc;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * A field or setter marked {@link net.tylerwade.ioc.annotation.Inject}, with the handle that sets it.
+ * <p>
+ * The handle is looked up once per member and adapted to {@code (Object, Object) void}, so injecting a new instance
+ * is a single exact invocation without any reflection.
+ */
+class InjectedMember {
+
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private final String name;
+	private final Class<?> type;
+	private final Class<?> lazyTarget;
+	private final MultiBinding multiBinding;
+	private final MethodHandle setter;
+
+	private InjectedMember(String name, Class<?> type, Class<?> lazyTarget, MultiBinding multiBinding, MethodHandle setter) {
+
+		this.name = name;
+		this.type = type;
+		this.lazyTarget = lazyTarget;
+		this.multiBinding = multiBinding;
+		this.setter = setter.asType(SETTER_TYPE);
+	}
+
+	/**
+	 * @param field      the field to inject
+	 * @param lazyTarget   the bean a lazy proxy creates on first use, or null to inject the field eagerly
+	 * @param multiBinding the beans to inject as a collection, or null to inject a single bean
+	 * @param lookup       a lookup with private access to the field's class
+	 * @return the member
+	 * @throws IllegalAccessException if the lookup cannot access the field
+	 */
+	static InjectedMember forField(Field field, Class<?> lazyTarget, MultiBinding multiBinding, MethodHandles.Lookup lookup) throws IllegalAccessException {
+
+		VarHandle handle = lookup.unreflectVarHandle(field);
+		return new InjectedMember(field.getName(), field.getType(), lazyTarget, multiBinding, handle.toMethodHandle(VarHandle.AccessMode.SET));
+	}
+
+	/**
+	 * @param method     the single-parameter method to call
+	 * @param lazyTarget   the bean a lazy proxy creates on first use, or null to inject the parameter eagerly
+	 * @param multiBinding the beans to inject as a collection, or null to inject a single bean
+	 * @param lookup       a lookup with private access to the method's class
+	 * @return the member
+	 * @throws IllegalAccessException if the lookup cannot access the method
+	 */
+	static InjectedMember forSetter(Method method, Class<?> lazyTarget, MultiBinding multiBinding, MethodHandles.Lookup lookup) throws IllegalAccessException {
+
+		MethodHandle handle = lookup.unreflect(method);
+		// Setters may return a value, for fluent APIs.
+		handle = handle.asType(handle.type().changeReturnType(void.class));
+		return new InjectedMember(method.getName(), method.getParameterTypes()[0], lazyTarget, multiBinding, handle);
+	}
+
+	/**
+	 * Sets the member on a bean.
+	 *
+	 * @param bean  the bean instance
+	 * @param value the dependency to inject
+	 */
+	void inject(Object bean, Object value) throws Throwable {
+
+		setter.invokeExact(bean, value);
+	}
+
+	/**
+	 * @return the name of the field or setter
+	 */
+	String getName() {
+
+		return name;
+	}
+
+	/**
+	 * @return the declared type of the dependency
+	 */
+	Class<?> getType() {
+
+		return type;
+	}
+
+	/**
+	 * @return the bean type a lazy proxy creates on first use, or null if the member is injected eagerly
+	 */
+	Class<?> getLazyTarget() {
+
+		return lazyTarget;
+	}
+
+	/**
+	 * @return the beans injected as a collection, or null if the member is a single bean
+	 */
+	MultiBinding getMultiBinding() {
+
+		return multiBinding;
+	}
+
+}
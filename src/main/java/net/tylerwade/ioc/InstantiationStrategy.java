@@ -0,0 +1,83 @@
+package net.tylerwade.ioc;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * How bean constructors are invoked once their dependencies are resolved.
+ * <p>
+ * The default can be set with the {@code net.tylerwade.ioc.instantiation} system property, and changed at runtime
+ * with {@link Beans#setInstantiationStrategy(InstantiationStrategy)}.
+ */
+@Slf4j
+public enum InstantiationStrategy {
+
+	/**
+	 * Invokes the constructor through a {@link java.lang.invoke.MethodHandle} adapted once per constructor to take
+	 * an argument array, held as a constant the JIT can inline. The handle is only spun once the constructor has been
+	 * called a few times, earlier calls and constructors not accessible to a public lookup use {@link #REFLECTION}.
+	 */
+	METHOD_HANDLE {
+		@Override
+		BeanInstantiator createInstantiator(Constructor<?> constructor) {
+
+			return new MethodHandleInstantiator(constructor);
+		}
+	},
+
+	/**
+	 * Invokes the constructor with {@link Constructor#newInstance(Object...)}.
+	 */
+	REFLECTION {
+		@Override
+		BeanInstantiator createInstantiator(Constructor<?> constructor) {
+
+			return args -> {
+				try {
+					return constructor.newInstance(args);
+				} catch (InvocationTargetException e) {
+					throw e.getCause();
+				}
+			};
+		}
+	};
+
+	static final String PROPERTY = "net.tylerwade.ioc.instantiation";
+
+	/**
+	 * Creates the instantiator for a constructor. This is done once per bean type and strategy.
+	 *
+	 * @param constructor the constructor to invoke
+	 * @return the instantiator
+	 */
+	abstract BeanInstantiator createInstantiator(Constructor<?> constructor);
+
+	/**
+	 * Reads the default strategy. An unknown name is logged and ignored, since it is read while the container's
+	 * classes are initialized and must not make every later injection fail.
+	 *
+	 * @return the strategy named by the {@code net.tylerwade.ioc.instantiation} system property, or
+	 * {@link #METHOD_HANDLE} if it is not set or names no strategy
+	 */
+	static InstantiationStrategy fromSystemProperty() {
+
+		String value = System.getProperty(PROPERTY);
+
+		if (value == null || value.isBlank()) {
+			return METHOD_HANDLE;
+		}
+
+		try {
+			return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+		} catch (IllegalArgumentException e) {
+			log.warn("Unknown instantiation strategy '{}' in -D{}, expected one of {}, using {}", value, PROPERTY,
+					Arrays.toString(values()), METHOD_HANDLE);
+			return METHOD_HANDLE;
+		}
+	}
+
+}
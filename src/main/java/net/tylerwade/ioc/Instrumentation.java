@@ -0,0 +1,199 @@
+package net.tylerwade.ioc;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters, Flight Recorder events and {@link BeanListener} callbacks for bean creation.
+ * <p>
+ * An inject hit costs one counter increment. Creations and waits also read the clock and emit a Flight Recorder
+ * event, which does nothing unless a recording has the event enabled.
+ * <p>
+ * Creations nest, a bean's dependencies are usually created while its own creation is in progress on the same thread.
+ * Each thread keeps the time spent in nested creations and waits of the creations it has in progress, so the time a
+ * bean took on its own can be told apart from the time taken by its dependencies.
+ */
+@Slf4j
+class Instrumentation {
+
+	private static final LongAdder injectHits = new LongAdder();
+	private static final LongAdder injectMisses = new LongAdder();
+	private static final LongAdder creations = new LongAdder();
+	private static final LongAdder failures = new LongAdder();
+	private static final LongAdder waits = new LongAdder();
+	private static final LongAdder creationNanos = new LongAdder();
+	private static final LongAdder waitNanos = new LongAdder();
+
+	private static final ThreadLocal<CreationStack> creationStacks = ThreadLocal.withInitial(CreationStack::new);
+
+	private static final List<BeanListener> listeners = new CopyOnWriteArrayList<>(loadListeners());
+
+	private static List<BeanListener> loadListeners() {
+
+		try {
+			return ServiceLoader.load(BeanListener.class, Instrumentation.class.getClassLoader()).stream()
+					.map(ServiceLoader.Provider::get)
+					.toList();
+		} catch (RuntimeException | ServiceConfigurationError e) {
+			log.warn("Failed to load bean listeners: {}", e.getMessage());
+			return List.of();
+		}
+	}
+
+	static void injectHit() {
+
+		injectHits.increment();
+	}
+
+	static void injectMiss() {
+
+		injectMisses.increment();
+	}
+
+	/**
+	 * Starts timing a bean creation.
+	 *
+	 * @return the Flight Recorder event to pass to {@link #created}
+	 */
+	static BeanCreationEvent creationStarted() {
+
+		creationStacks.get().push();
+
+		BeanCreationEvent event = new BeanCreationEvent();
+		event.begin();
+		return event;
+	}
+
+	static void created(BeanCreationEvent event, long startNanos, Class<?> beanType, int dependencyCount) {
+
+		long duration = System.nanoTime() - startNanos;
+		CreationStack stack = creationStacks.get();
+		long selfNanos = duration - stack.pop();
+		stack.addNested(duration);
+
+		creations.increment();
+		creationNanos.add(duration);
+
+		if (event.shouldCommit()) {
+			event.beanType = beanType;
+			event.dependencyCount = dependencyCount;
+			event.commit();
+		}
+
+		for (BeanListener listener : listeners) {
+			try {
+				listener.beanCreated(beanType, dependencyCount, duration, selfNanos);
+			} catch (RuntimeException e) {
+				log.warn("Bean listener {} failed: {}", listener.getClass().getName(), e.getMessage());
+			}
+		}
+	}
+
+	static void creationFailed(Class<?> beanType, Throwable cause) {
+
+		failures.increment();
+		creationStacks.get().pop();
+
+		for (BeanListener listener : listeners) {
+			try {
+				listener.beanCreationFailed(beanType, cause);
+			} catch (RuntimeException e) {
+				log.warn("Bean listener {} failed: {}", listener.getClass().getName(), e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Starts timing a wait for another thread's creation.
+	 *
+	 * @return the Flight Recorder event to pass to {@link #awaited}
+	 */
+	static BeanWaitEvent waitStarted() {
+
+		BeanWaitEvent event = new BeanWaitEvent();
+		event.begin();
+		return event;
+	}
+
+	static void awaited(BeanWaitEvent event, long startNanos, Class<?> beanType) {
+
+		long duration = System.nanoTime() - startNanos;
+
+		waits.increment();
+		waitNanos.add(duration);
+		creationStacks.get().addNested(duration);
+
+		if (event.shouldCommit()) {
+			event.beanType = beanType;
+			event.commit();
+		}
+
+		for (BeanListener listener : listeners) {
+			try {
+				listener.beanAwaited(beanType, duration);
+			} catch (RuntimeException e) {
+				log.warn("Bean listener {} failed: {}", listener.getClass().getName(), e.getMessage());
+			}
+		}
+	}
+
+	static void addListener(BeanListener listener) {
+
+		listeners.add(listener);
+	}
+
+	static void removeListener(BeanListener listener) {
+
+		listeners.remove(listener);
+	}
+
+	static BeanMetrics snapshot() {
+
+		return new BeanMetrics(injectHits.sum(), injectMisses.sum(), creations.sum(), failures.sum(), waits.sum(),
+				creationNanos.sum(), waitNanos.sum());
+	}
+
+	/**
+	 * The creations in progress on one thread, innermost last, with the time each has spent in nested creations and
+	 * waits so far.
+	 */
+	private static class CreationStack {
+
+		private long[] nestedNanos = new long[8];
+		private int depth;
+
+		private void push() {
+
+			if (depth == nestedNanos.length) {
+				nestedNanos = Arrays.copyOf(nestedNanos, depth * 2);
+			}
+
+			nestedNanos[depth++] = 0;
+		}
+
+		/**
+		 * @return the time the finished creation spent in nested creations and waits
+		 */
+		private long pop() {
+
+			return depth > 0 ? nestedNanos[--depth] : 0;
+		}
+
+		/**
+		 * Charges time to the nested work of the innermost creation in progress, if there is one.
+		 */
+		private void addNested(long nanos) {
+
+			if (depth > 0) {
+				nestedNanos[depth - 1] += nanos;
+			}
+		}
+	}
+
+}
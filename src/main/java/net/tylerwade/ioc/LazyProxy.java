@@ -0,0 +1,75 @@
+package net.tylerwade.ioc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Stands in for a lazy dependency, creating the real bean on the first method call and forwarding every call to it.
+ * {@code equals}, {@code hashCode} and {@code toString} are answered by the proxy itself with identity semantics, so
+ * logging the proxy or putting it in a collection does not create the bean.
+ * <p>
+ * The JDK generates one proxy class per interface and caches it. Once the bean is created, forwarding a call is a
+ * single volatile read, no lock is taken.
+ */
+class LazyProxy implements InvocationHandler {
+
+	private final Container container;
+	private final Class<?> targetType;
+	private volatile Object target;
+
+	private LazyProxy(Container container, Class<?> targetType) {
+
+		this.container = container;
+		this.targetType = targetType;
+	}
+
+	/**
+	 * Creates a proxy that creates the target bean on first use.
+	 *
+	 * @param container     the container to create the target bean in
+	 * @param interfaceType the interface the proxy implements
+	 * @param targetType    the class type of the bean to create, it must implement the interface
+	 * @return the proxy
+	 */
+	static Object create(Container container, Class<?> interfaceType, Class<?> targetType) {
+
+		return Proxy.newProxyInstance(interfaceType.getClassLoader(), new Class<?>[]{interfaceType}, new LazyProxy(container, targetType));
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+		if (method.getDeclaringClass() == Object.class) {
+			return invokeObjectMethod(proxy, method, args);
+		}
+
+		Object bean = target;
+
+		if (bean == null) {
+			// Racing first calls are safe, the container creates the bean at most once.
+			bean = container.inject(targetType);
+			target = bean;
+		}
+
+		try {
+			return method.invoke(bean, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Answers the methods the JDK routes from {@link Object} to the handler: equals, hashCode and toString.
+	 */
+	private Object invokeObjectMethod(Object proxy, Method method, Object[] args) {
+
+		return switch (method.getName()) {
+			case "equals" -> proxy == args[0];
+			case "hashCode" -> System.identityHashCode(proxy);
+			default -> "LazyProxy[" + targetType.getName() + "]";
+		};
+	}
+
+}
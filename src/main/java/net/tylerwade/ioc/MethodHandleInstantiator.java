@@ -0,0 +1,98 @@
+package net.tylerwade.ioc;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Invokes a constructor through reflection for its first few calls, then through a method handle adapted once to
+ * take an argument array.
+ * <p>
+ * Most beans are singletons whose constructor runs once, and spinning a method handle costs more than a single
+ * reflective call. Only constructors that keep being called, for beans that are removed and re-created, get one. The
+ * handle is stored in a hidden class of its own, see {@link ConstantHandleInstantiator}, so the JIT can inline it.
+ */
+@Slf4j
+class MethodHandleInstantiator implements BeanInstantiator {
+
+	static final int INFLATION_THRESHOLD = 16;
+
+	// The class file of the template, null if it cannot be read and handles are invoked without being constant.
+	private static final byte[] TEMPLATE = readTemplate();
+
+	private final Constructor<?> constructor;
+	private final BeanInstantiator reflection;
+	private final AtomicInteger invocations = new AtomicInteger();
+	private volatile BeanInstantiator handle;
+
+	MethodHandleInstantiator(Constructor<?> constructor) {
+
+		this.constructor = constructor;
+		this.reflection = InstantiationStrategy.REFLECTION.createInstantiator(constructor);
+	}
+
+	@Override
+	public Object newInstance(Object[] args) throws Throwable {
+
+		BeanInstantiator instantiator = handle;
+
+		if (instantiator == null) {
+			if (invocations.incrementAndGet() < INFLATION_THRESHOLD) {
+				return reflection.newInstance(args);
+			}
+
+			// Racing threads spin equivalent handles, so whichever is stored last is fine.
+			instantiator = spin();
+			handle = instantiator;
+		}
+
+		return instantiator.newInstance(args);
+	}
+
+	private BeanInstantiator spin() throws Throwable {
+
+		MethodHandle methodHandle;
+
+		try {
+			methodHandle = MethodHandles.publicLookup()
+					.unreflectConstructor(constructor)
+					.asSpreader(Object[].class, constructor.getParameterCount())
+					.asType(MethodType.methodType(Object.class, Object[].class));
+		} catch (IllegalAccessException e) {
+			return reflection;
+		}
+
+		if (TEMPLATE != null) {
+			MethodHandle factory = null;
+
+			try {
+				MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClassWithClassData(TEMPLATE, methodHandle, true);
+				factory = lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class));
+			} catch (IllegalAccessException | NoSuchMethodException | LinkageError e) {
+				log.debug("Failed to define a constant handle for {}, invoking it from a lambda", constructor, e);
+			}
+
+			if (factory != null) {
+				return (BeanInstantiator) factory.invoke();
+			}
+		}
+
+		return args -> (Object) methodHandle.invokeExact(args);
+	}
+
+	private static byte[] readTemplate() {
+
+		try (InputStream in = MethodHandleInstantiator.class.getResourceAsStream(ConstantHandleInstantiator.class.getSimpleName() + ".class")) {
+			return in != null ? in.readAllBytes() : null;
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,88 @@
+package net.tylerwade.ioc;
+
+import net.tylerwade.ioc.exception.InvalidBeanTypeException;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A dependency on every bean of an element type: a {@code List<T>} of all of them, or a {@code Map<String, T>} of all
+ * of them keyed by bean name.
+ * <p>
+ * The beans are the implementations of the element type in the type index of the container, see
+ * {@link Bindings#getImplementations(Class)}, so the element type must be an interface or abstract class.
+ *
+ * @param collectionType {@code List.class} or {@code Map.class}
+ * @param elementType    the interface or abstract class of the beans
+ */
+record MultiBinding(Class<?> collectionType, Class<?> elementType) {
+
+	/**
+	 * Reads the multi-binding of a dependency from its generic type.
+	 *
+	 * @param beanType    the class type of the bean that declares the dependency
+	 * @param type        the declared type of the dependency
+	 * @param genericType the generic type of the dependency
+	 * @return the multi-binding, or null if the dependency is not a {@code List} or {@code Map}
+	 * @throws InvalidBeanTypeException if the dependency is a {@code List} or {@code Map} that cannot be multi-bound
+	 */
+	static MultiBinding of(Class<?> beanType, Class<?> type, Type genericType) {
+
+		if (type != List.class && type != Map.class) {
+			return null;
+		}
+
+		if (!(genericType instanceof ParameterizedType parameterized)) {
+			throw new InvalidBeanTypeException(type, beanType, "multi-bound dependencies must declare their element type");
+		}
+
+		Type[] arguments = parameterized.getActualTypeArguments();
+
+		if (type == Map.class && arguments[0] != String.class) {
+			throw new InvalidBeanTypeException(type, beanType, "multi-bound maps must be keyed by String");
+		}
+
+		return forElement(beanType, type, arguments[arguments.length - 1]);
+	}
+
+	/**
+	 * Creates the multi-binding of a dependency whose element type is already known, as recorded by a
+	 * {@link GeneratedFactory}.
+	 *
+	 * @param beanType    the class type of the bean that declares the dependency
+	 * @param type        {@code List.class} or {@code Map.class}
+	 * @param elementType the element type of the dependency
+	 * @return the multi-binding
+	 * @throws InvalidBeanTypeException if the element type cannot be multi-bound
+	 */
+	static MultiBinding forElement(Class<?> beanType, Class<?> type, Type elementType) {
+
+		if (elementType instanceof WildcardType wildcard && wildcard.getLowerBounds().length == 0) {
+			elementType = wildcard.getUpperBounds()[0];
+		}
+
+		if (!(elementType instanceof Class<?> element) || !Bindings.isAbstract(element)) {
+			throw new InvalidBeanTypeException(type, beanType, "multi-bound element type " + elementType.getTypeName() + " must be an interface or abstract class");
+		}
+
+		try {
+			BeanFactory.validateBeanType(element);
+		} catch (InvalidBeanTypeException e) {
+			throw new InvalidBeanTypeException(element, beanType);
+		}
+
+		return new MultiBinding(type, element);
+	}
+
+	/**
+	 * @return true if the beans are injected as a map keyed by bean name
+	 */
+	boolean isMap() {
+
+		return collectionType == Map.class;
+	}
+
+}
@@ -0,0 +1,146 @@
+package net.tylerwade.ioc;
+
+import net.tylerwade.ioc.annotation.Component;
+import net.tylerwade.ioc.exception.DuplicateBeanNameException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The collections a container injects for {@link MultiBinding multi-bindings}, built once and shared by every bean
+ * that receives them.
+ * <p>
+ * A collection is built from the type index of the bindings, see {@link Bindings#getImplementations(Class)}, by
+ * injecting each implementation, the registry is never scanned. Built collections are dropped when a binding changes,
+ * since that can change the implementations, and when a bean of the container is removed, since a collection may
+ * hold it.
+ */
+class MultiBindings {
+
+	private final Container container;
+	private volatile Cache cache;
+
+	/**
+	 * @param container the container to get the beans from
+	 */
+	MultiBindings(Container container) {
+
+		this.container = container;
+		this.cache = new Cache(container.getBindings().version());
+	}
+
+	/**
+	 * Gets the collection for a multi-binding, building it on first use.
+	 *
+	 * @param multiBinding the multi-binding
+	 * @return an immutable {@code List}, or an immutable {@code Map} keyed by bean name, in registration order
+	 * @throws DuplicateBeanNameException if two beans of a map have the same name
+	 */
+	Object get(MultiBinding multiBinding) {
+
+		Cache current = currentCache();
+		Object collection = current.collections.get(multiBinding);
+
+		if (collection == null) {
+			// Not computeIfAbsent, building injects beans whose own collections may land in the same bin.
+			collection = build(multiBinding);
+			Object racing = current.collections.putIfAbsent(multiBinding, collection);
+			collection = racing != null ? racing : collection;
+		}
+
+		return collection;
+	}
+
+	/**
+	 * Drops every built collection.
+	 */
+	void clear() {
+
+		cache = new Cache(container.getBindings().version());
+	}
+
+	private Cache currentCache() {
+
+		Cache current = cache;
+		long version = container.getBindings().version();
+
+		if (current.bindingsVersion != version) {
+			current = new Cache(version);
+			cache = current;
+		}
+
+		return current;
+	}
+
+	private Object build(MultiBinding multiBinding) {
+
+		List<Class<?>> implementations = container.getBindings().getImplementations(multiBinding.elementType());
+
+		if (!multiBinding.isMap()) {
+			Object[] beans = new Object[implementations.size()];
+			for (int i = 0; i < beans.length; i++) {
+				beans[i] = container.inject(implementations.get(i));
+			}
+			return List.of(beans);
+		}
+
+		Map<String, Object> beans = new LinkedHashMap<>();
+		Map<String, Class<?>> types = new HashMap<>();
+
+		for (Class<?> implementation : implementations) {
+			String name = getBeanName(implementation);
+			Class<?> previous = types.putIfAbsent(name, implementation);
+
+			if (previous != null) {
+				throw new DuplicateBeanNameException(name, List.of(previous, implementation));
+			}
+
+			beans.put(name, container.inject(implementation));
+		}
+
+		return Collections.unmodifiableMap(beans);
+	}
+
+	/**
+	 * Gets the name of a bean: the value of its {@link Component} annotation, or else its simple class name starting
+	 * with a lower-case letter. Names that start with an acronym, such as {@code URLRoute}, keep their case.
+	 *
+	 * @param beanType the class type of the bean
+	 * @return the bean name
+	 */
+	static String getBeanName(Class<?> beanType) {
+
+		Component component = beanType.getAnnotation(Component.class);
+
+		if (component != null && !component.value().isEmpty()) {
+			return component.value();
+		}
+
+		String simpleName = beanType.getSimpleName();
+
+		if (simpleName.isEmpty() || (simpleName.length() > 1 && Character.isUpperCase(simpleName.charAt(1)) && Character.isUpperCase(simpleName.charAt(0)))) {
+			return simpleName.isEmpty() ? beanType.getName() : simpleName;
+		}
+
+		return Character.toLowerCase(simpleName.charAt(0)) + simpleName.substring(1);
+	}
+
+	/**
+	 * The collections built for one version of the bindings.
+	 */
+	private static class Cache {
+
+		private final long bindingsVersion;
+		private final Map<MultiBinding, Object> collections = new ConcurrentHashMap<>();
+
+		private Cache(long bindingsVersion) {
+
+			this.bindingsVersion = bindingsVersion;
+		}
+	}
+
+}
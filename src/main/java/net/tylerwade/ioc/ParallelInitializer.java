@@ -0,0 +1,75 @@
+package net.tylerwade.ioc;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Eagerly creates a dependency graph of beans, creating all beans of the same creation level concurrently.
+ * Startup then takes as long as the slowest chain of constructors rather than the sum of all of them.
+ */
+@Slf4j
+class ParallelInitializer {
+
+	/**
+	 * Creates the roots and all of their dependencies, level by level.
+	 *
+	 * @param container the container to create the beans in
+	 * @param executor  runs the bean creations of each level
+	 * @param roots     the class types of the beans to create
+	 * @return the creation levels the beans were created in, lowest first
+	 */
+	static List<List<Class<?>>> initialize(Container container, Executor executor, Class<?>... roots) {
+
+		List<List<Class<?>>> levels = container.getDependencyGraph().getCreationLevels(Arrays.asList(roots));
+
+		createLevels(container, executor, levels);
+		return levels;
+	}
+
+	/**
+	 * Creates the beans of each level concurrently, waiting for a level to finish before starting the next one.
+	 *
+	 * @param container the container to create the beans in
+	 * @param executor  runs the bean creations of each level
+	 * @param levels    the creation levels, lowest first
+	 */
+	static void createLevels(Container container, Executor executor, List<List<Class<?>>> levels) {
+
+		log.info("Initializing {} bean levels", levels.size());
+
+		for (List<Class<?>> level : levels) {
+			List<CompletableFuture<?>> creations = new ArrayList<>(level.size());
+
+			for (Class<?> beanType : level) {
+				if (container.exists(beanType)) {
+					continue;
+				}
+
+				creations.add(CompletableFuture.runAsync(() -> container.inject(beanType), executor));
+			}
+
+			await(creations);
+		}
+	}
+
+	private static void await(List<CompletableFuture<?>> creations) {
+
+		try {
+			CompletableFuture.allOf(creations.toArray(CompletableFuture[]::new)).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			} else if (e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+}
@@ -0,0 +1,38 @@
+package net.tylerwade.ioc;
+
+import net.tylerwade.ioc.exception.InvalidBeanTypeException;
+
+/**
+ * Hands the dependencies declared with a factory binding to its factory, see
+ * {@link Container#bind(Class, java.util.function.Function, Class[])}. Dependencies are injected from the container
+ * like any other bean, no reflection is involved.
+ */
+public final class Resolver {
+
+	private final Container container;
+	private final FactoryBinding binding;
+
+	Resolver(Container container, FactoryBinding binding) {
+
+		this.container = container;
+		this.binding = binding;
+	}
+
+	/**
+	 * Gets a dependency of the bean being created.
+	 *
+	 * @param type the class type of the dependency, as declared with the binding
+	 * @param <T>  the type of the dependency
+	 * @return the dependency instance
+	 * @throws InvalidBeanTypeException if the type was not declared as a dependency of the binding
+	 */
+	public <T> T get(Class<T> type) {
+
+		if (!binding.getDependencies().contains(type)) {
+			throw new InvalidBeanTypeException(type, binding.getType(), "not declared as a dependency of the factory binding");
+		}
+
+		return type.cast(container.inject(type));
+	}
+
+}
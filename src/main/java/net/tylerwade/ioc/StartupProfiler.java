@@ -0,0 +1,103 @@
+package net.tylerwade.ioc;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Records the creation time of every bean created by a container while it runs, for a {@link StartupReport}.
+ * <p>
+ * The profiler is a {@link BeanListener}, it sees the creations of all containers but only reports the beans whose
+ * creation the given container recorded. The dependency edges come from the container itself, nothing is resolved
+ * again.
+ *
+ * <pre>{@code
+ * StartupProfiler profiler = StartupProfiler.start(Beans.getContainer());
+ * Beans.initialize(Application.class);
+ * StartupReport report = profiler.stop();
+ * Files.writeString(Path.of("startup.dot"), report.toDot());
+ * }</pre>
+ */
+public final class StartupProfiler implements BeanListener {
+
+	private final Container container;
+	private final Map<Class<?>, long[]> timings = new LinkedHashMap<>();
+
+	private StartupProfiler(Container container) {
+
+		this.container = container;
+	}
+
+	/**
+	 * Starts recording bean creations.
+	 *
+	 * @param container the container whose beans are reported
+	 * @return the running profiler
+	 */
+	public static StartupProfiler start(Container container) {
+
+		Objects.requireNonNull(container, "container must not be null");
+
+		StartupProfiler profiler = new StartupProfiler(container);
+		Instrumentation.addListener(profiler);
+		return profiler;
+	}
+
+	@Override
+	public void beanCreated(Class<?> beanType, int dependencyCount, long durationNanos, long selfNanos) {
+
+		synchronized (timings) {
+			// A bean created again moves to the end, so the timings stay in the order the beans were last created.
+			timings.remove(beanType);
+			timings.put(beanType, new long[]{selfNanos, durationNanos});
+		}
+	}
+
+	/**
+	 * Stops recording and reports the beans created since the profiler was started.
+	 *
+	 * @return the report, with the beans in the order their creation finished
+	 */
+	public StartupReport stop() {
+
+		Instrumentation.removeListener(this);
+
+		Map<Class<?>, long[]> recorded;
+		synchronized (timings) {
+			recorded = new LinkedHashMap<>(timings);
+		}
+
+		// Only beans this container still records are reported, those of other containers or removed since are not.
+		DependentIndex dependents = container.getDependents();
+		Map<Class<?>, int[]> reported = new LinkedHashMap<>();
+
+		for (Class<?> beanType : recorded.keySet()) {
+			int[] ids = dependents.getDependencies(TypeIds.of(beanType));
+
+			if (ids != null) {
+				reported.put(beanType, ids);
+			}
+		}
+
+		List<BeanTiming> beans = new ArrayList<>(reported.size());
+
+		reported.forEach((beanType, ids) -> {
+			List<Class<?>> dependencies = new ArrayList<>(ids.length);
+			for (int id : ids) {
+				Class<?> dependency = TypeIds.type(id);
+
+				if (dependency != null && reported.containsKey(dependency)) {
+					dependencies.add(dependency);
+				}
+			}
+
+			long[] timing = recorded.get(beanType);
+			beans.add(new BeanTiming(beanType, timing[0], timing[1], List.copyOf(dependencies)));
+		});
+
+		return new StartupReport(beans);
+	}
+
+}
@@ -0,0 +1,224 @@
+package net.tylerwade.ioc;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The creation times of the beans recorded by a {@link StartupProfiler}, with the dependency graph between them.
+ * <p>
+ * The critical path is the chain of beans, each one a dependency of the next, whose own creation times add up to the
+ * most. Startup cannot finish faster than this chain even if every other bean is created in parallel, so its beans
+ * are the ones worth making faster, lazy or independent of each other.
+ */
+public final class StartupReport {
+
+	private final List<BeanTiming> beans;
+	private final List<Class<?>> criticalPath;
+	private final long criticalPathNanos;
+
+	/**
+	 * @param beans the bean timings, in the order their creation finished
+	 */
+	StartupReport(List<BeanTiming> beans) {
+
+		this.beans = List.copyOf(beans);
+
+		Map<Class<?>, BeanTiming> byType = new HashMap<>();
+		for (BeanTiming bean : beans) {
+			byType.put(bean.beanType(), bean);
+		}
+
+		// The longest chain ending in each bean and the dependency it continues, computed dependencies first.
+		Map<Class<?>, Long> chainNanos = new HashMap<>();
+		Map<Class<?>, Class<?>> previous = new HashMap<>();
+		Set<Class<?>> visiting = new HashSet<>();
+		Class<?> last = null;
+
+		for (BeanTiming bean : beans) {
+			Deque<BeanTiming> stack = new ArrayDeque<>();
+			Deque<Iterator<Class<?>>> pending = new ArrayDeque<>();
+			stack.push(bean);
+			pending.push(bean.dependencies().iterator());
+
+			while (!stack.isEmpty()) {
+				BeanTiming current = stack.peek();
+				visiting.add(current.beanType());
+
+				if (chainNanos.containsKey(current.beanType())) {
+					stack.pop();
+					pending.pop();
+					continue;
+				}
+
+				Iterator<Class<?>> dependencies = pending.peek();
+
+				if (dependencies.hasNext()) {
+					Class<?> dependency = dependencies.next();
+
+					if (!chainNanos.containsKey(dependency) && !visiting.contains(dependency)) {
+						stack.push(byType.get(dependency));
+						pending.push(byType.get(dependency).dependencies().iterator());
+					}
+					continue;
+				}
+
+				Class<?> longestDependency = null;
+				long longest = 0;
+
+				for (Class<?> dependency : current.dependencies()) {
+					long nanos = chainNanos.getOrDefault(dependency, 0L);
+
+					if (longestDependency == null || nanos > longest) {
+						longestDependency = dependency;
+						longest = nanos;
+					}
+				}
+
+				if (longestDependency != null) {
+					previous.put(current.beanType(), longestDependency);
+				}
+
+				chainNanos.put(current.beanType(), longest + current.selfNanos());
+				visiting.remove(current.beanType());
+				stack.pop();
+				pending.pop();
+
+				if (last == null || chainNanos.get(current.beanType()) > chainNanos.get(last)) {
+					last = current.beanType();
+				}
+			}
+		}
+
+		List<Class<?>> path = new ArrayList<>();
+		for (Class<?> type = last; type != null; type = previous.get(type)) {
+			path.add(type);
+		}
+		Collections.reverse(path);
+
+		this.criticalPath = List.copyOf(path);
+		this.criticalPathNanos = last != null ? chainNanos.get(last) : 0;
+	}
+
+	/**
+	 * @return the timing of every reported bean, in the order their creation finished
+	 */
+	public List<BeanTiming> getBeans() {
+
+		return beans;
+	}
+
+	/**
+	 * @return the beans on the critical path, each one a dependency of the next, empty if no bean was reported
+	 */
+	public List<Class<?>> getCriticalPath() {
+
+		return criticalPath;
+	}
+
+	/**
+	 * @return the sum of the own creation times of the beans on the critical path
+	 */
+	public long getCriticalPathNanos() {
+
+		return criticalPathNanos;
+	}
+
+	/**
+	 * Exports the dependency graph in the Graphviz DOT format. Each bean points to its dependencies and is labelled
+	 * with its own and its inclusive creation time, the critical path is drawn in red.
+	 *
+	 * @return the DOT graph
+	 */
+	public String toDot() {
+
+		Set<Class<?>> critical = new HashSet<>(criticalPath);
+		StringBuilder dot = new StringBuilder("digraph beans {\n\tnode [shape=box];\n");
+
+		for (BeanTiming bean : beans) {
+			dot.append('\t').append(quote(bean.beanType().getName()))
+					.append(" [label=\"").append(escape(bean.beanType().getSimpleName()))
+					.append("\\nself ").append(millis(bean.selfNanos()))
+					.append("\\ntotal ").append(millis(bean.inclusiveNanos())).append('"')
+					.append(critical.contains(bean.beanType()) ? ", color=red" : "")
+					.append("];\n");
+		}
+
+		for (BeanTiming bean : beans) {
+			for (Class<?> dependency : bean.dependencies()) {
+				int index = criticalPath.indexOf(bean.beanType());
+				boolean onPath = index > 0 && criticalPath.get(index - 1) == dependency;
+
+				dot.append('\t').append(quote(bean.beanType().getName())).append(" -> ").append(quote(dependency.getName()))
+						.append(onPath ? " [color=red];\n" : ";\n");
+			}
+		}
+
+		return dot.append("}\n").toString();
+	}
+
+	/**
+	 * Exports the report as JSON: the critical path with its total time, and every bean with its own time, its
+	 * inclusive time and its dependencies. Times are in nanoseconds.
+	 *
+	 * @return the JSON document
+	 */
+	public String toJson() {
+
+		StringBuilder json = new StringBuilder("{\n");
+		json.append("  \"criticalPathNanos\": ").append(criticalPathNanos).append(",\n");
+		json.append("  \"criticalPath\": ").append(names(criticalPath)).append(",\n");
+		json.append("  \"beans\": [");
+
+		for (int i = 0; i < beans.size(); i++) {
+			BeanTiming bean = beans.get(i);
+
+			json.append(i == 0 ? "\n" : ",\n")
+					.append("    {\"type\": ").append(quote(bean.beanType().getName()))
+					.append(", \"selfNanos\": ").append(bean.selfNanos())
+					.append(", \"inclusiveNanos\": ").append(bean.inclusiveNanos())
+					.append(", \"dependencies\": ").append(names(bean.dependencies()))
+					.append('}');
+		}
+
+		return json.append(beans.isEmpty() ? "]\n}\n" : "\n  ]\n}\n").toString();
+	}
+
+	private static String names(List<Class<?>> types) {
+
+		StringBuilder names = new StringBuilder("[");
+
+		for (int i = 0; i < types.size(); i++) {
+			names.append(i == 0 ? "" : ", ").append(quote(types.get(i).getName()));
+		}
+
+		return names.append(']').toString();
+	}
+
+	private static String millis(long nanos) {
+
+		return String.format(Locale.ROOT, "%.3f ms", nanos / 1_000_000.0);
+	}
+
+	/**
+	 * @return the text as a quoted string, valid in both DOT and JSON
+	 */
+	private static String quote(String text) {
+
+		return '"' + escape(text) + '"';
+	}
+
+	private static String escape(String text) {
+
+		return text.replace("\\", "\\\\").replace("\"", "\\\"");
+	}
+
+}
@@ -0,0 +1,143 @@
+package net.tylerwade.ioc;
+
+import lombok.extern.slf4j.Slf4j;
+import net.tylerwade.ioc.exception.BeanDestructionException;
+
+import java.lang.invoke.MethodHandle;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Destroys the beans of a container in reverse dependency order: a bean is destroyed once every bean that depends on
+ * it has been destroyed, and beans that do not depend on each other are destroyed concurrently. Shutdown then takes
+ * as long as the slowest chain of destroy methods rather than the sum of all of them.
+ * <p>
+ * Each bean gets its own timeout. A bean that does not finish in time is logged and its dependencies are destroyed
+ * anyway, a failing bean does not stop the teardown either.
+ */
+@Slf4j
+class Teardown {
+
+	private final Object[] beans;
+	private final Bindings bindings;
+	private final Executor executor;
+	private final Duration timeout;
+	private final Queue<BeanDestructionException> failures = new ConcurrentLinkedQueue<>();
+
+	private Teardown(Object[] beans, Bindings bindings, Executor executor, Duration timeout) {
+
+		this.beans = beans;
+		this.bindings = bindings;
+		this.executor = executor;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Destroys the given beans and waits until all of them are destroyed or have timed out.
+	 *
+	 * @param beans      the beans to destroy, indexed by type id, null where there is no bean
+	 * @param dependents the dependency edges the beans were created with
+	 * @param bindings   tells which beans were created by a factory
+	 * @param executor   runs the destroy methods
+	 * @param timeout    how long a single bean may take to be destroyed
+	 * @throws BeanDestructionException the first failure, with any others suppressed
+	 */
+	static void destroy(Object[] beans, DependentIndex dependents, Bindings bindings, Executor executor, Duration timeout) {
+
+		Teardown teardown = new Teardown(beans, bindings, executor, timeout);
+		int[] ids = IntStream.range(0, beans.length).filter(teardown::exists).toArray();
+
+		log.info("Destroying {} beans", ids.length);
+
+		// Every bean comes after the beans that depend on it, so their destructions are scheduled first.
+		CompletableFuture<?>[] destructions = new CompletableFuture<?>[beans.length];
+		List<CompletableFuture<?>> all = new ArrayList<>(ids.length);
+
+		for (int id : dependents.dependentsFirst(ids, teardown::exists)) {
+			List<CompletableFuture<?>> before = new ArrayList<>();
+			for (int dependent : dependents.getDependents(id)) {
+				if (teardown.exists(dependent)) {
+					before.add(destructions[dependent]);
+				}
+			}
+
+			destructions[id] = teardown.schedule(id, before);
+			all.add(destructions[id]);
+		}
+
+		CompletableFuture.allOf(all.toArray(CompletableFuture[]::new)).join();
+
+		BeanDestructionException failure = teardown.failures.poll();
+		if (failure != null) {
+			teardown.failures.forEach(failure::addSuppressed);
+			throw failure;
+		}
+	}
+
+	/**
+	 * Destroys a single bean on the calling thread, for beans that are not tracked in a registry. Failures are logged,
+	 * not thrown.
+	 *
+	 * @param beanType the class type the bean was created for
+	 * @param bean     the bean to destroy
+	 * @param bindings tells if the bean was created by a factory
+	 */
+	static void destroy(Class<?> beanType, Object bean, Bindings bindings) {
+
+		new Teardown(new Object[0], bindings, Runnable::run, Duration.ZERO).destroyBean(beanType, bean);
+	}
+
+	/**
+	 * @return the future of the bean's destruction, which starts once the given destructions have completed
+	 */
+	private CompletableFuture<Void> schedule(int id, List<CompletableFuture<?>> before) {
+
+		Class<?> beanType = TypeIds.type(id);
+
+		return CompletableFuture.allOf(before.toArray(CompletableFuture[]::new))
+				.thenCompose(ignored -> CompletableFuture.runAsync(() -> destroyBean(beanType, beans[id]), executor)
+						.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+						.exceptionally(e -> {
+							log.warn("Bean for {} was not destroyed within {} ms, continuing", beanType.getName(), timeout.toMillis());
+							return null;
+						}));
+	}
+
+	private boolean exists(int id) {
+
+		return id < beans.length && beans[id] != null;
+	}
+
+	private void destroyBean(Class<?> beanType, Object bean) {
+
+		List<MethodHandle> destroyMethods;
+
+		try {
+			FactoryBinding binding = bindings.getFactory(beanType);
+			destroyMethods = binding != null ? binding.getDestroyMethods(bean) : BeanDefinition.of(beanType).getDestroyMethods();
+		} catch (RuntimeException e) {
+			log.error("Failed to destroy bean for {}. Reason: {}", beanType.getName(), e.getMessage());
+			failures.add(new BeanDestructionException(beanType, e));
+			return;
+		}
+
+		for (MethodHandle destroyMethod : destroyMethods) {
+			try {
+				destroyMethod.invokeExact(bean);
+			} catch (Throwable e) {
+				log.error("Failed to destroy bean for {}. Reason: {}", beanType.getName(), e.getMessage());
+				failures.add(new BeanDestructionException(beanType, e));
+			}
+		}
+
+		log.debug("Bean for {} destroyed", beanType.getName());
+	}
+
+}
@@ -0,0 +1,70 @@
+package net.tylerwade.ioc;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Assigns every bean type a dense int id, so registries and graphs can be plain arrays indexed by id instead of hash
+ * maps keyed by {@link Class}.
+ * <p>
+ * Ids are shared by all containers, assigned on first use and never reused. The id of a type is cached in a
+ * {@link ClassValue}, so looking it up again takes no lock. Types are only referenced weakly, an id does not keep
+ * its class loader alive.
+ */
+final class TypeIds {
+
+	private static final Object lock = new Object();
+
+	private static final IdTable<WeakReference<Class<?>>> types = new IdTable<>();
+	private static volatile int count;
+
+	private static final ClassValue<Integer> ids = new ClassValue<>() {
+		@Override
+		protected Integer computeValue(Class<?> type) {
+
+			// Racing threads may both assign an id, only one is kept and the other stays unused.
+			return assign(type);
+		}
+	};
+
+	private TypeIds() {
+
+	}
+
+	/**
+	 * @param type the class type
+	 * @return the id of the type, assigned now if it has none yet
+	 */
+	static int of(Class<?> type) {
+
+		return ids.get(type);
+	}
+
+	/**
+	 * @param id an id returned by {@link #of(Class)}
+	 * @return the type with the id, or null if it has been unloaded
+	 */
+	static Class<?> type(int id) {
+
+		WeakReference<Class<?>> type = types.get(id);
+		return type != null ? type.get() : null;
+	}
+
+	/**
+	 * @return one more than the highest id assigned so far
+	 */
+	static int count() {
+
+		return count;
+	}
+
+	private static Integer assign(Class<?> type) {
+
+		synchronized (lock) {
+			int id = count;
+			types.set(id, new WeakReference<>(type));
+			count = id + 1;
+			return id;
+		}
+	}
+
+}
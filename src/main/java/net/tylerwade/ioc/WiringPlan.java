@@ -0,0 +1,491 @@
+package net.tylerwade.ioc;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
+
+/**
+ * Resolved wiring of a bean graph, saved to a file so the next start can skip resolving it.
+ * <p>
+ * The plan holds the creation levels of the graph and, for each bean, its constructor parameters, injected member
+ * types, lazy targets, the implementations its interface parameters and injected members resolved to, the
+ * implementations injected for its multi-bindings, the dependencies declared by its factory binding if it has one, and
+ * a fingerprint of the class files of the bean, its superclasses, where inherited members and destroy methods are
+ * declared, its parameter types and its member types. A plan is only used if it was recorded for the same roots, every
+ * fingerprint still matches, every interface still resolves to the same implementation, every multi-binding still has
+ * the same implementations and the same beans are bound to factories with the same dependencies. Beans are then
+ * created in plan order with the recorded constructors, without constructor selection, validation or cycle checks.
+ * Otherwise the graph is resolved in full and the plan is recorded again.
+ * <p>
+ * The file is binary: a magic number and version, the root names, then every level as a count followed by its beans.
+ */
+@Slf4j
+class WiringPlan {
+
+	private static final int MAGIC = 0x494F4350;
+	private static final int VERSION = 5;
+	private static final long UNKNOWN_FINGERPRINT = -1;
+
+	private final List<String> roots;
+	private final List<List<Entry>> levels;
+
+	private WiringPlan(List<String> roots, List<List<Entry>> levels) {
+
+		this.roots = roots;
+		this.levels = levels;
+	}
+
+	/**
+	 * Creates the roots and all of their dependencies from the plan file if it is current, otherwise resolves them
+	 * and records a new plan.
+	 *
+	 * @param container the container to create the beans in
+	 * @param executor  runs the bean creations of each level
+	 * @param file      the plan file, which does not need to exist
+	 * @param roots     the class types of the beans to create
+	 */
+	static void initialize(Container container, Executor executor, Path file, Class<?>... roots) {
+
+		WiringPlan plan = read(file);
+		ClassLoader classLoader = roots.length > 0 && roots[0].getClassLoader() != null
+				? roots[0].getClassLoader()
+				: WiringPlan.class.getClassLoader();
+
+		List<List<Class<?>>> levels = plan != null && plan.roots.equals(names(Arrays.asList(roots)))
+				? plan.apply(container, classLoader)
+				: null;
+
+		if (levels != null) {
+			log.info("Initializing from wiring plan {}", file);
+
+			try {
+				ParallelInitializer.createLevels(container, executor, levels);
+			} finally {
+				BeanDefinition.clearPlanned();
+			}
+			return;
+		}
+
+		log.info("Wiring plan {} is missing or out of date, resolving the bean graph", file);
+
+		levels = ParallelInitializer.initialize(container, executor, roots);
+		write(file, record(container, roots, levels));
+	}
+
+	/**
+	 * Records the plan of a bean graph that has been resolved.
+	 *
+	 * @param container the container the graph was resolved in
+	 * @param roots     the class types the graph was resolved from
+	 * @param levels    the creation levels of the graph
+	 * @return the plan
+	 */
+	static WiringPlan record(Container container, Class<?>[] roots, List<List<Class<?>>> levels) {
+
+		Map<Class<?>, Long> fingerprints = new HashMap<>();
+		List<List<Entry>> entries = new ArrayList<>(levels.size());
+
+		for (List<Class<?>> level : levels) {
+			List<Entry> levelEntries = new ArrayList<>(level.size());
+
+			for (Class<?> beanType : level) {
+				FactoryBinding binding = container.getBindings().getFactory(beanType);
+
+				if (binding != null) {
+					levelEntries.add(new Entry(beanType.getName(), true, fingerprint(beanType, List.of(), fingerprints), List.of(),
+							List.of(), List.of(), List.of(), List.of(), List.of(), names(binding.getDependencies())));
+					continue;
+				}
+
+				BeanDefinition definition = BeanDefinition.of(beanType);
+				List<Class<?>> parameterTypes = definition.getParameterTypes();
+				List<String> lazyTargets = new ArrayList<>(parameterTypes.size());
+				List<String> implementations = new ArrayList<>(parameterTypes.size());
+
+				for (int i = 0; i < parameterTypes.size(); i++) {
+					Class<?> lazyTarget = definition.getLazyTarget(i);
+					lazyTargets.add(lazyTarget != null ? lazyTarget.getName() : "");
+					implementations.add(getImplementation(container.getBindings(), parameterTypes.get(i), lazyTarget));
+				}
+
+				List<Class<?>> memberTypes = new ArrayList<>(definition.getMembers().size());
+				List<String> memberImplementations = new ArrayList<>();
+
+				for (InjectedMember member : definition.getMembers()) {
+					memberTypes.add(member.getType());
+					String implementation = getImplementation(container.getBindings(), member.getType(), member.getLazyTarget());
+
+					if (!implementation.isEmpty()) {
+						memberImplementations.add(member.getType().getName() + "=" + implementation);
+					}
+				}
+
+				List<String> multiBindings = new ArrayList<>();
+
+				for (MultiBinding multiBinding : definition.getMultiBindings()) {
+					multiBindings.add(getImplementations(container.getBindings(), multiBinding.elementType()));
+				}
+
+				levelEntries.add(new Entry(beanType.getName(), definition.getConstructor() == null,
+						fingerprint(beanType, concat(parameterTypes, memberTypes), fingerprints), names(parameterTypes),
+						names(memberTypes), lazyTargets, implementations, memberImplementations, multiBindings, null));
+			}
+
+			entries.add(levelEntries);
+		}
+
+		return new WiringPlan(names(Arrays.asList(roots)), entries);
+	}
+
+	/**
+	 * Loads the classes of the plan, checks their fingerprints and supplies the recorded definitions.
+	 *
+	 * @param container   the container the beans will be created in
+	 * @param classLoader the class loader to load the bean types with
+	 * @return the creation levels, or null if a class is missing or has changed since the plan was recorded
+	 */
+	private List<List<Class<?>>> apply(Container container, ClassLoader classLoader) {
+
+		Map<Class<?>, Long> fingerprints = new HashMap<>();
+		Map<Class<?>, Constructor<?>> constructors = new HashMap<>();
+		Map<Class<?>, List<Class<?>>> lazyTargets = new HashMap<>();
+		List<List<Class<?>>> result = new ArrayList<>(levels.size());
+
+		try {
+			for (List<Entry> level : levels) {
+				List<Class<?>> types = new ArrayList<>(level.size());
+
+				for (Entry entry : level) {
+					Class<?> beanType = Class.forName(entry.type(), false, classLoader);
+					FactoryBinding factoryBinding = container.getBindings().getFactory(beanType);
+
+					if (factoryBinding == null ? entry.factoryDependencies() != null
+							: !names(factoryBinding.getDependencies()).equals(entry.factoryDependencies())) {
+						log.debug("Factory binding of {} changed since the wiring plan was recorded", entry.type());
+						return null;
+					}
+
+					for (String multiBinding : entry.multiBindings()) {
+						Class<?> elementType = Class.forName(multiBinding.substring(0, multiBinding.indexOf('=')), false, classLoader);
+
+						if (!getImplementations(container.getBindings(), elementType).equals(multiBinding)) {
+							log.debug("Implementations of {} changed since the wiring plan was recorded", elementType.getName());
+							return null;
+						}
+					}
+					List<Class<?>> parameterTypes = new ArrayList<>(entry.parameterTypes().size());
+					List<Class<?>> targets = new ArrayList<>(entry.parameterTypes().size());
+
+					for (int i = 0; i < entry.parameterTypes().size(); i++) {
+						Class<?> parameterType = Class.forName(entry.parameterTypes().get(i), false, classLoader);
+						String lazyTarget = entry.lazyTargets().get(i);
+						Class<?> target = lazyTarget.isEmpty() ? null : Class.forName(lazyTarget, false, classLoader);
+
+						if (!getImplementation(container.getBindings(), parameterType, target).equals(entry.implementations().get(i))) {
+							log.debug("Binding of {} changed since the wiring plan was recorded", parameterType.getName());
+							return null;
+						}
+
+						parameterTypes.add(parameterType);
+						targets.add(target);
+					}
+
+					List<Class<?>> memberTypes = new ArrayList<>(entry.memberTypes().size());
+
+					for (String memberType : entry.memberTypes()) {
+						memberTypes.add(Class.forName(memberType, false, classLoader));
+					}
+
+					for (String binding : entry.memberImplementations()) {
+						int separator = binding.indexOf('=');
+						Class<?> memberType = Class.forName(binding.substring(0, separator), false, classLoader);
+
+						if (!getImplementation(container.getBindings(), memberType, null).equals(binding.substring(separator + 1))) {
+							log.debug("Binding of {} changed since the wiring plan was recorded", memberType.getName());
+							return null;
+						}
+					}
+
+					long fingerprint = fingerprint(beanType, concat(parameterTypes, memberTypes), fingerprints);
+					if (fingerprint == UNKNOWN_FINGERPRINT || fingerprint != entry.fingerprint()) {
+						log.debug("Class {} changed since the wiring plan was recorded", entry.type());
+						return null;
+					}
+
+					if (!entry.generated() && factoryBinding == null) {
+						constructors.put(beanType, beanType.getConstructor(parameterTypes.toArray(Class<?>[]::new)));
+						lazyTargets.put(beanType, targets);
+					}
+
+					types.add(beanType);
+				}
+
+				result.add(types);
+			}
+
+			// Beans with a generated factory are resolved as usual, their factory already avoids reflection.
+			constructors.forEach((beanType, constructor) -> BeanDefinition.plan(beanType, constructor, lazyTargets.get(beanType)));
+		} catch (ClassNotFoundException | NoSuchMethodException | LinkageError e) {
+			log.debug("Wiring plan no longer matches the classpath: {}", e.getMessage());
+			BeanDefinition.clearPlanned();
+			return null;
+		} catch (RuntimeException e) {
+			// An invalid injected member or destroy method, reported by the full resolution instead.
+			log.debug("Wiring plan no longer matches the bean definitions: {}", e.getMessage());
+			BeanDefinition.clearPlanned();
+			return null;
+		}
+
+		// Every edge of the graph, constructor and member alike, is covered by a fingerprint checked above.
+		container.getDependencyGraph().markAcyclic(result.stream().flatMap(List::stream).toList());
+
+		return result;
+	}
+
+	/**
+	 * @return the implementation an eager interface or abstract parameter resolves to, empty for any other parameter
+	 */
+	private static String getImplementation(Bindings bindings, Class<?> parameterType, Class<?> lazyTarget) {
+
+		return lazyTarget == null && Bindings.isAbstract(parameterType) ? bindings.lookup(parameterType).getName() : "";
+	}
+
+	/**
+	 * @return the element type of a multi-binding and the implementations injected for it, as
+	 * {@code type=implementation,implementation}
+	 */
+	private static String getImplementations(Bindings bindings, Class<?> elementType) {
+
+		return elementType.getName() + "=" + String.join(",", names(bindings.getImplementations(elementType)));
+	}
+
+	/**
+	 * Computes the fingerprint of a bean: a checksum of its class file, the class files of its superclasses and those
+	 * of its dependency types.
+	 *
+	 * @param beanType        the class type of the bean
+	 * @param dependencyTypes the constructor parameter and injected member types of the bean
+	 * @param cache           checksums already computed during this pass
+	 * @return the fingerprint, or {@value #UNKNOWN_FINGERPRINT} if a class file could not be read
+	 */
+	private static long fingerprint(Class<?> beanType, List<Class<?>> dependencyTypes, Map<Class<?>, Long> cache) {
+
+		CRC32 crc = new CRC32();
+		List<Class<?>> types = new ArrayList<>();
+
+		for (Class<?> type = beanType; type != null && type != Object.class; type = type.getSuperclass()) {
+			types.add(type);
+		}
+		types.addAll(dependencyTypes);
+
+		for (Class<?> type : types) {
+			long checksum = cache.computeIfAbsent(type, WiringPlan::checksum);
+
+			if (checksum == UNKNOWN_FINGERPRINT) {
+				return UNKNOWN_FINGERPRINT;
+			}
+
+			for (int shift = 24; shift >= 0; shift -= 8) {
+				crc.update((int) (checksum >>> shift));
+			}
+		}
+
+		return crc.getValue();
+	}
+
+	private static List<Class<?>> concat(List<Class<?>> first, List<Class<?>> second) {
+
+		List<Class<?>> types = new ArrayList<>(first.size() + second.size());
+		types.addAll(first);
+		types.addAll(second);
+		return types;
+	}
+
+	private static long checksum(Class<?> type) {
+
+		String packageName = type.getPackageName();
+		String resource = (packageName.isEmpty() ? type.getName() : type.getName().substring(packageName.length() + 1)) + ".class";
+
+		try (InputStream in = type.getResourceAsStream(resource)) {
+			if (in == null) {
+				return UNKNOWN_FINGERPRINT;
+			}
+
+			CRC32 crc = new CRC32();
+			crc.update(in.readAllBytes());
+			return crc.getValue();
+		} catch (IOException e) {
+			return UNKNOWN_FINGERPRINT;
+		}
+	}
+
+	private static List<String> names(List<Class<?>> types) {
+
+		return types.stream().map(Class::getName).toList();
+	}
+
+	/**
+	 * Reads a plan file.
+	 *
+	 * @param file the plan file
+	 * @return the plan, or null if the file does not exist or cannot be read
+	 */
+	static WiringPlan read(Path file) {
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readUnsignedShort() != VERSION) {
+				log.warn("Ignoring wiring plan {}, it was not written by this version", file);
+				return null;
+			}
+
+			List<String> roots = readNames(in);
+			List<List<Entry>> levels = new ArrayList<>();
+
+			for (int level = in.readInt(); level > 0; level--) {
+				List<Entry> entries = new ArrayList<>();
+
+				for (int entry = in.readInt(); entry > 0; entry--) {
+					String type = in.readUTF();
+					boolean generated = in.readBoolean();
+					long fingerprint = in.readLong();
+					List<String> parameterTypes = readNames(in);
+					List<String> memberTypes = readNames(in);
+					List<String> lazyTargets = readNames(in);
+					List<String> implementations = readNames(in);
+					List<String> memberImplementations = readNames(in);
+					List<String> multiBindings = readNames(in);
+					List<String> factoryDependencies = in.readBoolean() ? readNames(in) : null;
+
+					entries.add(new Entry(type, generated, fingerprint, parameterTypes, memberTypes, lazyTargets, implementations,
+							memberImplementations, multiBindings, factoryDependencies));
+				}
+
+				levels.add(entries);
+			}
+
+			return new WiringPlan(roots, levels);
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException e) {
+			log.warn("Failed to read wiring plan {}: {}", file, e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Writes a plan file, replacing it atomically where the file system allows. A plan that cannot be written is
+	 * logged and skipped, the next start resolves the graph again.
+	 *
+	 * @param file the plan file
+	 * @param plan the plan to write
+	 */
+	static void write(Path file, WiringPlan plan) {
+
+		Path absolute = file.toAbsolutePath();
+
+		try {
+			Files.createDirectories(absolute.getParent());
+			Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeShort(VERSION);
+				writeNames(out, plan.roots);
+				out.writeInt(plan.levels.size());
+
+				for (List<Entry> level : plan.levels) {
+					out.writeInt(level.size());
+
+					for (Entry entry : level) {
+						out.writeUTF(entry.type());
+						out.writeBoolean(entry.generated());
+						out.writeLong(entry.fingerprint());
+						writeNames(out, entry.parameterTypes());
+						writeNames(out, entry.memberTypes());
+						writeNames(out, entry.lazyTargets());
+						writeNames(out, entry.implementations());
+						writeNames(out, entry.memberImplementations());
+						writeNames(out, entry.multiBindings());
+						out.writeBoolean(entry.factoryDependencies() != null);
+						if (entry.factoryDependencies() != null) {
+							writeNames(out, entry.factoryDependencies());
+						}
+					}
+				}
+			}
+
+			try {
+				Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (IOException e) {
+				Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			log.warn("Failed to write wiring plan {}: {}", file, e.getMessage());
+		}
+	}
+
+	private static List<String> readNames(DataInputStream in) throws IOException {
+
+		int count = in.readInt();
+		List<String> names = new ArrayList<>(count);
+
+		for (int i = 0; i < count; i++) {
+			names.add(in.readUTF());
+		}
+
+		return names;
+	}
+
+	private static void writeNames(DataOutputStream out, List<String> names) throws IOException {
+
+		out.writeInt(names.size());
+
+		for (String name : names) {
+			out.writeUTF(name);
+		}
+	}
+
+	/**
+	 * A bean of the plan.
+	 *
+	 * @param type                  the binary name of the bean type
+	 * @param generated             whether the bean is created by a generated factory
+	 * @param fingerprint           the fingerprint of the class files of the bean, its superclasses and its dependency
+	 *                              types
+	 * @param parameterTypes        the binary names of the constructor parameter types
+	 * @param memberTypes           the binary names of the types of the injected fields and setters
+	 * @param lazyTargets           the binary name of the lazy target of each parameter, empty for parameters injected
+	 *                              eagerly
+	 * @param implementations       the binary name of the implementation of each eager interface parameter, empty
+	 *                              otherwise
+	 * @param memberImplementations each eager interface or abstract member type and its implementation, as
+	 *                              {@code type=implementation}
+	 * @param multiBindings         the element type of each multi-binding and its implementations, as
+	 *                              {@code type=implementation,implementation}
+	 * @param factoryDependencies   the binary names of the dependencies declared by the bean's factory binding, null if
+	 *                              it has none
+	 */
+	private record Entry(String type, boolean generated, long fingerprint, List<String> parameterTypes, List<String> memberTypes,
+						 List<String> lazyTargets, List<String> implementations, List<String> memberImplementations,
+						 List<String> multiBindings, List<String> factoryDependencies) {
+
+	}
+
+}
@@ -0,0 +1,25 @@
+package net.tylerwade.ioc.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class as a bean.
+ * <p>
+ * Beans do not need this annotation to be injected. It lets the {@code ioc-processor} annotation processor find the
+ * class at compile time, check its wiring and generate a reflection-free factory for it.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Component {
+
+	/**
+	 * @return the name of the bean, its key when beans are injected as a {@code Map<String, T>}. Defaults to the simple
+	 * class name starting with a lower-case letter.
+	 */
+	String value() default "";
+}
@@ -0,0 +1,19 @@
+package net.tylerwade.ioc.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method without parameters to be called when the container is closed, before the bean is dropped.
+ * <p>
+ * Destroy methods may have any visibility. Methods of subclasses are called before those of superclasses. A bean that
+ * implements {@link AutoCloseable} is also closed afterwards, unless {@code close()} itself is marked.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Destroy {
+}
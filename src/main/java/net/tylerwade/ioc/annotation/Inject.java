@@ -0,0 +1,20 @@
+package net.tylerwade.ioc.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a field or a single-parameter method to be injected after the bean is constructed.
+ * <p>
+ * Fields may have any visibility but must not be final or static. Members of superclasses are injected before those
+ * of subclasses. Injected members count as dependencies of the bean, so they are created first and take part in
+ * circular dependency detection. Combine with {@link Lazy} to inject a proxy instead.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface Inject {
+}
@@ -0,0 +1,27 @@
+package net.tylerwade.ioc.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Defers creating a dependency until it is first used.
+ * <p>
+ * On a constructor parameter, the container injects a proxy for the parameter's interface instead of the bean, and
+ * creates the {@link #value()} bean on the proxy's first method call. Without a value, the interface is resolved to its
+ * bound or discovered implementation on first use. On an interface, every constructor parameter of that interface is
+ * injected lazily. Fields marked {@link Inject} can be lazy too. Lazy dependencies must be interfaces.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.PARAMETER, ElementType.FIELD, ElementType.TYPE})
+public @interface Lazy {
+
+	/**
+	 * @return the bean to create on first use, it must implement the injected interface. Defaults to {@code void.class},
+	 * which resolves the injected interface itself
+	 */
+	Class<?> value() default void.class;
+}
@@ -0,0 +1,25 @@
+package net.tylerwade.ioc.exception;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Getter
+public class AmbiguousBeanTypeException extends IllegalStateException {
+
+	private final Class<?> beanType;
+	private final List<Class<?>> candidates;
+
+	/**
+	 * @param beanType   the interface or abstract class that was requested
+	 * @param candidates the registered components that implement it
+	 */
+	public AmbiguousBeanTypeException(Class<?> beanType, List<Class<?>> candidates) {
+		this.beanType = beanType;
+		this.candidates = List.copyOf(candidates);
+		super(String.format("Ambiguous bean type '%s': implemented by %s. Bind one with Beans.bind.",
+				beanType.getName(),
+				candidates.stream().map(Class::getName).collect(Collectors.joining(", "))));
+	}
+}
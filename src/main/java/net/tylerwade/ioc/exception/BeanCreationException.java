@@ -14,4 +14,16 @@ public class BeanCreationException extends IllegalArgumentException {
 		this.constructor = constructor;
 		super(String.format("Failed to create bean of type '%s' using constructor '%s'.", clazz.getName(), constructor), cause);
 	}
-}
\ No newline at end of file
+
+	public BeanCreationException(Class<?> clazz, Throwable cause) {
+		this.clazz = clazz;
+		this.constructor = null;
+		super(String.format("Failed to create bean of type '%s'.", clazz.getName()), cause);
+	}
+
+	public BeanCreationException(BeanCreationException cause) {
+		this.clazz = cause.clazz;
+		this.constructor = cause.constructor;
+		super(cause.getMessage(), cause);
+	}
+}
@@ -0,0 +1,13 @@
+package net.tylerwade.ioc.exception;
+
+import lombok.Getter;
+
+@Getter
+public class BeanDestructionException extends IllegalStateException {
+	private final Class<?> clazz;
+
+	public BeanDestructionException(Class<?> clazz, Throwable cause) {
+		this.clazz = clazz;
+		super(String.format("Failed to destroy bean of type '%s'.", clazz.getName()), cause);
+	}
+}
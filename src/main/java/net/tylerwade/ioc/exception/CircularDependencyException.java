@@ -2,15 +2,26 @@ package net.tylerwade.ioc.exception;
 
 import lombok.Getter;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Getter
 public class CircularDependencyException extends IllegalStateException {
 
 	private final Class<?> dependentClass;
 	private final Class<?> parentClass;
+	private final List<Class<?>> cycle;
 
-	public CircularDependencyException(Class<?> dependentClass, Class<?> parentClass) {
-		this.dependentClass = dependentClass;
-		this.parentClass = parentClass;
-		super(String.format("Circular dependency detected: '%s' depends on '%s'.", dependentClass.getName(), parentClass.getName()));
+	/**
+	 * @param cycle the dependency path that forms the cycle, starting and ending with the same class
+	 */
+	public CircularDependencyException(List<Class<?>> cycle) {
+		this.cycle = List.copyOf(cycle);
+		this.dependentClass = cycle.get(cycle.size() - 2);
+		this.parentClass = cycle.getLast();
+		super(String.format("Circular dependency detected: '%s' depends on '%s'. Cycle: %s",
+				cycle.get(cycle.size() - 2).getName(),
+				cycle.getLast().getName(),
+				cycle.stream().map(Class::getName).collect(Collectors.joining(" -> "))));
 	}
-}
\ No newline at end of file
+}
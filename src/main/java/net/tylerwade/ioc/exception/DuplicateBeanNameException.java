@@ -0,0 +1,23 @@
+package net.tylerwade.ioc.exception;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class DuplicateBeanNameException extends IllegalStateException {
+
+	private final String name;
+	private final List<Class<?>> beanTypes;
+
+	/**
+	 * @param name      the bean name used more than once
+	 * @param beanTypes the beans that share the name
+	 */
+	public DuplicateBeanNameException(String name, List<Class<?>> beanTypes) {
+		this.name = name;
+		this.beanTypes = List.copyOf(beanTypes);
+		super(String.format("Duplicate bean name '%s': used by %s and %s. Name them with @Component.",
+				name, beanTypes.get(0).getName(), beanTypes.get(1).getName()));
+	}
+}
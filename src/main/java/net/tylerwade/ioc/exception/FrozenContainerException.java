@@ -0,0 +1,17 @@
+package net.tylerwade.ioc.exception;
+
+import lombok.Getter;
+
+@Getter
+public class FrozenContainerException extends IllegalStateException {
+
+	private final String operation;
+
+	/**
+	 * @param operation what was attempted on the frozen container
+	 */
+	public FrozenContainerException(String operation) {
+		this.operation = operation;
+		super(String.format("Cannot %s, the container is frozen. Create every bean before freezing the container.", operation));
+	}
+}
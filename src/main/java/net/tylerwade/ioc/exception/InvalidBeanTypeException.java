@@ -14,9 +14,21 @@ public class InvalidBeanTypeException extends IllegalArgumentException {
 		this.parentClass = parentClass;
 	}
 
+	public InvalidBeanTypeException(Class<?> beanType, Class<?> parentClass, String reason) {
+		super(String.format("Invalid bean type '%s' for bean '%s': %s", beanType.getName(), parentClass.getName(), reason));
+		this.beanType = beanType;
+		this.parentClass = parentClass;
+	}
+
 	public InvalidBeanTypeException(Class<?> beanType) {
 		super(String.format("Invalid bean type '%s'", beanType.getName()));
 		this.beanType = beanType;
 		this.parentClass = null;
 	}
+
+	public InvalidBeanTypeException(InvalidBeanTypeException cause) {
+		super(cause.getMessage(), cause);
+		this.beanType = cause.beanType;
+		this.parentClass = cause.parentClass;
+	}
 }
\ No newline at end of file
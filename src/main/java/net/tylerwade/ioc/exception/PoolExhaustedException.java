@@ -0,0 +1,26 @@
+package net.tylerwade.ioc.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class PoolExhaustedException extends IllegalStateException {
+
+	private final Class<?> beanType;
+	private final int maxSize;
+	private final Duration timeout;
+
+	/**
+	 * @param beanType the pooled class type
+	 * @param maxSize  the number of instances the pool holds at most
+	 * @param timeout  how long the caller waited for an instance to be returned
+	 */
+	public PoolExhaustedException(Class<?> beanType, int maxSize, Duration timeout) {
+		this.beanType = beanType;
+		this.maxSize = maxSize;
+		this.timeout = timeout;
+		super(String.format("All %d pooled instances of '%s' are leased, none was returned within %d ms.",
+				maxSize, beanType.getName(), timeout.toMillis()));
+	}
+}
@@ -8,4 +8,9 @@ public class RequiredConstructorNotFound extends IllegalArgumentException {
 		this.clazz = clazz;
 		super(String.format("No suitable DI constructor found for class '%s'.", clazz.getName()));
 	}
+
+	public RequiredConstructorNotFound(RequiredConstructorNotFound cause) {
+		this.clazz = cause.clazz;
+		super(cause.getMessage(), cause);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package net.tylerwade.ioc.exception;
+
+import lombok.Getter;
+
+@Getter
+public class UnresolvedBeanTypeException extends IllegalArgumentException {
+
+	private final Class<?> beanType;
+
+	/**
+	 * @param beanType the interface or abstract class that was requested
+	 */
+	public UnresolvedBeanTypeException(Class<?> beanType) {
+		this.beanType = beanType;
+		super(String.format("No implementation of '%s' is bound or registered as a component.", beanType.getName()));
+	}
+}
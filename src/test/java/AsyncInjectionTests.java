@@ -0,0 +1,160 @@
+import net.tylerwade.ioc.Container;
+import net.tylerwade.ioc.exception.CircularDependencyException;
+import net.tylerwade.ioc.exception.InvalidBeanTypeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import testbeans.async.BrokenFeed;
+import testbeans.async.ConnectionPool;
+import testbeans.async.Dashboard;
+import testbeans.async.FeedReader;
+import testbeans.async.Rendezvous;
+import testbeans.async.SlowConnection;
+import testbeans.circulardependency.ClassA;
+import testbeans.user.UserController;
+import testbeans.user.UserRepo;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncInjectionTests {
+
+	private Container container;
+
+	@BeforeEach
+	void setUp() {
+
+		container = new Container();
+		SlowConnection.ready = new CompletableFuture<>();
+		Rendezvous.latch = new CountDownLatch(2);
+	}
+
+	@Test
+	void dependentIsCreatedOnceDependencyIsInitialized() throws Exception {
+
+		CompletableFuture<ConnectionPool> pool = container.injectAsync(ConnectionPool.class);
+
+		assertThrows(TimeoutException.class, () -> pool.get(100, TimeUnit.MILLISECONDS));
+		assertTrue(container.exists(SlowConnection.class));
+		assertFalse(container.exists(ConnectionPool.class));
+
+		SlowConnection.ready.complete(null);
+
+		assertSame(container.inject(ConnectionPool.class), pool.get(5, TimeUnit.SECONDS));
+		assertSame(container.inject(SlowConnection.class), pool.get().getConnection());
+	}
+
+	@Test
+	void independentInitializationsOverlap() throws Exception {
+
+		Dashboard dashboard = container.injectAsync(Dashboard.class).get(10, TimeUnit.SECONDS);
+
+		assertNotNull(dashboard.getLeftCache());
+		assertNotNull(dashboard.getRightCache());
+	}
+
+	@Test
+	void concurrentRequestsShareOneCreation() throws Exception {
+
+		CompletableFuture<ConnectionPool> first = container.injectAsync(ConnectionPool.class);
+		CompletableFuture<ConnectionPool> second = container.injectAsync(ConnectionPool.class);
+
+		SlowConnection.ready.complete(null);
+
+		assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void cancellingOneRequestDoesNotAffectOthers() throws Exception {
+
+		CompletableFuture<ConnectionPool> cancelled = container.injectAsync(ConnectionPool.class);
+		CompletableFuture<ConnectionPool> waiting = container.injectAsync(ConnectionPool.class);
+
+		cancelled.cancel(false);
+		SlowConnection.ready.complete(null);
+
+		assertNotNull(waiting.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void existingBeanIsReadyImmediately() {
+
+		UserRepo userRepo = container.inject(UserRepo.class);
+
+		CompletableFuture<UserRepo> future = container.injectAsync(UserRepo.class);
+
+		assertTrue(future.isDone());
+		assertSame(userRepo, future.join());
+	}
+
+	@Test
+	void syncInjectStartsInitializationWithoutWaiting() throws Exception {
+
+		SlowConnection connection = container.inject(SlowConnection.class);
+
+		CompletableFuture<SlowConnection> ready = container.injectAsync(SlowConnection.class);
+		assertFalse(ready.isDone());
+
+		SlowConnection.ready.complete(null);
+		assertSame(connection, ready.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void failedInitializationFailsBeanAndDependents() {
+
+		ExecutionException beanFailure = assertThrows(ExecutionException.class,
+				() -> container.injectAsync(BrokenFeed.class).get(5, TimeUnit.SECONDS));
+		ExecutionException dependentFailure = assertThrows(ExecutionException.class,
+				() -> container.injectAsync(FeedReader.class).get(5, TimeUnit.SECONDS));
+
+		assertInstanceOf(IllegalStateException.class, beanFailure.getCause());
+		assertInstanceOf(IllegalStateException.class, dependentFailure.getCause());
+		assertFalse(container.exists(FeedReader.class));
+	}
+
+	@Test
+	void invalidBeanFailsFuture() {
+
+		CompletableFuture<String> future = container.injectAsync(String.class);
+
+		ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(InvalidBeanTypeException.class, e.getCause());
+	}
+
+	@Test
+	void circularDependencyFailsFuture() {
+
+		ExecutionException e = assertThrows(ExecutionException.class,
+				() -> container.injectAsync(ClassA.class).get(5, TimeUnit.SECONDS));
+
+		assertInstanceOf(CircularDependencyException.class, e.getCause());
+	}
+
+	@Test
+	void childWaitsForInitializationStartedInParent() throws Exception {
+
+		container.inject(SlowConnection.class);
+		Container child = container.createChild();
+
+		CompletableFuture<ConnectionPool> pool = child.injectAsync(ConnectionPool.class);
+		assertFalse(pool.isDone());
+
+		SlowConnection.ready.complete(null);
+
+		assertSame(container.inject(SlowConnection.class), pool.get(5, TimeUnit.SECONDS).getConnection());
+		assertFalse(container.exists(ConnectionPool.class));
+	}
+
+	@Test
+	void asyncGraphIsWiredLikeSyncInject() throws Exception {
+
+		UserController userController = container.injectAsync(UserController.class).get(5, TimeUnit.SECONDS);
+
+		assertSame(container.inject(UserRepo.class), userController.getUserRepo());
+	}
+
+}
@@ -76,6 +76,18 @@ public class BeanCreationValidationTests {
 		assertThrows(InvalidBeanTypeException.class, () -> Beans.inject(Beans.class));
 	}
 
+	@Test
+	void repeatedFailureThrowsNewExceptionEachTime() {
+		InvalidBeanTypeException first = assertThrows(InvalidBeanTypeException.class, () -> Beans.inject(Book.class));
+		InvalidBeanTypeException second = assertThrows(InvalidBeanTypeException.class, () -> Beans.inject(Book.class));
+
+		assertNotSame(first, second);
+		assertSame(first.getCause(), second.getCause());
+		assertEquals(first.getMessage(), second.getMessage());
+		assertEquals(Integer.class, second.getBeanType());
+		assertEquals(Book.class, second.getParentClass());
+	}
+
 
 
 
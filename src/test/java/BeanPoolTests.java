@@ -0,0 +1,224 @@
+import net.tylerwade.ioc.BeanLease;
+import net.tylerwade.ioc.BeanPool;
+import net.tylerwade.ioc.Container;
+import net.tylerwade.ioc.exception.CircularDependencyException;
+import net.tylerwade.ioc.exception.PoolExhaustedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import testbeans.circulardependency.ClassA;
+import testbeans.pool.DigestConfig;
+import testbeans.pool.Digester;
+import testbeans.pool.Parser;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BeanPoolTests {
+
+	private Container container;
+
+	@BeforeEach
+	void setUp() {
+
+		container = new Container();
+		Digester.reset();
+	}
+
+	@Test
+	void leasedInstanceGetsSingletonDependencies() {
+
+		BeanPool<Digester> pool = container.pool(Digester.class, 2);
+
+		try (BeanLease<Digester> lease = pool.lease()) {
+			assertSame(container.inject(DigestConfig.class), lease.get().getConfig());
+		}
+
+		assertFalse(container.exists(Digester.class));
+	}
+
+	@Test
+	void sameThreadGetsItsInstanceBack() {
+
+		BeanPool<Digester> pool = container.pool(Digester.class, 4);
+
+		Digester first;
+		try (BeanLease<Digester> lease = pool.lease()) {
+			first = lease.get();
+		}
+
+		try (BeanLease<Digester> lease = pool.lease()) {
+			assertSame(first, lease.get());
+		}
+
+		assertEquals(1, pool.getSize());
+		assertEquals(1, Digester.created.get());
+	}
+
+	@Test
+	void concurrentLeasesGetDistinctInstances() {
+
+		BeanPool<Digester> pool = container.pool(Digester.class, 4);
+
+		try (BeanLease<Digester> first = pool.lease(); BeanLease<Digester> second = pool.lease()) {
+			assertNotSame(first.get(), second.get());
+		}
+
+		assertEquals(2, pool.getSize());
+	}
+
+	@Test
+	void exhaustedPoolShouldThrowAfterTimeout() {
+
+		BeanPool<Digester> pool = container.pool(Digester.class, 2);
+
+		BeanLease<Digester> first = pool.lease();
+		try (BeanLease<Digester> ignored = pool.lease()) {
+			PoolExhaustedException exception = assertThrows(PoolExhaustedException.class, () -> pool.lease(Duration.ofMillis(50)));
+			assertEquals(Digester.class, exception.getBeanType());
+			assertEquals(2, exception.getMaxSize());
+
+			first.close();
+			try (BeanLease<Digester> lease = pool.lease(Duration.ofMillis(50))) {
+				assertNotNull(lease.get());
+			}
+		}
+
+		assertEquals(2, Digester.created.get());
+	}
+
+	@Test
+	void waitingLeaseGetsReturnedInstance() throws Exception {
+
+		BeanPool<Digester> pool = container.pool(Digester.class, 1);
+		BeanLease<Digester> lease = pool.lease();
+		Digester digester = lease.get();
+
+		CompletableFuture<Digester> waiting = CompletableFuture.supplyAsync(() -> {
+			try (BeanLease<Digester> next = pool.lease()) {
+				return next.get();
+			}
+		}, Thread::startVirtualThread);
+
+		Thread.sleep(50);
+		assertFalse(waiting.isDone());
+
+		lease.close();
+		assertSame(digester, waiting.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void instancesAreBuiltConcurrently() throws Exception {
+
+		BeanPool<Parser> pool = container.pool(Parser.class, 2);
+		Parser.building = new CountDownLatch(2);
+
+		CompletableFuture<BeanLease<Parser>> first = CompletableFuture.supplyAsync(pool::lease, Thread::startVirtualThread);
+		CompletableFuture<BeanLease<Parser>> second = CompletableFuture.supplyAsync(pool::lease, Thread::startVirtualThread);
+
+		try (BeanLease<Parser> a = first.get(10, TimeUnit.SECONDS); BeanLease<Parser> b = second.get(10, TimeUnit.SECONDS)) {
+			assertNotSame(a.get(), b.get());
+		}
+
+		assertEquals(2, pool.getSize());
+	}
+
+	@Test
+	void destroyedInstanceIsNotLeasedAgain() {
+
+		BeanPool<Digester> pool = container.pool(Digester.class, 1);
+		BeanLease<Digester> lease = pool.lease();
+		Digester digester = lease.get();
+
+		container.close();
+		lease.close();
+
+		assertEquals(1, Digester.destroyed.get());
+		BeanPool<Digester> next = container.pool(Digester.class, 1);
+		try (BeanLease<Digester> again = next.lease()) {
+			assertNotSame(digester, again.get());
+		}
+	}
+
+	@Test
+	void closedLeaseShouldThrow() {
+
+		BeanLease<Digester> lease = container.pool(Digester.class, 1).lease();
+		lease.close();
+
+		assertThrows(IllegalStateException.class, lease::get);
+		assertDoesNotThrow(lease::close);
+	}
+
+	@Test
+	void instanceIsNeverUsedByTwoThreadsAtOnce() throws Exception {
+
+		BeanPool<Digester> pool = container.pool(Digester.class, 4);
+		List<Future<?>> futures = new ArrayList<>();
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < 64; i++) {
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < 200; j++) {
+						try (BeanLease<Digester> lease = pool.lease()) {
+							assertEquals(294, lease.get().digest("abc"));
+						}
+					}
+				}));
+			}
+
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		}
+
+		assertTrue(pool.getSize() <= 4);
+		assertEquals(pool.getSize(), Digester.created.get());
+	}
+
+	@Test
+	void closeDestroysPooledInstances() {
+
+		BeanPool<Digester> pool = container.pool(Digester.class, 3);
+
+		BeanLease<Digester> leased = pool.lease();
+		pool.lease().close();
+		pool.lease().close();
+
+		container.close();
+		assertEquals(1, Digester.destroyed.get());
+
+		// Instances leased during close are destroyed once they are returned.
+		leased.close();
+		assertEquals(2, Digester.destroyed.get());
+		assertEquals(0, pool.getSize());
+
+		assertThrows(IllegalStateException.class, pool::lease);
+		assertNotSame(pool, container.pool(Digester.class, 3));
+	}
+
+	@Test
+	void poolIsSharedPerType() {
+
+		BeanPool<Digester> pool = container.pool(Digester.class, 2);
+
+		assertSame(pool, container.pool(Digester.class, 2));
+		assertThrows(IllegalArgumentException.class, () -> container.pool(Digester.class, 3));
+		assertThrows(IllegalArgumentException.class, () -> container.pool(DigestConfig.class, 0));
+	}
+
+	@Test
+	void poolOfCyclicTypeShouldThrow() {
+
+		assertThrows(CircularDependencyException.class, () -> container.pool(ClassA.class, 2));
+	}
+
+}
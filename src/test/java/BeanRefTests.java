@@ -0,0 +1,94 @@
+import net.tylerwade.ioc.BeanRef;
+import net.tylerwade.ioc.Beans;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import testbeans.user.UserController;
+import testbeans.user.UserRepo;
+import testbeans.user.UserService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BeanRefTests {
+
+	@BeforeEach
+	void setUp() {
+
+		Beans.clear();
+	}
+
+	@Test
+	void refDoesNotCreateBean() {
+
+		BeanRef<UserController> ref = Beans.ref(UserController.class);
+
+		assertEquals(UserController.class, ref.getBeanType());
+		assertFalse(Beans.exists(UserController.class));
+	}
+
+	@Test
+	void getCreatesBeanOnFirstUse() {
+
+		UserController userController = Beans.ref(UserController.class).get();
+
+		assertNotNull(userController);
+		assertSame(Beans.inject(UserController.class), userController);
+		assertSame(Beans.inject(UserService.class), userController.getUserService());
+	}
+
+	@Test
+	void getReturnsSameBeanAsInject() {
+
+		UserRepo userRepo = Beans.inject(UserRepo.class);
+		BeanRef<UserRepo> ref = Beans.ref(UserRepo.class);
+
+		for (int i = 0; i < 100; i++) {
+			assertSame(userRepo, ref.get());
+		}
+	}
+
+	@Test
+	void getSeesRecreatedBeanAfterRemove() {
+
+		BeanRef<UserRepo> ref = Beans.ref(UserRepo.class);
+		UserRepo first = ref.get();
+
+		Beans.remove(UserRepo.class);
+		UserRepo second = ref.get();
+
+		assertNotSame(first, second);
+		assertSame(Beans.inject(UserRepo.class), second);
+	}
+
+	@Test
+	void getSeesRecreatedBeanAfterClear() {
+
+		BeanRef<UserRepo> ref = Beans.ref(UserRepo.class);
+		UserRepo first = ref.get();
+
+		Beans.clear();
+
+		assertFalse(Beans.exists(UserRepo.class));
+		UserRepo second = ref.get();
+		assertNotSame(first, second);
+		assertTrue(Beans.exists(UserRepo.class));
+	}
+
+	@Test
+	void getSeesBeanRecreatedThroughInject() {
+
+		BeanRef<UserRepo> ref = Beans.ref(UserRepo.class);
+		ref.get();
+
+		Beans.remove(UserRepo.class);
+		UserRepo recreated = Beans.inject(UserRepo.class);
+
+		assertSame(recreated, ref.get());
+	}
+
+	@Test
+	void refWithNullTypeShouldThrow() {
+
+		assertThrows(NullPointerException.class, () -> Beans.ref(null));
+	}
+
+}
@@ -0,0 +1,152 @@
+import net.tylerwade.ioc.Beans;
+import net.tylerwade.ioc.exception.AmbiguousBeanTypeException;
+import net.tylerwade.ioc.exception.CircularDependencyException;
+import net.tylerwade.ioc.exception.InvalidBeanTypeException;
+import net.tylerwade.ioc.exception.UnresolvedBeanTypeException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import testbeans.binding.AlertService;
+import testbeans.binding.CasualGreeter;
+import testbeans.binding.EmailNotifier;
+import testbeans.binding.FormalGreeter;
+import testbeans.binding.Greeter;
+import testbeans.binding.MemoryStore;
+import testbeans.binding.Notifier;
+import testbeans.binding.Ping;
+import testbeans.binding.PingImpl;
+import testbeans.binding.Pong;
+import testbeans.binding.Reporter;
+import testbeans.binding.SmsNotifier;
+import testbeans.binding.Store;
+import testbeans.binding.Unimplemented;
+import testbeans.user.UserRepo;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BindingTests {
+
+	@BeforeEach
+	void setUp() {
+
+		Beans.clear();
+		Beans.registerComponents();
+	}
+
+	@AfterEach
+	void tearDown() {
+
+		Beans.unbind(Notifier.class);
+		Beans.unbind(Greeter.class);
+		Beans.unbind(Store.class);
+		Beans.unbind(Ping.class);
+	}
+
+	@Test
+	void interfaceResolvesToDiscoveredComponent() {
+
+		Notifier notifier = Beans.inject(Notifier.class);
+
+		assertInstanceOf(EmailNotifier.class, notifier);
+		assertSame(Beans.inject(EmailNotifier.class), notifier);
+		assertTrue(Beans.exists(Notifier.class));
+	}
+
+	@Test
+	void interfaceDependencyIsInjectedWithImplementation() {
+
+		AlertService alertService = Beans.inject(AlertService.class);
+
+		assertSame(Beans.inject(EmailNotifier.class), alertService.getNotifier());
+	}
+
+	@Test
+	void explicitBindingTakesPrecedenceOverDiscovery() {
+
+		Beans.bind(Notifier.class, SmsNotifier.class);
+
+		assertInstanceOf(SmsNotifier.class, Beans.inject(Notifier.class));
+		assertEquals("SMS: Hi", Beans.<AlertService>inject(AlertService.class).getNotifier().notify("Hi"));
+	}
+
+	@Test
+	void abstractClassCanBeBound() {
+
+		Beans.bind(Store.class, MemoryStore.class);
+
+		assertEquals("memory", Beans.<Store>inject(Store.class).name());
+	}
+
+	@Test
+	void ambiguousInterfaceShouldThrow() {
+
+		AmbiguousBeanTypeException e = assertThrows(AmbiguousBeanTypeException.class, () -> Beans.inject(Greeter.class));
+
+		assertEquals(Greeter.class, e.getBeanType());
+		assertEquals(List.of(FormalGreeter.class, CasualGreeter.class), e.getCandidates());
+		assertTrue(e.getMessage().contains(FormalGreeter.class.getName()));
+		assertTrue(e.getMessage().contains(CasualGreeter.class.getName()));
+	}
+
+	@Test
+	void bindingResolvesAmbiguity() {
+
+		Beans.bind(Greeter.class, CasualGreeter.class);
+
+		assertEquals("Hi Ada", Beans.<Greeter>inject(Greeter.class).greet("Ada"));
+	}
+
+	@Test
+	void unimplementedInterfaceShouldThrow() {
+
+		UnresolvedBeanTypeException e = assertThrows(UnresolvedBeanTypeException.class, () -> Beans.inject(Unimplemented.class));
+
+		assertEquals(Unimplemented.class, e.getBeanType());
+	}
+
+	@Test
+	void bindingConcreteClassShouldThrow() {
+
+		assertThrows(InvalidBeanTypeException.class, () -> Beans.bind(UserRepo.class, UserRepo.class));
+	}
+
+	@Test
+	void bindingToAbstractImplementationShouldThrow() {
+
+		assertThrows(InvalidBeanTypeException.class, () -> Beans.bind(Store.class, Store.class));
+	}
+
+	@Test
+	void lazyInterfaceWithoutTargetResolvesOnFirstUse() {
+
+		Reporter reporter = Beans.inject(Reporter.class);
+
+		assertFalse(Beans.exists(EmailNotifier.class));
+		assertEquals("Email: Ready", reporter.getNotifier().notify("Ready"));
+		assertTrue(Beans.exists(EmailNotifier.class));
+	}
+
+	@Test
+	void circularDependencyThroughBindingShouldThrow() {
+
+		Beans.bind(Ping.class, PingImpl.class);
+
+		CircularDependencyException e = assertThrows(CircularDependencyException.class, () -> Beans.inject(Pong.class));
+
+		assertEquals(List.of(Pong.class, PingImpl.class, Pong.class), e.getCycle());
+	}
+
+	@Test
+	void removeThroughInterfaceRemovesImplementation() {
+
+		Notifier notifier = Beans.inject(Notifier.class);
+
+		Beans.remove(Notifier.class);
+
+		assertFalse(Beans.exists(EmailNotifier.class));
+		assertNotSame(notifier, Beans.inject(Notifier.class));
+	}
+
+}
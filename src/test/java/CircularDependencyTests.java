@@ -5,6 +5,9 @@ import org.junit.jupiter.api.Test;
 import testbeans.circulardependency.ClassA;
 import testbeans.circulardependency.ClassB;
 import testbeans.circulardependency.ClassC;
+import testbeans.diamond.Top;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -34,4 +37,20 @@ public class CircularDependencyTests {
 		}
 	}
 
+	@Test
+	void circularDependencyExceptionShouldContainFullCycle() {
+
+		CircularDependencyException e = assertThrows(CircularDependencyException.class, () -> Beans.inject(ClassB.class));
+
+		assertEquals(List.of(ClassB.class, ClassC.class, ClassA.class, ClassB.class), e.getCycle());
+	}
+
+	@Test
+	void diamondDependencyShouldNotThrow() {
+
+		Top top = Beans.inject(Top.class);
+
+		assertSame(top.getLeft().getBottom(), top.getRight().getBottom());
+	}
+
 }
\ No newline at end of file
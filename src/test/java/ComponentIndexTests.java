@@ -0,0 +1,53 @@
+import net.tylerwade.ioc.Beans;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import testbeans.binding.CasualGreeter;
+import testbeans.binding.EmailNotifier;
+import testbeans.binding.FormalGreeter;
+import testbeans.diamond.Bottom;
+import testbeans.diamond.Top;
+import testbeans.user.UserController;
+import testbeans.user.UserRepo;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComponentIndexTests {
+
+	@BeforeEach
+	void setUp() {
+
+		Beans.clear();
+	}
+
+	@Test
+	void registerComponentsReadsIndex() {
+
+		List<Class<?>> components = Beans.registerComponents();
+
+		assertEquals(List.of(UserController.class, Top.class, EmailNotifier.class, FormalGreeter.class, CasualGreeter.class), components);
+		assertTrue(Beans.getComponents().containsAll(components));
+	}
+
+	@Test
+	void registerComponentsDoesNotCreateBeans() {
+
+		Beans.registerComponents();
+
+		assertFalse(Beans.exists(UserController.class));
+		assertFalse(Beans.exists(Top.class));
+	}
+
+	@Test
+	void initializeComponentsCreatesComponentsAndDependencies() {
+
+		Beans.initializeComponents();
+
+		assertTrue(Beans.exists(UserController.class));
+		assertTrue(Beans.exists(UserRepo.class));
+		assertTrue(Beans.exists(Top.class));
+		assertTrue(Beans.exists(Bottom.class));
+	}
+
+}
@@ -0,0 +1,271 @@
+import lombok.extern.slf4j.Slf4j;
+import net.tylerwade.ioc.BeanRef;
+import net.tylerwade.ioc.Container;
+import net.tylerwade.ioc.exception.CircularDependencyException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import testbeans.circulardependency.ClassA;
+import testbeans.stress.Creations;
+import testbeans.stress.StressConfig;
+import testbeans.stress.StressLeaf;
+import testbeans.stress.StressMid;
+import testbeans.stress.StressRoot;
+import testbeans.stress.StressSide;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers overlapping bean graphs from many threads at once. Every test fails instead of hanging if a creation
+ * deadlocks, and the throughput of the injection tests is logged as a side effect.
+ */
+@Slf4j
+public class ConcurrencyStressTests {
+
+	private static final long TIMEOUT_SECONDS = 30;
+
+	// Overlapping graph: StressRoot -> StressMid, StressSide; both -> StressConfig, StressLeaf.
+	private static final Class<?>[] GRAPH = {
+			StressRoot.class, StressMid.class, StressSide.class, StressLeaf.class, StressConfig.class
+	};
+
+	@BeforeEach
+	void setUp() {
+
+		Creations.reset();
+	}
+
+	@Test
+	void platformThreadsCreateOneInstancePerType() throws Exception {
+
+		try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+			hammer("platform threads", executor, 16, 200);
+		}
+	}
+
+	@Test
+	void virtualThreadsCreateOneInstancePerType() throws Exception {
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			hammer("virtual threads", executor, 1000, 20);
+		}
+	}
+
+	@Test
+	void mixedAccessPathsShareOneInstance() throws Exception {
+
+		int rounds = 50;
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int round = 0; round < rounds; round++) {
+				Container container = new Container();
+				BeanRef<StressRoot> ref = container.ref(StressRoot.class);
+
+				List<Callable<Object>> tasks = new ArrayList<>();
+				for (int i = 0; i < 50; i++) {
+					tasks.add(() -> container.inject(StressRoot.class));
+					tasks.add(() -> container.injectAsync(StressRoot.class).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+					tasks.add(ref::get);
+					tasks.add(() -> {
+						container.initialize(StressRoot.class);
+						return container.inject(StressRoot.class);
+					});
+				}
+
+				List<Object> roots = race(executor, tasks);
+				for (Object root : roots) {
+					assertSame(roots.getFirst(), root);
+				}
+				assertWired((StressRoot) roots.getFirst());
+			}
+		}
+
+		for (Class<?> type : GRAPH) {
+			assertEquals(rounds, Creations.of(type), type.getSimpleName());
+		}
+	}
+
+	@Test
+	void concurrentInjectionOfCycleFailsWithoutDeadlock() throws Exception {
+
+		Container container = new Container();
+
+		List<Callable<Object>> tasks = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			tasks.add(() -> assertThrows(CircularDependencyException.class, () -> container.inject(ClassA.class)));
+		}
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			race(executor, tasks);
+		}
+
+		assertFalse(container.exists(ClassA.class));
+		assertFalse(container.isCreating(ClassA.class));
+	}
+
+	@Test
+	void removalsRacingInjectionsDoNotDeadlock() throws Exception {
+
+		Container container = new Container();
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int round = 0; round < 50; round++) {
+				List<Callable<Object>> tasks = new ArrayList<>();
+
+				for (int i = 0; i < 100; i++) {
+					tasks.add(() -> {
+						StressRoot root = container.inject(StressRoot.class);
+						assertNotNull(root.getMid().getLeaf());
+						assertNotNull(root.getSide().getLeaf());
+						return root;
+					});
+				}
+				tasks.add(() -> {
+					container.remove(StressLeaf.class);
+					return container.inject(StressLeaf.class);
+				});
+				tasks.add(() -> container.refresh(StressConfig.class));
+
+				race(executor, tasks);
+			}
+		}
+
+		// Once the removals stop, the container hands out a single instance per type again.
+		StressRoot root = container.inject(StressRoot.class);
+		assertSame(root, container.inject(StressRoot.class));
+		assertSame(root.getMid(), container.inject(StressMid.class));
+	}
+
+	@Test
+	void childContainersShareParentBeans() throws Exception {
+
+		Container parent = new Container();
+		StressLeaf leaf = parent.inject(StressLeaf.class);
+
+		List<Container> children = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			children.add(parent.createChild());
+		}
+
+		List<Callable<Object[]>> tasks = new ArrayList<>();
+		for (int i = 0; i < 400; i++) {
+			Container child = children.get(i % children.size());
+			tasks.add(() -> new Object[]{child, child.inject(StressRoot.class)});
+		}
+
+		List<Object[]> results;
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			results = race(executor, tasks);
+		}
+
+		Map<Object, Object> rootByChild = new IdentityHashMap<>();
+		for (Object[] result : results) {
+			StressRoot root = (StressRoot) result[1];
+			assertSame(rootByChild.computeIfAbsent(result[0], ignored -> root), root);
+			assertSame(leaf, root.getMid().getLeaf());
+			assertSame(leaf, root.getSide().getLeaf());
+		}
+
+		assertEquals(children.size(), rootByChild.size());
+		assertEquals(1, Creations.of(StressLeaf.class));
+		assertEquals(children.size(), Creations.of(StressRoot.class));
+		assertEquals(children.size(), Creations.of(StressConfig.class));
+	}
+
+	/**
+	 * Lets the threads inject the whole graph into a fresh container per round, each thread starting at a different
+	 * type, and checks that every thread got the same instances and each type was created once per round.
+	 */
+	private static void hammer(String label, ExecutorService executor, int threads, int rounds) throws Exception {
+
+		long start = System.nanoTime();
+
+		for (int round = 0; round < rounds; round++) {
+			Container container = new Container();
+
+			List<Callable<Object[]>> tasks = new ArrayList<>();
+			for (int thread = 0; thread < threads; thread++) {
+				int offset = thread;
+				tasks.add(() -> {
+					Object[] beans = new Object[GRAPH.length];
+					for (int i = 0; i < GRAPH.length; i++) {
+						int type = (offset + i) % GRAPH.length;
+						beans[type] = container.inject(GRAPH[type]);
+					}
+					return beans;
+				});
+			}
+
+			List<Object[]> results = race(executor, tasks);
+			Object[] first = results.getFirst();
+
+			for (Object[] beans : results) {
+				for (int type = 0; type < GRAPH.length; type++) {
+					assertSame(first[type], beans[type], GRAPH[type].getSimpleName());
+				}
+			}
+			assertWired((StressRoot) first[0]);
+		}
+
+		long elapsed = System.nanoTime() - start;
+
+		for (Class<?> type : GRAPH) {
+			assertEquals(rounds, Creations.of(type), type.getSimpleName());
+		}
+
+		long injections = (long) threads * rounds * GRAPH.length;
+		log.info("{}: {} injections in {} ms, {} per second", label, injections,
+				TimeUnit.NANOSECONDS.toMillis(elapsed), Math.round(injections * 1e9 / elapsed));
+	}
+
+	private static void assertWired(StressRoot root) {
+
+		assertSame(root.getMid().getConfig(), root.getSide().getConfig());
+		assertSame(root.getMid().getLeaf(), root.getSide().getLeaf());
+	}
+
+	/**
+	 * Submits all tasks, releases them at the same moment and collects their results.
+	 *
+	 * @throws ExecutionException if a task failed
+	 */
+	private static <T> List<T> race(ExecutorService executor, List<Callable<T>> tasks) throws Exception {
+
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<T>> futures = new ArrayList<>(tasks.size());
+
+		for (Callable<T> task : tasks) {
+			futures.add(executor.submit(() -> {
+				start.await();
+				return task.call();
+			}));
+		}
+
+		start.countDown();
+
+		List<T> results = new ArrayList<>(futures.size());
+		for (Future<T> future : futures) {
+			try {
+				results.add(future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+			} catch (TimeoutException e) {
+				futures.forEach(pending -> pending.cancel(true));
+				fail("Tasks did not finish within " + TIMEOUT_SECONDS + " seconds, a bean creation is likely deadlocked");
+			}
+		}
+
+		return results;
+	}
+
+}
@@ -0,0 +1,154 @@
+import net.tylerwade.ioc.BeanRef;
+import net.tylerwade.ioc.Beans;
+import net.tylerwade.ioc.Container;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import testbeans.binding.AlertService;
+import testbeans.binding.EmailNotifier;
+import testbeans.binding.Notifier;
+import testbeans.binding.Reporter;
+import testbeans.binding.SmsNotifier;
+import testbeans.user.UserController;
+import testbeans.user.UserRepo;
+import testbeans.user.UserService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContainerTests {
+
+	private Container parent;
+	private Container child;
+
+	@BeforeEach
+	void setUp() {
+
+		Beans.clear();
+		parent = new Container();
+		child = parent.createChild();
+	}
+
+	@Test
+	void containersAreIsolated() {
+
+		Container other = new Container();
+
+		UserRepo userRepo = parent.inject(UserRepo.class);
+
+		assertNotSame(userRepo, other.inject(UserRepo.class));
+		assertFalse(Beans.exists(UserRepo.class));
+	}
+
+	@Test
+	void defaultContainerBacksFacade() {
+
+		UserRepo userRepo = Beans.inject(UserRepo.class);
+
+		assertSame(userRepo, Beans.getContainer().inject(UserRepo.class));
+		assertNull(Beans.getContainer().getParent());
+	}
+
+	@Test
+	void childSeesParentBeans() {
+
+		UserRepo userRepo = parent.inject(UserRepo.class);
+
+		UserController userController = child.inject(UserController.class);
+
+		assertSame(parent, child.getParent());
+		assertSame(userRepo, child.inject(UserRepo.class));
+		assertSame(userRepo, userController.getUserRepo());
+		assertTrue(child.exists(UserRepo.class));
+		assertFalse(parent.exists(UserService.class));
+	}
+
+	@Test
+	void beansCreatedInChildArePrivate() {
+
+		UserController userController = child.inject(UserController.class);
+
+		assertSame(userController, child.inject(UserController.class));
+		assertTrue(child.exists(UserRepo.class));
+		assertFalse(parent.exists(UserController.class));
+		assertFalse(parent.exists(UserRepo.class));
+	}
+
+	@Test
+	void siblingsDoNotShareTheirBeans() {
+
+		Container sibling = parent.createChild();
+
+		assertNotSame(child.inject(UserRepo.class), sibling.inject(UserRepo.class));
+	}
+
+	@Test
+	void childInheritsParentBindings() {
+
+		parent.bind(Notifier.class, SmsNotifier.class);
+
+		assertInstanceOf(SmsNotifier.class, child.inject(Notifier.class));
+	}
+
+	@Test
+	void childBindingOverridesParentBinding() {
+
+		parent.bind(Notifier.class, EmailNotifier.class);
+		child.bind(Notifier.class, SmsNotifier.class);
+
+		assertInstanceOf(SmsNotifier.class, child.<AlertService>inject(AlertService.class).getNotifier());
+		assertInstanceOf(EmailNotifier.class, parent.<AlertService>inject(AlertService.class).getNotifier());
+	}
+
+	@Test
+	void lazyDependencyResolvesInItsContainer() {
+
+		parent.bind(Notifier.class, EmailNotifier.class);
+		child.bind(Notifier.class, SmsNotifier.class);
+
+		Reporter reporter = child.inject(Reporter.class);
+
+		assertEquals("SMS: Ready", reporter.getNotifier().notify("Ready"));
+		assertTrue(child.exists(SmsNotifier.class));
+		assertFalse(parent.exists(SmsNotifier.class));
+	}
+
+	@Test
+	void removingFromChildKeepsParentBean() {
+
+		UserRepo userRepo = parent.inject(UserRepo.class);
+
+		child.remove(UserRepo.class);
+		child.clear();
+
+		assertSame(userRepo, child.inject(UserRepo.class));
+		assertTrue(parent.exists(UserRepo.class));
+	}
+
+	@Test
+	void refFollowsParentBeanIntoChild() {
+
+		UserRepo userRepo = parent.inject(UserRepo.class);
+		BeanRef<UserRepo> ref = child.ref(UserRepo.class);
+
+		assertSame(userRepo, ref.get());
+
+		parent.remove(UserRepo.class);
+		UserRepo recreated = ref.get();
+
+		assertNotSame(userRepo, recreated);
+		assertFalse(parent.exists(UserRepo.class));
+		assertSame(recreated, child.inject(UserRepo.class));
+	}
+
+	@Test
+	void initializeCreatesBeansInChild() {
+
+		parent.inject(UserRepo.class);
+
+		child.initialize(UserController.class);
+
+		assertTrue(child.exists(UserController.class));
+		assertFalse(parent.exists(UserController.class));
+		assertSame(parent.inject(UserRepo.class), child.<UserController>inject(UserController.class).getUserRepo());
+	}
+
+}
@@ -0,0 +1,153 @@
+import net.tylerwade.ioc.Beans;
+import net.tylerwade.ioc.Container;
+import net.tylerwade.ioc.exception.CircularDependencyException;
+import net.tylerwade.ioc.exception.InvalidBeanTypeException;
+import net.tylerwade.ioc.exception.RequiredConstructorNotFound;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import testbeans.factory.HttpClient;
+import testbeans.factory.Poller;
+import testbeans.factory.Scheduler;
+import testbeans.factory.Settings;
+import testbeans.factory.WeatherService;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FactoryBindingTests {
+
+	@BeforeEach
+	void setUp() {
+
+		Beans.clear();
+	}
+
+	@AfterEach
+	void tearDown() {
+
+		Beans.unbind(HttpClient.class);
+		Beans.unbind(Scheduler.class);
+		Beans.unbind(Clock.class);
+		Beans.clear();
+	}
+
+	@Test
+	void factoryCreatesBeanWithDeclaredDependencies() {
+
+		AtomicInteger calls = new AtomicInteger();
+		Beans.bind(HttpClient.class, resolver -> {
+			calls.incrementAndGet();
+			return HttpClient.create(resolver.get(Settings.class).getBaseUrl());
+		}, Settings.class);
+
+		HttpClient client = Beans.inject(HttpClient.class);
+
+		assertEquals("https://weather.example", client.getBaseUrl());
+		assertSame(client, Beans.inject(HttpClient.class));
+		assertTrue(Beans.exists(Settings.class));
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	void factoryBeanIsInjectedIntoConstructors() {
+
+		Beans.bind(HttpClient.class, resolver -> HttpClient.create("https://local"));
+
+		WeatherService service = Beans.inject(WeatherService.class);
+
+		assertSame(Beans.inject(HttpClient.class), service.getClient());
+	}
+
+	@Test
+	void standardLibraryTypeCanBeBound() {
+
+		Clock fixed = Clock.fixed(Instant.EPOCH, ZoneOffset.UTC);
+		Beans.bind(Clock.class, resolver -> fixed);
+
+		assertSame(fixed, Beans.inject(Clock.class));
+	}
+
+	@Test
+	void undeclaredDependencyIsRejected() {
+
+		Beans.bind(HttpClient.class, resolver -> HttpClient.create(resolver.get(Settings.class).getBaseUrl()));
+
+		assertThrows(InvalidBeanTypeException.class, () -> Beans.inject(HttpClient.class));
+		assertFalse(Beans.exists(HttpClient.class));
+	}
+
+	@Test
+	void cycleThroughFactoryIsDetectedBeforeCreation() {
+
+		AtomicInteger calls = new AtomicInteger();
+		Beans.bind(Scheduler.class, resolver -> {
+			calls.incrementAndGet();
+			return Scheduler.create(resolver.get(Poller.class));
+		}, Poller.class);
+
+		CircularDependencyException e = assertThrows(CircularDependencyException.class, () -> Beans.inject(Poller.class));
+
+		assertTrue(e.getMessage().contains(Scheduler.class.getName()));
+		assertEquals(0, calls.get());
+	}
+
+	@Test
+	void factoryReturningNullFails() {
+
+		Beans.bind(HttpClient.class, resolver -> null);
+
+		assertThrows(IllegalStateException.class, () -> Beans.inject(HttpClient.class));
+		assertFalse(Beans.exists(HttpClient.class));
+	}
+
+	@Test
+	void factoryBeanIsClosedAfterItsDependents() {
+
+		Beans.bind(HttpClient.class, resolver -> HttpClient.create("https://local"));
+		WeatherService service = Beans.inject(WeatherService.class);
+
+		Beans.close();
+
+		assertTrue(service.wasConnectedAtShutdown());
+		assertTrue(service.getClient().isClosed());
+	}
+
+	@Test
+	void factoryBeanIsCreatedInAnEarlierLevel() {
+
+		Beans.bind(HttpClient.class, resolver -> HttpClient.create(resolver.get(Settings.class).getBaseUrl()), Settings.class);
+
+		Beans.initialize(WeatherService.class);
+
+		assertTrue(Beans.exists(Settings.class));
+		assertTrue(Beans.exists(HttpClient.class));
+		assertTrue(Beans.exists(WeatherService.class));
+	}
+
+	@Test
+	void unbindRestoresReflectiveCreation() {
+
+		Beans.bind(HttpClient.class, resolver -> HttpClient.create("https://local"));
+		Beans.unbind(HttpClient.class);
+
+		assertThrows(RequiredConstructorNotFound.class, () -> Beans.inject(HttpClient.class));
+	}
+
+	@Test
+	void childFactoryOverridesParentFactory() {
+
+		Container parent = new Container();
+		parent.bind(HttpClient.class, resolver -> HttpClient.create("https://parent"));
+		Container child = parent.createChild();
+		child.bind(HttpClient.class, resolver -> HttpClient.create("https://child"));
+
+		assertEquals("https://child", child.<HttpClient>inject(HttpClient.class).getBaseUrl());
+		assertEquals("https://parent", parent.<HttpClient>inject(HttpClient.class).getBaseUrl());
+	}
+
+}
@@ -1,8 +1,20 @@
+import net.tylerwade.ioc.exception.CircularDependencyException;
+import net.tylerwade.ioc.exception.InvalidBeanTypeException;
 import org.junit.jupiter.api.Test;
+import testbeans.field.AuditedService;
+import testbeans.field.FieldCycleA;
+import testbeans.field.FieldCycleB;
+import testbeans.field.FinalFieldBean;
+import testbeans.field.LazyFieldBean;
+import testbeans.field.QuietAuditedService;
+import testbeans.field.StringFieldBean;
+import testbeans.lazy.SmtpMailer;
 import testbeans.user.UserController;
 import testbeans.user.UserRepo;
 import testbeans.user.UserService;
 
+import java.util.List;
+
 import static net.tylerwade.ioc.Beans.*;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -33,4 +45,63 @@ public class FieldInjectionTests {
 		assertSame(userController.getUserRepo(), inject(UserRepo.class));
 	}
 
-}
\ No newline at end of file
+	@Test
+	void injectedFieldsAndSettersAreSet() {
+
+		AuditedService service = inject(AuditedService.class);
+
+		assertSame(inject(UserService.class), service.getUserService());
+		assertSame(inject(UserController.class), service.getUserController());
+		assertSame(inject(UserRepo.class), service.getUserRepo());
+	}
+
+	@Test
+	void superclassMembersAreInjectedFirst() {
+
+		AuditedService service = inject(AuditedService.class);
+
+		assertTrue(service.isSuperclassInjectedFirst());
+	}
+
+	@Test
+	void overriddenSetterWithoutInjectIsNotCalled() {
+
+		QuietAuditedService service = inject(QuietAuditedService.class);
+
+		assertNull(service.getUserController());
+		assertNotNull(service.getUserService());
+	}
+
+	@Test
+	void lazyFieldIsNotCreatedWithBean() {
+
+		remove(SmtpMailer.class);
+		LazyFieldBean bean = inject(LazyFieldBean.class);
+
+		assertFalse(exists(SmtpMailer.class));
+		assertEquals("Sent: Hello", bean.getMailer().send("Hello"));
+		assertTrue(exists(SmtpMailer.class));
+	}
+
+	@Test
+	void finalFieldIsRejected() {
+
+		assertThrows(InvalidBeanTypeException.class, () -> inject(FinalFieldBean.class));
+	}
+
+	@Test
+	void invalidFieldTypeIsRejected() {
+
+		assertThrows(InvalidBeanTypeException.class, () -> inject(StringFieldBean.class));
+	}
+
+	@Test
+	void circularDependencyThroughFieldIsDetected() {
+
+		CircularDependencyException e = assertThrows(CircularDependencyException.class, () -> inject(FieldCycleA.class));
+
+		assertEquals(List.of(FieldCycleA.class, FieldCycleB.class, FieldCycleA.class), e.getCycle());
+		assertFalse(exists(FieldCycleA.class));
+	}
+
+}
@@ -0,0 +1,170 @@
+import net.tylerwade.ioc.BeanRef;
+import net.tylerwade.ioc.Beans;
+import net.tylerwade.ioc.Container;
+import net.tylerwade.ioc.exception.FrozenContainerException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import testbeans.binding.AlertService;
+import testbeans.binding.Notifier;
+import testbeans.binding.SmsNotifier;
+import testbeans.user.UserController;
+import testbeans.user.UserRepo;
+import testbeans.user.UserService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FreezeTests {
+
+	private Container container;
+
+	@BeforeEach
+	void setUp() {
+
+		container = new Container();
+	}
+
+	@Test
+	void frozenContainerReturnsExistingBeans() {
+
+		UserController userController = container.inject(UserController.class);
+		container.freeze();
+
+		assertTrue(container.isFrozen());
+		assertSame(userController, container.inject(UserController.class));
+		assertSame(userController.getUserService(), container.inject(UserService.class));
+		assertSame(container.<UserService>inject(UserService.class), container.inject(UserService.class));
+	}
+
+	@Test
+	void frozenContainerResolvesBoundInterfaces() {
+
+		container.bind(Notifier.class, SmsNotifier.class);
+		AlertService alertService = container.inject(AlertService.class);
+		container.freeze();
+
+		assertSame(alertService.getNotifier(), container.inject(Notifier.class));
+		assertSame(alertService.getNotifier(), container.inject(SmsNotifier.class));
+	}
+
+	@Test
+	void creatingBeanAfterFreezeShouldThrow() throws Exception {
+
+		container.inject(UserRepo.class);
+		container.freeze();
+
+		FrozenContainerException exception = assertThrows(FrozenContainerException.class,
+				() -> container.inject(UserService.class));
+		assertEquals("create bean " + UserService.class.getName(), exception.getOperation());
+
+		CompletableFuture<UserService> future = container.injectAsync(UserService.class);
+		ExecutionException failure = assertThrows(ExecutionException.class, future::get);
+		assertInstanceOf(FrozenContainerException.class, failure.getCause());
+
+		assertFalse(container.exists(UserService.class));
+	}
+
+	@Test
+	void changesToFrozenContainerShouldThrow() {
+
+		container.inject(UserController.class);
+		container.freeze();
+
+		assertThrows(FrozenContainerException.class, () -> container.bind(Notifier.class, SmsNotifier.class));
+		assertThrows(FrozenContainerException.class, () -> container.bind(Notifier.class, ignored -> new SmsNotifier()));
+		assertThrows(FrozenContainerException.class, () -> container.unbind(Notifier.class));
+		assertThrows(FrozenContainerException.class, () -> container.registerComponents());
+		assertThrows(FrozenContainerException.class, () -> container.remove(UserRepo.class));
+		assertThrows(FrozenContainerException.class, () -> container.removeWithDependencies(UserController.class));
+		assertThrows(FrozenContainerException.class, () -> container.refresh(UserRepo.class));
+
+		assertTrue(container.exists(UserRepo.class));
+		assertNotNull(container.inject(UserController.class));
+	}
+
+	@Test
+	void initializeOfExistingBeansIsAllowed() {
+
+		UserController userController = container.inject(UserController.class);
+		container.freeze();
+
+		assertDoesNotThrow(() -> container.initialize(UserController.class));
+		assertSame(userController, container.inject(UserController.class));
+	}
+
+	@Test
+	void beanRefKeepsWorkingAfterFreeze() {
+
+		BeanRef<UserService> ref = container.ref(UserService.class);
+		UserService userService = ref.get();
+		container.freeze();
+
+		assertSame(userService, ref.get());
+	}
+
+	@Test
+	void clearAndCloseUnfreeze() {
+
+		UserRepo userRepo = container.inject(UserRepo.class);
+		container.freeze();
+		container.clear();
+
+		assertFalse(container.isFrozen());
+		assertNotSame(userRepo, container.inject(UserRepo.class));
+
+		container.freeze();
+		container.close();
+
+		assertFalse(container.isFrozen());
+		assertNotNull(container.inject(UserService.class));
+	}
+
+	@Test
+	void freezingChildIncludesParentBeans() {
+
+		UserRepo userRepo = container.inject(UserRepo.class);
+		Container child = container.createChild();
+		UserService userService = child.inject(UserService.class);
+		child.freeze();
+
+		assertSame(userRepo, child.inject(UserRepo.class));
+		assertSame(userService, child.inject(UserService.class));
+		assertFalse(container.isFrozen());
+	}
+
+	@Test
+	void frozenParentAllowsChildBeans() {
+
+		UserRepo userRepo = container.inject(UserRepo.class);
+		container.freeze();
+
+		Container child = container.createChild();
+		UserService userService = child.inject(UserService.class);
+
+		assertNotNull(userService);
+		assertSame(userRepo, child.inject(UserRepo.class));
+		assertThrows(FrozenContainerException.class, () -> container.inject(UserService.class));
+	}
+
+	@Test
+	void beansFreezeFreezesDefaultContainer() {
+
+		Beans.clear();
+		UserRepo userRepo = Beans.inject(UserRepo.class);
+
+		try {
+			Beans.freeze();
+
+			assertTrue(Beans.isFrozen());
+			assertSame(userRepo, Beans.inject(UserRepo.class));
+			assertThrows(FrozenContainerException.class, () -> Beans.remove(UserRepo.class));
+		} finally {
+			Beans.clear();
+		}
+
+		assertFalse(Beans.isFrozen());
+	}
+
+}
@@ -0,0 +1,42 @@
+import net.tylerwade.ioc.Beans;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import testbeans.generated.Dashboard;
+import testbeans.generated.Engine;
+import testbeans.user.UserRepo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeneratedFactoryTests {
+
+	@BeforeEach
+	void setUp() {
+
+		Beans.clear();
+	}
+
+	@Test
+	void generatedFactoryIsUsedWhenPresent() {
+
+		Engine engine = Beans.inject(Engine.class);
+
+		assertTrue(engine.isCreatedByFactory());
+	}
+
+	@Test
+	void generatedFactoryReceivesDependencies() {
+
+		Engine engine = Beans.inject(Engine.class);
+
+		assertSame(Beans.inject(UserRepo.class), engine.getUserRepo());
+	}
+
+	@Test
+	void generatedFactoryOfNestedClassIsFound() {
+
+		Dashboard.Gauge gauge = Beans.inject(Dashboard.Gauge.class);
+
+		assertTrue(gauge.isCreatedByFactory());
+	}
+
+}
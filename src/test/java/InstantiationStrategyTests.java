@@ -0,0 +1,166 @@
+import net.tylerwade.ioc.Beans;
+import net.tylerwade.ioc.InstantiationStrategy;
+import net.tylerwade.ioc.exception.BeanCreationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import testbeans.failing.ExplodingBean;
+import testbeans.instantiation.InflatingBean;
+import testbeans.user.UserController;
+import testbeans.user.UserRepo;
+import testbeans.user.UserService;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstantiationStrategyTests {
+
+	private InstantiationStrategy defaultStrategy;
+
+	@BeforeEach
+	void setUp() {
+
+		defaultStrategy = Beans.getInstantiationStrategy();
+		Beans.clear();
+	}
+
+	@AfterEach
+	void tearDown() {
+
+		Beans.setInstantiationStrategy(defaultStrategy);
+	}
+
+	private static Stream<InstantiationStrategy> strategies() {
+		return Stream.of(InstantiationStrategy.values());
+	}
+
+	@ParameterizedTest
+	@MethodSource("strategies")
+	void beansAreWiredWithEveryStrategy(InstantiationStrategy strategy) {
+
+		Beans.setInstantiationStrategy(strategy);
+
+		UserController userController = Beans.inject(UserController.class);
+
+		assertSame(Beans.inject(UserService.class), userController.getUserService());
+		assertSame(Beans.inject(UserRepo.class), userController.getUserRepo());
+	}
+
+	@ParameterizedTest
+	@MethodSource("strategies")
+	void repeatedlyRecreatedBeansAreWiredWithEveryStrategy(InstantiationStrategy strategy) {
+
+		Beans.setInstantiationStrategy(strategy);
+
+		for (int i = 0; i < 50; i++) {
+			Beans.remove(UserService.class);
+
+			UserService userService = Beans.inject(UserService.class);
+
+			assertNotNull(userService.getUserById(1L));
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource("strategies")
+	void constructorFailureIsWrappedWithEveryStrategy(InstantiationStrategy strategy) {
+
+		Beans.setInstantiationStrategy(strategy);
+
+		for (int i = 0; i < 50; i++) {
+			BeanCreationException e = assertThrows(BeanCreationException.class, () -> Beans.inject(ExplodingBean.class));
+
+			assertInstanceOf(IllegalStateException.class, e.getCause());
+			assertEquals("Boom", e.getCause().getMessage());
+		}
+	}
+
+	@Test
+	void methodHandleStrategySwitchesToHandleOnceHot() {
+
+		Beans.setInstantiationStrategy(InstantiationStrategy.METHOD_HANDLE);
+		InflatingBean.reflective.clear();
+		InflatingBean.constantHandle.clear();
+
+		try {
+			for (int i = 0; i < 40; i++) {
+				InflatingBean.fail = i % 5 == 0;
+				Beans.remove(InflatingBean.class);
+
+				if (InflatingBean.fail) {
+					BeanCreationException e = assertThrows(BeanCreationException.class, () -> Beans.inject(InflatingBean.class));
+					assertInstanceOf(IllegalStateException.class, e.getCause());
+					assertEquals("Boom", e.getCause().getMessage());
+				} else {
+					InflatingBean bean = Beans.inject(InflatingBean.class);
+					assertSame(Beans.inject(UserRepo.class), bean.getUserRepo());
+				}
+			}
+		} finally {
+			InflatingBean.fail = false;
+		}
+
+		// Reflection for the first calls, then the handle for good.
+		List<Boolean> reflective = InflatingBean.reflective;
+		int switched = reflective.indexOf(false);
+
+		assertTrue(reflective.getFirst());
+		assertTrue(switched > 0, "constructor was never invoked through a method handle");
+		assertFalse(reflective.subList(switched, reflective.size()).contains(true));
+		assertTrue(switched < 20, "constructor was invoked through reflection " + switched + " times");
+
+		// The handle is a constant of a hidden class, not captured by a lambda.
+		List<Boolean> constantHandle = InflatingBean.constantHandle;
+		assertFalse(constantHandle.subList(switched, constantHandle.size()).contains(false));
+	}
+
+	@Test
+	void systemPropertyIsReadIndependentOfLocaleAndFallsBackWhenUnknown() throws Exception {
+
+		Locale defaultLocale = Locale.getDefault();
+
+		try {
+			Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+
+			assertEquals("REFLECTION", strategyFromProperty("reflection"));
+			assertEquals("METHOD_HANDLE", strategyFromProperty("method-handle"));
+			assertEquals("METHOD_HANDLE", strategyFromProperty("reflektion"));
+		} finally {
+			Locale.setDefault(defaultLocale);
+		}
+	}
+
+	/**
+	 * Loads the container in a class loader of its own, so its default strategy is read from the property again.
+	 */
+	private static String strategyFromProperty(String value) throws Exception {
+
+		String previous = System.setProperty("net.tylerwade.ioc.instantiation", value);
+
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[]{
+				Beans.class.getProtectionDomain().getCodeSource().getLocation(),
+				UserRepo.class.getProtectionDomain().getCodeSource().getLocation(),
+				org.slf4j.LoggerFactory.class.getProtectionDomain().getCodeSource().getLocation()
+		}, ClassLoader.getPlatformClassLoader())) {
+			Class<?> beans = Class.forName(Beans.class.getName(), true, classLoader);
+			Object userRepo = beans.getMethod("inject", Class.class).invoke(null, Class.forName(UserRepo.class.getName(), true, classLoader));
+
+			assertNotNull(userRepo);
+			return beans.getMethod("getInstantiationStrategy").invoke(null).toString();
+		} finally {
+			if (previous == null) {
+				System.clearProperty("net.tylerwade.ioc.instantiation");
+			} else {
+				System.setProperty("net.tylerwade.ioc.instantiation", previous);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,201 @@
+import net.tylerwade.ioc.BeanListener;
+import net.tylerwade.ioc.BeanMetrics;
+import net.tylerwade.ioc.Beans;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import testbeans.failing.BrokenStaticBean;
+import testbeans.failing.ExplodingBean;
+import testbeans.instrumentation.GatedBean;
+import testbeans.user.UserController;
+import testbeans.user.UserRepo;
+import testbeans.user.UserService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstrumentationTests {
+
+	private final RecordingListener listener = new RecordingListener();
+
+	@BeforeEach
+	void setUp() {
+
+		Beans.clear();
+		Beans.addListener(listener);
+		GatedBean.reset();
+	}
+
+	@AfterEach
+	void tearDown() {
+
+		Beans.removeListener(listener);
+	}
+
+	@Test
+	void injectCountsHitsAndMisses() {
+
+		BeanMetrics before = Beans.getMetrics();
+
+		Beans.inject(UserController.class);
+		Beans.inject(UserController.class);
+		Beans.inject(UserService.class);
+
+		BeanMetrics after = Beans.getMetrics();
+
+		assertEquals(3, after.injectMisses() - before.injectMisses());
+		// UserController gets the UserRepo that UserService already created, then two direct hits.
+		assertEquals(3, after.injectHits() - before.injectHits());
+		assertEquals(3, after.creations() - before.creations());
+	}
+
+	@Test
+	void listenerIsNotifiedOfCreations() {
+
+		Beans.inject(UserController.class);
+
+		assertEquals(List.of(UserRepo.class, UserService.class, UserController.class), listener.created);
+		assertEquals(Map.of(UserRepo.class, 0, UserService.class, 1, UserController.class, 2), listener.dependencyCounts);
+	}
+
+	@Test
+	void listenerIsNotifiedOfFailures() {
+
+		BeanMetrics before = Beans.getMetrics();
+
+		assertThrows(RuntimeException.class, () -> Beans.inject(ExplodingBean.class));
+
+		assertEquals(List.of(ExplodingBean.class), listener.failed);
+		assertEquals(1, Beans.getMetrics().failures() - before.failures());
+	}
+
+	@Test
+	void listenerIsNotifiedOfErrors() {
+
+		BeanMetrics before = Beans.getMetrics();
+
+		assertThrows(ExceptionInInitializerError.class, () -> Beans.inject(BrokenStaticBean.class));
+
+		assertEquals(List.of(BrokenStaticBean.class), listener.failed);
+		assertEquals(1, Beans.getMetrics().failures() - before.failures());
+
+		// The failed creation left no timing frame behind, the next one on this thread is timed normally.
+		Beans.inject(UserController.class);
+		assertEquals(List.of(UserRepo.class, UserService.class, UserController.class), listener.created);
+	}
+
+	@Test
+	void removedListenerIsNotNotified() {
+
+		Beans.removeListener(listener);
+
+		Beans.inject(UserRepo.class);
+
+		assertTrue(listener.created.isEmpty());
+	}
+
+	@Test
+	void failingListenerDoesNotBreakInjection() {
+
+		BeanListener failing = new BeanListener() {
+			@Override
+			public void beanCreated(Class<?> beanType, int dependencyCount, long durationNanos) {
+				throw new IllegalStateException("Listener failure");
+			}
+		};
+
+		Beans.addListener(failing);
+
+		try {
+			assertNotNull(Beans.inject(UserRepo.class));
+		} finally {
+			Beans.removeListener(failing);
+		}
+	}
+
+	@Test
+	void waitingForAnotherThreadsCreationIsCounted() throws Exception {
+
+		BeanMetrics before = Beans.getMetrics();
+
+		Thread creator = Thread.ofVirtual().start(() -> Beans.inject(GatedBean.class));
+		assertTrue(GatedBean.entered.await(5, TimeUnit.SECONDS));
+
+		Thread waiter = Thread.ofPlatform().start(() -> Beans.inject(GatedBean.class));
+		while (waiter.getState() != Thread.State.WAITING) {
+			Thread.onSpinWait();
+		}
+
+		GatedBean.release.countDown();
+		creator.join();
+		waiter.join();
+
+		assertEquals(1, Beans.getMetrics().waits() - before.waits());
+		assertEquals(List.of(GatedBean.class), listener.awaited);
+	}
+
+	@Test
+	void creationsAreRecordedAsFlightRecorderEvents() throws Exception {
+
+		Path file = Files.createTempFile("ioc", ".jfr");
+
+		try (Recording recording = new Recording()) {
+			recording.enable("net.tylerwade.ioc.BeanCreation").withThreshold(java.time.Duration.ZERO);
+			recording.start();
+
+			Beans.inject(UserController.class);
+
+			recording.stop();
+			recording.dump(file);
+
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+			RecordedEvent controller = events.stream()
+					.filter(e -> e.getEventType().getName().equals("net.tylerwade.ioc.BeanCreation"))
+					.filter(e -> e.<RecordedClass>getValue("beanType").getName().equals(UserController.class.getName()))
+					.findFirst()
+					.orElseThrow();
+
+			assertEquals(2, controller.getInt("dependencyCount"));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private static final class RecordingListener implements BeanListener {
+
+		private final List<Class<?>> created = new CopyOnWriteArrayList<>();
+		private final List<Class<?>> failed = new CopyOnWriteArrayList<>();
+		private final List<Class<?>> awaited = new CopyOnWriteArrayList<>();
+		private final Map<Class<?>, Integer> dependencyCounts = new ConcurrentHashMap<>();
+
+		@Override
+		public void beanCreated(Class<?> beanType, int dependencyCount, long durationNanos) {
+			created.add(beanType);
+			dependencyCounts.put(beanType, dependencyCount);
+		}
+
+		@Override
+		public void beanCreationFailed(Class<?> beanType, Throwable cause) {
+			failed.add(beanType);
+		}
+
+		@Override
+		public void beanAwaited(Class<?> beanType, long waitNanos) {
+			awaited.add(beanType);
+		}
+	}
+
+}
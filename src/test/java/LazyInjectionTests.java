@@ -0,0 +1,84 @@
+import net.tylerwade.ioc.Beans;
+import net.tylerwade.ioc.exception.InvalidBeanTypeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import testbeans.lazy.CronScheduler;
+import testbeans.lazy.Dispatcher;
+import testbeans.lazy.EagerMailerClient;
+import testbeans.lazy.Newsletter;
+import testbeans.lazy.SmtpMailer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyInjectionTests {
+
+	@BeforeEach
+	void setUp() {
+
+		Beans.clear();
+		SmtpMailer.instances.set(0);
+	}
+
+	@Test
+	void lazyDependencyIsNotCreatedWithBean() {
+
+		Beans.inject(Newsletter.class);
+
+		assertFalse(Beans.exists(SmtpMailer.class));
+		assertEquals(0, SmtpMailer.instances.get());
+	}
+
+	@Test
+	void lazyDependencyIsCreatedOnFirstCall() {
+
+		Newsletter newsletter = Beans.inject(Newsletter.class);
+
+		assertEquals("Sent: Issue 1", newsletter.publish("Issue 1"));
+		assertEquals("Sent: Issue 2", newsletter.publish("Issue 2"));
+
+		assertTrue(Beans.exists(SmtpMailer.class));
+		assertEquals(1, SmtpMailer.instances.get());
+	}
+
+	@Test
+	void objectMethodsDoNotCreateLazyDependency() {
+
+		Newsletter newsletter = Beans.inject(Newsletter.class);
+		Object mailer = newsletter.getMailer();
+
+		assertTrue(mailer.toString().contains(SmtpMailer.class.getName()));
+		assertEquals(System.identityHashCode(mailer), mailer.hashCode());
+		assertTrue(mailer.equals(mailer));
+		assertFalse(mailer.equals(newsletter));
+
+		assertFalse(Beans.exists(SmtpMailer.class));
+		assertEquals(0, SmtpMailer.instances.get());
+	}
+
+	@Test
+	void lazyDependencyIsSingletonBean() {
+
+		Newsletter newsletter = Beans.inject(Newsletter.class);
+		newsletter.publish("Issue 1");
+
+		assertNotSame(Beans.inject(SmtpMailer.class), newsletter.getMailer());
+		assertEquals(1, SmtpMailer.instances.get());
+	}
+
+	@Test
+	void lazyDependencyBreaksCircularDependency() {
+
+		CronScheduler scheduler = Beans.inject(CronScheduler.class);
+		Dispatcher dispatcher = Beans.inject(Dispatcher.class);
+
+		assertSame(dispatcher, scheduler.getDispatcher());
+		assertSame(dispatcher, dispatcher.getScheduler().getDispatcher());
+	}
+
+	@Test
+	void lazyClassDependencyShouldThrow() {
+
+		assertThrows(InvalidBeanTypeException.class, () -> Beans.inject(EagerMailerClient.class));
+	}
+
+}
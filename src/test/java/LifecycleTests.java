@@ -0,0 +1,164 @@
+import net.tylerwade.ioc.Container;
+import net.tylerwade.ioc.exception.BeanDestructionException;
+import net.tylerwade.ioc.exception.InvalidBeanTypeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import testbeans.lifecycle.FailingClient;
+import testbeans.lifecycle.Gateway;
+import testbeans.lifecycle.HangingClient;
+import testbeans.lifecycle.InvalidDestroyBean;
+import testbeans.lifecycle.Pool;
+import testbeans.lifecycle.Service;
+import testbeans.lifecycle.ShutdownLog;
+import testbeans.lifecycle.SubResource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LifecycleTests {
+
+	private Container container;
+
+	@BeforeEach
+	void setUp() {
+
+		container = new Container();
+		ShutdownLog.reset();
+	}
+
+	@Test
+	void beansAreDestroyedInReverseDependencyOrder() {
+
+		container.inject(Service.class);
+
+		container.close();
+
+		assertEquals(List.of("Service", "Repository", "Pool"), ShutdownLog.events());
+		assertFalse(container.exists(Service.class));
+		assertFalse(container.exists(Pool.class));
+	}
+
+	@Test
+	void subclassDestroyMethodsRunFirst() {
+
+		container.inject(SubResource.class);
+
+		container.close();
+
+		assertEquals(List.of("SubResource", "BaseResource"), ShutdownLog.events());
+	}
+
+	@Test
+	void independentBeansAreDestroyedConcurrently() {
+
+		container.inject(Gateway.class);
+
+		container.close();
+
+		assertEquals(2, ShutdownLog.events().size());
+	}
+
+	@Test
+	void slowBeanTimesOutAndTeardownContinues() {
+
+		container.inject(HangingClient.class);
+
+		try {
+			container.close(Duration.ofMillis(100));
+
+			assertEquals(List.of("Pool"), ShutdownLog.events());
+		} finally {
+			ShutdownLog.release.countDown();
+		}
+	}
+
+	@Test
+	void failedDestroyIsReportedAfterTeardown() {
+
+		container.inject(FailingClient.class);
+
+		BeanDestructionException e = assertThrows(BeanDestructionException.class, container::close);
+
+		assertEquals(FailingClient.class, e.getClazz());
+		assertInstanceOf(IOException.class, e.getCause());
+		assertEquals(List.of("Pool"), ShutdownLog.events());
+	}
+
+	@Test
+	void clearDoesNotDestroy() {
+
+		container.inject(Service.class);
+
+		container.clear();
+
+		assertEquals(List.of(), ShutdownLog.events());
+	}
+
+	@Test
+	void removeDestroysOnlyTheRemovedBean() {
+
+		container.inject(Service.class);
+
+		container.remove(Service.class);
+
+		assertEquals(List.of("Service"), ShutdownLog.events());
+		assertTrue(container.exists(Pool.class));
+	}
+
+	@Test
+	void removeWithDependenciesDestroysInReverseDependencyOrder() {
+
+		container.inject(Service.class);
+
+		container.removeWithDependencies(Service.class);
+
+		assertEquals(List.of("Service", "Repository", "Pool"), ShutdownLog.events());
+		assertFalse(container.exists(Pool.class));
+	}
+
+	@Test
+	void refreshDestroysOldInstancesInReverseDependencyOrder() {
+
+		container.inject(Service.class);
+		Pool pool = container.inject(Pool.class);
+
+		container.refresh(Pool.class);
+
+		assertEquals(List.of("Service", "Repository", "Pool"), ShutdownLog.events());
+		assertNotSame(pool, container.inject(Pool.class));
+		assertTrue(container.exists(Service.class));
+	}
+
+	@Test
+	void containerIsUsableAfterClose() {
+
+		Pool pool = container.inject(Pool.class);
+
+		container.close();
+
+		assertNotSame(pool, container.inject(Pool.class));
+	}
+
+	@Test
+	void closeLeavesParentBeansAlone() {
+
+		container.inject(Pool.class);
+		Container child = container.createChild();
+		child.inject(Service.class);
+
+		child.close();
+
+		assertEquals(List.of("Service", "Repository"), ShutdownLog.events());
+		assertTrue(container.exists(Pool.class));
+	}
+
+	@Test
+	void invalidDestroyMethodIsRejected() {
+
+		assertThrows(InvalidBeanTypeException.class, () -> container.inject(InvalidDestroyBean.class));
+	}
+
+}
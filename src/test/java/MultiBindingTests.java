@@ -0,0 +1,126 @@
+import net.tylerwade.ioc.Container;
+import net.tylerwade.ioc.exception.CircularDependencyException;
+import net.tylerwade.ioc.exception.InvalidBeanTypeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import testbeans.multi.HomeRoute;
+import testbeans.multi.LoopRoute;
+import testbeans.multi.NameList;
+import testbeans.multi.NumberedRoutes;
+import testbeans.multi.PluginHost;
+import testbeans.multi.RawRouter;
+import testbeans.multi.Route;
+import testbeans.multi.RouteAuditor;
+import testbeans.multi.RouteTable;
+import testbeans.multi.Router;
+import testbeans.multi.UserRoute;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MultiBindingTests {
+
+	private Container container;
+
+	@BeforeEach
+	void setUp() {
+
+		container = new Container();
+
+		// The routes are listed in their own component index, so they are only registered by these tests.
+		Thread thread = Thread.currentThread();
+		ClassLoader previous = thread.getContextClassLoader();
+		URL index = MultiBindingTests.class.getResource("/multi/");
+
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[]{index}, MultiBindingTests.class.getClassLoader())) {
+			thread.setContextClassLoader(classLoader);
+			container.registerComponents();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			thread.setContextClassLoader(previous);
+		}
+	}
+
+	@Test
+	void listContainsEveryImplementationInRegistrationOrder() {
+
+		Router router = container.inject(Router.class);
+
+		assertEquals(List.of("/", "/users"), router.getRoutes().stream().map(Route::path).toList());
+		assertSame(container.inject(HomeRoute.class), router.getRoutes().get(0));
+		assertSame(container.inject(UserRoute.class), router.getRoutes().get(1));
+	}
+
+	@Test
+	void mapIsKeyedByBeanName() {
+
+		RouteTable table = container.inject(RouteTable.class);
+
+		assertEquals(List.of("homeRoute", "users"), List.copyOf(table.getRoutes().keySet()));
+		assertSame(container.inject(UserRoute.class), table.getRoutes().get("users"));
+	}
+
+	@Test
+	void collectionIsSharedByAllConsumers() {
+
+		Router router = container.inject(Router.class);
+		RouteAuditor auditor = container.inject(RouteAuditor.class);
+
+		assertSame(router.getRoutes(), auditor.getRoutes());
+		assertThrows(UnsupportedOperationException.class, () -> router.getRoutes().add(new HomeRoute()));
+	}
+
+	@Test
+	void listIsEmptyWithoutImplementations() {
+
+		assertTrue(container.<PluginHost>inject(PluginHost.class).getPlugins().isEmpty());
+	}
+
+	@Test
+	void refreshingAnElementRebuildsTheCollection() {
+
+		Router router = container.inject(Router.class);
+
+		List<Class<?>> refreshed = container.refresh(HomeRoute.class);
+		Router refreshedRouter = container.inject(Router.class);
+
+		assertEquals(List.of(HomeRoute.class, Router.class), refreshed);
+		assertNotSame(router, refreshedRouter);
+		assertSame(container.inject(HomeRoute.class), refreshedRouter.getRoutes().get(0));
+		assertSame(router.getRoutes().get(1), refreshedRouter.getRoutes().get(1));
+	}
+
+	@Test
+	void cycleThroughMultiBindingIsDetected() {
+
+		Container child = container.createChild();
+		child.bind(Route.class, LoopRoute.class);
+
+		assertThrows(CircularDependencyException.class, () -> child.inject(Router.class));
+	}
+
+	@Test
+	void mapMustBeKeyedByString() {
+
+		assertThrows(InvalidBeanTypeException.class, () -> container.inject(NumberedRoutes.class));
+	}
+
+	@Test
+	void rawListIsRejected() {
+
+		assertThrows(InvalidBeanTypeException.class, () -> container.inject(RawRouter.class));
+	}
+
+	@Test
+	void elementTypeMustBeInterfaceOrAbstractClass() {
+
+		assertThrows(InvalidBeanTypeException.class, () -> container.inject(NameList.class));
+	}
+
+}
@@ -0,0 +1,65 @@
+import net.tylerwade.ioc.Beans;
+import net.tylerwade.ioc.exception.CircularDependencyException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import testbeans.circulardependency.ClassA;
+import testbeans.parallel.SlowA;
+import testbeans.parallel.SlowB;
+import testbeans.parallel.SlowRoot;
+import testbeans.user.UserController;
+import testbeans.user.UserRepo;
+import testbeans.user.UserService;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelInitializationTests {
+
+	@BeforeEach
+	void setUp() {
+
+		Beans.clear();
+	}
+
+	@Test
+	void initializeCreatesRootsAndDependencies() {
+
+		Beans.initialize(UserController.class);
+
+		assertTrue(Beans.exists(UserController.class));
+		assertTrue(Beans.exists(UserService.class));
+		assertTrue(Beans.exists(UserRepo.class));
+
+		UserController userController = Beans.inject(UserController.class);
+		assertSame(Beans.inject(UserService.class), userController.getUserService());
+	}
+
+	@Test
+	void independentBeansAreCreatedConcurrently() {
+
+		Beans.initialize(SlowRoot.class);
+
+		SlowRoot root = Beans.inject(SlowRoot.class);
+		assertSame(Beans.inject(SlowA.class), root.getSlowA());
+		assertSame(Beans.inject(SlowB.class), root.getSlowB());
+	}
+
+	@Test
+	void initializeUsesGivenExecutor() {
+
+		try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+			Beans.initialize(executor, SlowRoot.class);
+		}
+
+		assertTrue(Beans.exists(SlowRoot.class));
+	}
+
+	@Test
+	void initializeWithCircularDependencyShouldThrow() {
+
+		assertThrows(CircularDependencyException.class, () -> Beans.initialize(ClassA.class));
+	}
+
+}
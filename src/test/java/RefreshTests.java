@@ -0,0 +1,116 @@
+import net.tylerwade.ioc.BeanRef;
+import net.tylerwade.ioc.Beans;
+import net.tylerwade.ioc.Container;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import testbeans.refresh.ApiClient;
+import testbeans.refresh.AuditJob;
+import testbeans.refresh.Credentials;
+import testbeans.refresh.ReportJob;
+import testbeans.user.UserController;
+import testbeans.user.UserRepo;
+import testbeans.user.UserService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RefreshTests {
+
+	private Container container;
+
+	@BeforeEach
+	void setUp() {
+
+		container = new Container();
+	}
+
+	@Test
+	void refreshRecreatesBeanAndDependentsInOrder() {
+
+		ReportJob reportJob = container.inject(ReportJob.class);
+		UserRepo userRepo = container.inject(UserRepo.class);
+		int version = reportJob.getApiClient().getCredentials().getVersion();
+
+		List<Class<?>> refreshed = container.refresh(Credentials.class);
+
+		ReportJob refreshedJob = container.inject(ReportJob.class);
+
+		assertEquals(List.of(Credentials.class, ApiClient.class, ReportJob.class), refreshed);
+		assertNotSame(reportJob, refreshedJob);
+		assertSame(container.inject(Credentials.class), refreshedJob.getApiClient().getCredentials());
+		assertTrue(refreshedJob.getApiClient().getCredentials().getVersion() > version);
+		assertSame(userRepo, refreshedJob.getUserRepo());
+	}
+
+	@Test
+	void refreshOnlyRecreatesLiveDependents() {
+
+		container.inject(ApiClient.class);
+		UserRepo userRepo = container.inject(UserRepo.class);
+
+		List<Class<?>> refreshed = container.refresh(Credentials.class);
+
+		assertEquals(List.of(Credentials.class, ApiClient.class), refreshed);
+		assertFalse(container.exists(ReportJob.class));
+		assertSame(userRepo, container.inject(UserRepo.class));
+	}
+
+	@Test
+	void refreshOfMissingBeanDoesNothing() {
+
+		assertEquals(List.of(), container.refresh(Credentials.class));
+		assertFalse(container.exists(Credentials.class));
+	}
+
+	@Test
+	void sharedDependencyIsRefreshedBeforeAllDependents() {
+
+		UserController userController = container.inject(UserController.class);
+
+		List<Class<?>> refreshed = container.refresh(UserRepo.class);
+
+		assertEquals(3, refreshed.size());
+		assertEquals(UserRepo.class, refreshed.getFirst());
+		assertTrue(refreshed.indexOf(UserService.class) < refreshed.indexOf(UserController.class));
+		assertNotSame(userController, container.inject(UserController.class));
+		assertSame(container.inject(UserRepo.class), container.<UserController>inject(UserController.class).getUserRepo());
+	}
+
+	@Test
+	void refHandleFollowsRefresh() {
+
+		BeanRef<ApiClient> ref = container.ref(ApiClient.class);
+		ApiClient apiClient = ref.get();
+
+		container.refresh(Credentials.class);
+
+		assertNotSame(apiClient, ref.get());
+		assertSame(container.inject(ApiClient.class), ref.get());
+	}
+
+	@Test
+	void removeWithDependenciesKeepsDependenciesStillInUse() {
+
+		container.inject(ReportJob.class);
+		AuditJob auditJob = container.inject(AuditJob.class);
+
+		container.removeWithDependencies(ReportJob.class);
+
+		assertFalse(container.exists(ReportJob.class));
+		assertFalse(container.exists(ApiClient.class));
+		assertFalse(container.exists(UserRepo.class));
+		assertSame(auditJob.getCredentials(), container.inject(Credentials.class));
+	}
+
+	@Test
+	void facadeRefreshesDefaultContainer() {
+
+		Beans.clear();
+		ApiClient apiClient = Beans.inject(ApiClient.class);
+
+		assertEquals(List.of(Credentials.class, ApiClient.class), Beans.refresh(Credentials.class));
+		assertNotSame(apiClient, Beans.inject(ApiClient.class));
+	}
+
+}
@@ -0,0 +1,141 @@
+import net.tylerwade.ioc.BeanTiming;
+import net.tylerwade.ioc.Container;
+import net.tylerwade.ioc.StartupProfiler;
+import net.tylerwade.ioc.StartupReport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import testbeans.profile.QuickCache;
+import testbeans.profile.ReportController;
+import testbeans.profile.ReportService;
+import testbeans.profile.SlowRepository;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StartupProfilerTests {
+
+	private static final long SLEEP_NANOS = Duration.ofMillis(50).toNanos();
+
+	private Container container;
+
+	@BeforeEach
+	void setUp() {
+
+		container = new Container();
+	}
+
+	private static BeanTiming timing(StartupReport report, Class<?> beanType) {
+
+		return report.getBeans().stream()
+				.filter(bean -> bean.beanType() == beanType)
+				.findFirst()
+				.orElseThrow();
+	}
+
+	@Test
+	void ownTimeExcludesDependencies() {
+
+		StartupProfiler profiler = StartupProfiler.start(container);
+		container.inject(ReportController.class);
+		StartupReport report = profiler.stop();
+
+		BeanTiming repository = timing(report, SlowRepository.class);
+		BeanTiming service = timing(report, ReportService.class);
+
+		assertTrue(repository.selfNanos() >= SLEEP_NANOS);
+		assertTrue(service.inclusiveNanos() >= SLEEP_NANOS);
+		assertTrue(service.selfNanos() < SLEEP_NANOS);
+		assertEquals(List.of(SlowRepository.class, QuickCache.class), service.dependencies());
+	}
+
+	@Test
+	void criticalPathFollowsTheSlowestChain() {
+
+		StartupProfiler profiler = StartupProfiler.start(container);
+		container.initialize(ReportController.class);
+		StartupReport report = profiler.stop();
+
+		assertEquals(List.of(SlowRepository.class, ReportService.class, ReportController.class), report.getCriticalPath());
+		assertTrue(report.getCriticalPathNanos() >= SLEEP_NANOS);
+		assertEquals(4, report.getBeans().size());
+	}
+
+	@Test
+	void beansCreatedBeforeStartAreNotReported() {
+
+		container.inject(QuickCache.class);
+
+		StartupProfiler profiler = StartupProfiler.start(container);
+		container.inject(ReportService.class);
+		StartupReport report = profiler.stop();
+
+		assertEquals(List.of(SlowRepository.class, ReportService.class), report.getBeans().stream().map(BeanTiming::beanType).toList());
+		assertEquals(List.of(SlowRepository.class), timing(report, ReportService.class).dependencies());
+	}
+
+	@Test
+	void beansOfOtherContainersAreNotReported() {
+
+		StartupProfiler profiler = StartupProfiler.start(container);
+		new Container().inject(QuickCache.class);
+		StartupReport report = profiler.stop();
+
+		assertTrue(report.getBeans().isEmpty());
+		assertTrue(report.getCriticalPath().isEmpty());
+	}
+
+	@Test
+	void dependenciesCreatedByParentAreLeftOut() {
+
+		Container child = container.createChild();
+
+		StartupProfiler profiler = StartupProfiler.start(child);
+		container.inject(SlowRepository.class);
+		child.inject(ReportService.class);
+		StartupReport report = profiler.stop();
+
+		assertEquals(List.of(QuickCache.class, ReportService.class), report.getBeans().stream().map(BeanTiming::beanType).toList());
+		assertEquals(List.of(QuickCache.class), timing(report, ReportService.class).dependencies());
+		assertEquals(List.of(QuickCache.class, ReportService.class), report.getCriticalPath());
+	}
+
+	@Test
+	void dependenciesRemovedBeforeStopAreLeftOut() {
+
+		StartupProfiler profiler = StartupProfiler.start(container);
+		container.inject(ReportService.class);
+		container.remove(SlowRepository.class);
+		StartupReport report = profiler.stop();
+
+		assertEquals(List.of(QuickCache.class), timing(report, ReportService.class).dependencies());
+		assertFalse(report.getCriticalPath().contains(SlowRepository.class));
+	}
+
+	@Test
+	void dotExportMarksTheCriticalPath() {
+
+		StartupProfiler profiler = StartupProfiler.start(container);
+		container.inject(ReportService.class);
+		String dot = profiler.stop().toDot();
+
+		assertTrue(dot.startsWith("digraph beans {"));
+		assertTrue(dot.contains("\"testbeans.profile.ReportService\" -> \"testbeans.profile.SlowRepository\" [color=red];"));
+		assertTrue(dot.contains("\"testbeans.profile.ReportService\" -> \"testbeans.profile.QuickCache\";"));
+		assertTrue(dot.contains("[label=\"QuickCache\\nself "));
+	}
+
+	@Test
+	void jsonExportListsTimingsAndCriticalPath() {
+
+		StartupProfiler profiler = StartupProfiler.start(container);
+		container.inject(ReportService.class);
+		String json = profiler.stop().toJson();
+
+		assertTrue(json.contains("\"criticalPath\": [\"testbeans.profile.SlowRepository\", \"testbeans.profile.ReportService\"]"));
+		assertTrue(json.contains("{\"type\": \"testbeans.profile.ReportService\", \"selfNanos\": "));
+		assertTrue(json.contains("\"dependencies\": [\"testbeans.profile.SlowRepository\", \"testbeans.profile.QuickCache\"]}"));
+	}
+
+}
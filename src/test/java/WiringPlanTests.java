@@ -0,0 +1,225 @@
+import net.tylerwade.ioc.Beans;
+import net.tylerwade.ioc.annotation.Inject;
+import net.tylerwade.ioc.exception.CircularDependencyException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import testbeans.circulardependency.ClassA;
+import testbeans.diamond.Bottom;
+import testbeans.diamond.Left;
+import testbeans.diamond.Right;
+import testbeans.diamond.Top;
+import testbeans.multi.HomeRoute;
+import testbeans.multi.LoopRoute;
+import testbeans.multi.Route;
+import testbeans.multi.Router;
+import testbeans.user.UserController;
+import testbeans.user.UserRepo;
+import testbeans.user.UserService;
+
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WiringPlanTests {
+
+	private static final FileTime STALE = FileTime.fromMillis(0);
+
+	@TempDir
+	Path tempDir;
+
+	private Path plan;
+
+	@BeforeEach
+	void setUp() {
+
+		Beans.clear();
+		plan = tempDir.resolve("wiring.plan");
+	}
+
+	@Test
+	void firstStartResolvesBeansAndWritesPlan() throws Exception {
+
+		Beans.initialize(plan, UserController.class);
+
+		assertTrue(Beans.exists(UserController.class));
+		assertTrue(Beans.exists(UserService.class));
+		assertTrue(Beans.exists(UserRepo.class));
+		assertTrue(Files.size(plan) > 0);
+	}
+
+	@Test
+	void nextStartUsesPlanWithoutRewritingIt() throws Exception {
+
+		Beans.initialize(plan, UserController.class);
+		Files.setLastModifiedTime(plan, STALE);
+		Beans.clear();
+
+		Beans.initialize(plan, UserController.class);
+
+		UserController userController = Beans.inject(UserController.class);
+		assertSame(Beans.inject(UserService.class), userController.getUserService());
+		assertSame(Beans.inject(UserRepo.class), userController.getUserRepo());
+		assertEquals(STALE, Files.getLastModifiedTime(plan));
+	}
+
+	@Test
+	void planCreatesSharedDependenciesOnce() throws Exception {
+
+		Beans.initialize(plan, Top.class);
+		Beans.clear();
+
+		Beans.initialize(plan, Top.class);
+
+		Top top = Beans.inject(Top.class);
+		Bottom bottom = Beans.inject(Bottom.class);
+		assertSame(Beans.inject(Left.class), top.getLeft());
+		assertSame(Beans.inject(Right.class), top.getRight());
+		assertSame(bottom, top.getLeft().getBottom());
+		assertSame(bottom, top.getRight().getBottom());
+	}
+
+	@Test
+	void planForOtherRootsIsReplaced() throws Exception {
+
+		Beans.initialize(plan, UserController.class);
+		Files.setLastModifiedTime(plan, STALE);
+		Beans.clear();
+
+		Beans.initialize(plan, Top.class);
+
+		assertTrue(Beans.exists(Top.class));
+		assertFalse(Beans.exists(UserController.class));
+		assertNotEquals(STALE, Files.getLastModifiedTime(plan));
+	}
+
+	@Test
+	void unreadablePlanFallsBackToFullResolution() throws Exception {
+
+		Files.writeString(plan, "not a wiring plan");
+		Files.setLastModifiedTime(plan, STALE);
+
+		Beans.initialize(plan, UserController.class);
+
+		assertTrue(Beans.exists(UserController.class));
+		assertNotEquals(STALE, Files.getLastModifiedTime(plan));
+	}
+
+	@Test
+	void circularDependencyIsNotRecorded() {
+
+		assertThrows(CircularDependencyException.class, () -> Beans.initialize(plan, ClassA.class));
+
+		assertFalse(Files.exists(plan));
+	}
+
+	@Test
+	void planWithFactoryBindingIsUsed() throws Exception {
+
+		Beans.bind(UserRepo.class, resolver -> new UserRepo());
+
+		try {
+			Beans.initialize(plan, UserController.class);
+			Files.setLastModifiedTime(plan, STALE);
+			Beans.clear();
+
+			Beans.initialize(plan, UserController.class);
+
+			assertTrue(Beans.exists(UserController.class));
+			assertEquals(STALE, Files.getLastModifiedTime(plan));
+		} finally {
+			Beans.unbind(UserRepo.class);
+		}
+	}
+
+	@Test
+	void planIsStaleOnceFactoryBindingClosesCycle() {
+
+		Beans.initialize(plan, UserController.class);
+		Beans.clear();
+
+		Beans.bind(UserRepo.class, resolver -> {
+			resolver.get(UserController.class);
+			return new UserRepo();
+		}, UserController.class);
+
+		try {
+			assertThrows(CircularDependencyException.class, () -> Beans.initialize(plan, UserController.class));
+		} finally {
+			Beans.unbind(UserRepo.class);
+		}
+	}
+
+	@Test
+	void planIsStaleOnceMultiBindingImplementationsChange() {
+
+		Beans.bind(Route.class, HomeRoute.class);
+
+		try {
+			Beans.initialize(plan, Router.class);
+			Beans.clear();
+
+			Beans.bind(Route.class, LoopRoute.class);
+
+			assertThrows(CircularDependencyException.class, () -> Beans.initialize(plan, Router.class));
+		} finally {
+			Beans.unbind(Route.class);
+		}
+	}
+
+	@Test
+	void planIsStaleOnceSuperclassInjectClosesCycle() throws Exception {
+
+		Map<String, String> sources = Map.of(
+				"Root", "public class Root { public Root(Handler handler) {} }",
+				"Handler", "public class Handler extends Base { public Handler() {} }",
+				"Audit", "public class Audit { public Audit(Root root) {} }",
+				"Base", "public class Base {}");
+
+		try (URLClassLoader before = compile("before", sources)) {
+			Beans.initialize(plan, before.loadClass("plan.Root"));
+			assertTrue(Beans.exists(before.loadClass("plan.Handler")));
+		}
+		Beans.clear();
+
+		// Only the superclass changes, the bean's own class file and its constructor stay the same.
+		Map<String, String> changed = new HashMap<>(sources);
+		changed.put("Base", "public class Base { @net.tylerwade.ioc.annotation.Inject public Audit audit; }");
+
+		try (URLClassLoader after = compile("after", changed)) {
+			Class<?> root = after.loadClass("plan.Root");
+			assertThrows(CircularDependencyException.class, () -> Beans.initialize(plan, root));
+		}
+	}
+
+	/**
+	 * Compiles classes of package {@code plan} into their own directory and loads them in a new class loader.
+	 */
+	private URLClassLoader compile(String name, Map<String, String> sources) throws IOException {
+
+		Path sourceDir = Files.createDirectories(tempDir.resolve(name).resolve("src").resolve("plan"));
+		Path classDir = Files.createDirectories(tempDir.resolve(name).resolve("classes"));
+		String api = Path.of(Inject.class.getProtectionDomain().getCodeSource().getLocation().getPath()).toString();
+
+		List<String> arguments = new ArrayList<>(List.of("-d", classDir.toString(), "-cp", api));
+		for (Map.Entry<String, String> source : sources.entrySet()) {
+			Path file = sourceDir.resolve(source.getKey() + ".java");
+			Files.writeString(file, "package plan;\n" + source.getValue());
+			arguments.add(file.toString());
+		}
+
+		assertEquals(0, ToolProvider.getSystemJavaCompiler().run(null, null, null, arguments.toArray(String[]::new)));
+		return new URLClassLoader(new URL[]{classDir.toUri().toURL()}, WiringPlanTests.class.getClassLoader());
+	}
+
+}
@@ -0,0 +1,14 @@
+package testbeans.async;
+
+import net.tylerwade.ioc.AsyncInitializable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+public class BrokenFeed implements AsyncInitializable {
+
+	@Override
+	public CompletionStage<?> initializeAsync() {
+		return CompletableFuture.failedFuture(new IllegalStateException("feed unavailable"));
+	}
+}
@@ -0,0 +1,12 @@
+package testbeans.async;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class ConnectionPool {
+
+	private final SlowConnection connection;
+
+}
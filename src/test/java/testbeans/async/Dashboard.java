@@ -0,0 +1,13 @@
+package testbeans.async;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class Dashboard {
+
+	private final LeftCache leftCache;
+	private final RightCache rightCache;
+
+}
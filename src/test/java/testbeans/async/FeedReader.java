@@ -0,0 +1,7 @@
+package testbeans.async;
+
+public class FeedReader {
+
+	public FeedReader(BrokenFeed feed) {
+	}
+}
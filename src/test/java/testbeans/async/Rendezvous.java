@@ -0,0 +1,27 @@
+package testbeans.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Initializations that only complete if both {@link LeftCache} and {@link RightCache} are initializing at the same time.
+ */
+public class Rendezvous {
+
+	public static volatile CountDownLatch latch = new CountDownLatch(2);
+
+	static CompletionStage<?> arrive() {
+		return CompletableFuture.runAsync(() -> {
+			latch.countDown();
+			try {
+				if (!latch.await(5, TimeUnit.SECONDS)) {
+					throw new IllegalStateException("initializations did not overlap");
+				}
+			} catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+		}, Thread::startVirtualThread);
+	}
+}
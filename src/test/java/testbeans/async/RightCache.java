@@ -0,0 +1,13 @@
+package testbeans.async;
+
+import net.tylerwade.ioc.AsyncInitializable;
+
+import java.util.concurrent.CompletionStage;
+
+public class RightCache implements AsyncInitializable {
+
+	@Override
+	public CompletionStage<?> initializeAsync() {
+		return Rendezvous.arrive();
+	}
+}
@@ -0,0 +1,19 @@
+package testbeans.async;
+
+import net.tylerwade.ioc.AsyncInitializable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Ready once the test completes {@link #ready}.
+ */
+public class SlowConnection implements AsyncInitializable {
+
+	public static volatile CompletableFuture<Void> ready = new CompletableFuture<>();
+
+	@Override
+	public CompletionStage<?> initializeAsync() {
+		return ready;
+	}
+}
@@ -0,0 +1,11 @@
+package testbeans.binding;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class AlertService {
+	private final Notifier notifier;
+
+}
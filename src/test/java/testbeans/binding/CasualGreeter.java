@@ -0,0 +1,9 @@
+package testbeans.binding;
+
+public class CasualGreeter implements Greeter {
+
+	@Override
+	public String greet(String name) {
+		return "Hi " + name;
+	}
+}
@@ -0,0 +1,9 @@
+package testbeans.binding;
+
+public class EmailNotifier implements Notifier {
+
+	@Override
+	public String notify(String message) {
+		return "Email: " + message;
+	}
+}
@@ -0,0 +1,9 @@
+package testbeans.binding;
+
+public class FormalGreeter implements Greeter {
+
+	@Override
+	public String greet(String name) {
+		return "Good day, " + name;
+	}
+}
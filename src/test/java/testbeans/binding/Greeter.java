@@ -0,0 +1,6 @@
+package testbeans.binding;
+
+public interface Greeter {
+
+	String greet(String name);
+}
@@ -0,0 +1,9 @@
+package testbeans.binding;
+
+public class MemoryStore extends Store {
+
+	@Override
+	public String name() {
+		return "memory";
+	}
+}
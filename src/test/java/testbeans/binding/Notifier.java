@@ -0,0 +1,6 @@
+package testbeans.binding;
+
+public interface Notifier {
+
+	String notify(String message);
+}
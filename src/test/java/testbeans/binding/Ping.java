@@ -0,0 +1,4 @@
+package testbeans.binding;
+
+public interface Ping {
+}
@@ -0,0 +1,9 @@
+package testbeans.binding;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class PingImpl implements Ping {
+	private final Pong pong;
+
+}
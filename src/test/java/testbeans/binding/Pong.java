@@ -0,0 +1,9 @@
+package testbeans.binding;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class Pong {
+	private final Ping ping;
+
+}
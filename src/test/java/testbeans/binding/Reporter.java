@@ -0,0 +1,13 @@
+package testbeans.binding;
+
+import lombok.Getter;
+import net.tylerwade.ioc.annotation.Lazy;
+
+@Getter
+public class Reporter {
+	private final Notifier notifier;
+
+	public Reporter(@Lazy Notifier notifier) {
+		this.notifier = notifier;
+	}
+}
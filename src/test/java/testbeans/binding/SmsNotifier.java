@@ -0,0 +1,9 @@
+package testbeans.binding;
+
+public class SmsNotifier implements Notifier {
+
+	@Override
+	public String notify(String message) {
+		return "SMS: " + message;
+	}
+}
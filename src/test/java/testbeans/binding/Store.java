@@ -0,0 +1,6 @@
+package testbeans.binding;
+
+public abstract class Store {
+
+	public abstract String name();
+}
@@ -0,0 +1,4 @@
+package testbeans.diamond;
+
+public class Bottom {
+}
@@ -0,0 +1,11 @@
+package testbeans.diamond;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class Left {
+	private final Bottom bottom;
+
+}
@@ -0,0 +1,11 @@
+package testbeans.diamond;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class Right {
+	private final Bottom bottom;
+
+}
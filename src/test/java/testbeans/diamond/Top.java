@@ -0,0 +1,12 @@
+package testbeans.diamond;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class Top {
+	private final Left left;
+	private final Right right;
+
+}
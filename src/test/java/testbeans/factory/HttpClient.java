@@ -0,0 +1,31 @@
+package testbeans.factory;
+
+/**
+ * Stands in for a third-party client, which can only be created through its static factory method.
+ */
+public class HttpClient implements AutoCloseable {
+
+	private final String baseUrl;
+	private volatile boolean closed;
+
+	private HttpClient(String baseUrl) {
+		this.baseUrl = baseUrl;
+	}
+
+	public static HttpClient create(String baseUrl) {
+		return new HttpClient(baseUrl);
+	}
+
+	public String getBaseUrl() {
+		return baseUrl;
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+	}
+}
@@ -0,0 +1,7 @@
+package testbeans.factory;
+
+public class Poller {
+
+	public Poller(Scheduler scheduler) {
+	}
+}
@@ -0,0 +1,11 @@
+package testbeans.factory;
+
+public class Scheduler {
+
+	private Scheduler() {
+	}
+
+	public static Scheduler create(Poller poller) {
+		return new Scheduler();
+	}
+}
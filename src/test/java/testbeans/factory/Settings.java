@@ -0,0 +1,8 @@
+package testbeans.factory;
+
+public class Settings {
+
+	public String getBaseUrl() {
+		return "https://weather.example";
+	}
+}
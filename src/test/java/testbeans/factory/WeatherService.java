@@ -0,0 +1,26 @@
+package testbeans.factory;
+
+import net.tylerwade.ioc.annotation.Destroy;
+
+public class WeatherService {
+
+	private final HttpClient client;
+	private volatile boolean connectedAtShutdown;
+
+	public WeatherService(HttpClient client) {
+		this.client = client;
+	}
+
+	public HttpClient getClient() {
+		return client;
+	}
+
+	public boolean wasConnectedAtShutdown() {
+		return connectedAtShutdown;
+	}
+
+	@Destroy
+	public void stop() {
+		connectedAtShutdown = !client.isClosed();
+	}
+}
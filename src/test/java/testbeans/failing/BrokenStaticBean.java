@@ -0,0 +1,17 @@
+package testbeans.failing;
+
+/**
+ * Fails in its static initializer, so creating it throws an {@link Error} instead of an exception.
+ */
+public class BrokenStaticBean {
+
+	private static final String NAME = load();
+
+	private static String load() {
+		throw new IllegalStateException("Static boom");
+	}
+
+	public String getName() {
+		return NAME;
+	}
+}
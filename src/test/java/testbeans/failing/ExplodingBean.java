@@ -0,0 +1,8 @@
+package testbeans.failing;
+
+public class ExplodingBean {
+
+	public ExplodingBean() {
+		throw new IllegalStateException("Boom");
+	}
+}
@@ -0,0 +1,25 @@
+package testbeans.field;
+
+import lombok.Getter;
+import net.tylerwade.ioc.annotation.Inject;
+import testbeans.user.UserController;
+import testbeans.user.UserService;
+
+/**
+ * Has an injected private field, an injected setter and an injected field inherited from {@link BaseService}.
+ */
+@Getter
+public class AuditedService extends BaseService {
+
+	@Inject
+	private UserService userService;
+
+	private UserController userController;
+	private boolean superclassInjectedFirst;
+
+	@Inject
+	public void setUserController(UserController userController) {
+		this.userController = userController;
+		this.superclassInjectedFirst = getUserRepo() != null;
+	}
+}
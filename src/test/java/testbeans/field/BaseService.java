@@ -0,0 +1,13 @@
+package testbeans.field;
+
+import lombok.Getter;
+import net.tylerwade.ioc.annotation.Inject;
+import testbeans.user.UserRepo;
+
+@Getter
+public class BaseService {
+
+	@Inject
+	private UserRepo userRepo;
+
+}
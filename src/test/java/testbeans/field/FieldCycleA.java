@@ -0,0 +1,13 @@
+package testbeans.field;
+
+import net.tylerwade.ioc.annotation.Inject;
+
+/**
+ * Depends on {@link FieldCycleB} through a field, which depends back on this bean through its constructor.
+ */
+public class FieldCycleA {
+
+	@Inject
+	private FieldCycleB fieldCycleB;
+
+}
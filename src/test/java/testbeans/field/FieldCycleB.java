@@ -0,0 +1,7 @@
+package testbeans.field;
+
+public class FieldCycleB {
+
+	public FieldCycleB(FieldCycleA fieldCycleA) {
+	}
+}
@@ -0,0 +1,11 @@
+package testbeans.field;
+
+import net.tylerwade.ioc.annotation.Inject;
+import testbeans.user.UserRepo;
+
+public class FinalFieldBean {
+
+	@Inject
+	private final UserRepo userRepo = null;
+
+}
@@ -0,0 +1,16 @@
+package testbeans.field;
+
+import lombok.Getter;
+import net.tylerwade.ioc.annotation.Inject;
+import net.tylerwade.ioc.annotation.Lazy;
+import testbeans.lazy.Mailer;
+import testbeans.lazy.SmtpMailer;
+
+@Getter
+public class LazyFieldBean {
+
+	@Inject
+	@Lazy(SmtpMailer.class)
+	private Mailer mailer;
+
+}
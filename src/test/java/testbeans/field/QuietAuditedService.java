@@ -0,0 +1,15 @@
+package testbeans.field;
+
+import testbeans.user.UserController;
+
+/**
+ * Overrides the injected setter of {@link AuditedService} without {@link net.tylerwade.ioc.annotation.Inject}, so it is
+ * not called.
+ */
+public class QuietAuditedService extends AuditedService {
+
+	@Override
+	public void setUserController(UserController userController) {
+		throw new IllegalStateException("should not be injected");
+	}
+}
@@ -0,0 +1,10 @@
+package testbeans.field;
+
+import net.tylerwade.ioc.annotation.Inject;
+
+public class StringFieldBean {
+
+	@Inject
+	private String name;
+
+}
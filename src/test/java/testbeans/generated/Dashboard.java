@@ -0,0 +1,21 @@
+package testbeans.generated;
+
+public class Dashboard {
+
+	public static class Gauge {
+
+		private final boolean createdByFactory;
+
+		public Gauge() {
+			this(false);
+		}
+
+		Gauge(boolean createdByFactory) {
+			this.createdByFactory = createdByFactory;
+		}
+
+		public boolean isCreatedByFactory() {
+			return createdByFactory;
+		}
+	}
+}
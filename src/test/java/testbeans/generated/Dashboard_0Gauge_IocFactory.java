@@ -0,0 +1,21 @@
+package testbeans.generated;
+
+import net.tylerwade.ioc.GeneratedFactory;
+
+import java.util.List;
+
+/**
+ * The factory ioc-processor generates for the nested {@code Dashboard$Gauge}.
+ */
+public final class Dashboard_0Gauge_IocFactory implements GeneratedFactory<Dashboard.Gauge> {
+
+	@Override
+	public List<Class<?>> dependencies() {
+		return List.of();
+	}
+
+	@Override
+	public Dashboard.Gauge create(Object[] dependencies) {
+		return new Dashboard.Gauge(true);
+	}
+}
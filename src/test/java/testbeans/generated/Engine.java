@@ -0,0 +1,20 @@
+package testbeans.generated;
+
+import lombok.Getter;
+import testbeans.user.UserRepo;
+
+@Getter
+public class Engine {
+
+	private final UserRepo userRepo;
+	private final boolean createdByFactory;
+
+	public Engine(UserRepo userRepo) {
+		this(userRepo, false);
+	}
+
+	Engine(UserRepo userRepo, boolean createdByFactory) {
+		this.userRepo = userRepo;
+		this.createdByFactory = createdByFactory;
+	}
+}
@@ -0,0 +1,24 @@
+package testbeans.generated;
+
+import net.tylerwade.ioc.GeneratedFactory;
+import testbeans.user.UserRepo;
+
+import java.util.List;
+
+/**
+ * Written the way ioc-processor generates factories, so the core tests do not depend on the processor.
+ */
+public final class Engine_IocFactory implements GeneratedFactory<Engine> {
+
+	private static final List<Class<?>> DEPENDENCIES = List.of(UserRepo.class);
+
+	@Override
+	public List<Class<?>> dependencies() {
+		return DEPENDENCIES;
+	}
+
+	@Override
+	public Engine create(Object[] dependencies) {
+		return new Engine((UserRepo) dependencies[0], true);
+	}
+}
@@ -0,0 +1,34 @@
+package testbeans.instantiation;
+
+import lombok.Getter;
+import testbeans.user.UserRepo;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records for each construction whether it was invoked through {@link java.lang.reflect.Constructor#newInstance} and
+ * whether through a hidden class holding a constant handle, and throws instead of finishing while {@link #fail} is set.
+ */
+@Getter
+public class InflatingBean {
+
+	public static final List<Boolean> reflective = new CopyOnWriteArrayList<>();
+	public static final List<Boolean> constantHandle = new CopyOnWriteArrayList<>();
+	public static volatile boolean fail;
+
+	private final UserRepo userRepo;
+
+	public InflatingBean(UserRepo userRepo) {
+		this.userRepo = userRepo;
+
+		reflective.add(StackWalker.getInstance(StackWalker.Option.SHOW_REFLECT_FRAMES).walk(frames -> frames.anyMatch(frame ->
+				frame.getClassName().equals("java.lang.reflect.Constructor") && frame.getMethodName().equals("newInstance"))));
+		constantHandle.add(StackWalker.getInstance(StackWalker.Option.SHOW_HIDDEN_FRAMES).walk(frames -> frames.anyMatch(frame ->
+				frame.getClassName().startsWith("net.tylerwade.ioc.ConstantHandleInstantiator/"))));
+
+		if (fail) {
+			throw new IllegalStateException("Boom");
+		}
+	}
+}
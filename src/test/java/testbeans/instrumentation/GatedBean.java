@@ -0,0 +1,25 @@
+package testbeans.instrumentation;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds its constructor open until released, so other threads asking for it have to wait.
+ */
+public class GatedBean {
+
+	public static volatile CountDownLatch entered = new CountDownLatch(1);
+	public static volatile CountDownLatch release = new CountDownLatch(1);
+
+	public GatedBean() throws InterruptedException {
+		entered.countDown();
+		if (!release.await(5, TimeUnit.SECONDS)) {
+			throw new IllegalStateException("GatedBean was never released");
+		}
+	}
+
+	public static void reset() {
+		entered = new CountDownLatch(1);
+		release = new CountDownLatch(1);
+	}
+}
@@ -0,0 +1,11 @@
+package testbeans.lazy;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class CronScheduler implements Scheduler {
+	private final Dispatcher dispatcher;
+
+}
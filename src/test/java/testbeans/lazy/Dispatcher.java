@@ -0,0 +1,17 @@
+package testbeans.lazy;
+
+import lombok.Getter;
+import net.tylerwade.ioc.annotation.Lazy;
+
+/**
+ * Depends on {@link CronScheduler}, which depends back on this bean. The lazy parameter breaks the cycle.
+ */
+@Getter
+public class Dispatcher {
+
+	private final Scheduler scheduler;
+
+	public Dispatcher(@Lazy(CronScheduler.class) Scheduler scheduler) {
+		this.scheduler = scheduler;
+	}
+}
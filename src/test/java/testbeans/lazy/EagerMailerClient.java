@@ -0,0 +1,9 @@
+package testbeans.lazy;
+
+import net.tylerwade.ioc.annotation.Lazy;
+
+public class EagerMailerClient {
+
+	public EagerMailerClient(@Lazy(SmtpMailer.class) SmtpMailer mailer) {
+	}
+}
@@ -0,0 +1,6 @@
+package testbeans.lazy;
+
+public interface Mailer {
+
+	String send(String message);
+}
@@ -0,0 +1,18 @@
+package testbeans.lazy;
+
+import lombok.Getter;
+import net.tylerwade.ioc.annotation.Lazy;
+
+@Getter
+public class Newsletter {
+
+	private final Mailer mailer;
+
+	public Newsletter(@Lazy(SmtpMailer.class) Mailer mailer) {
+		this.mailer = mailer;
+	}
+
+	public String publish(String issue) {
+		return mailer.send(issue);
+	}
+}
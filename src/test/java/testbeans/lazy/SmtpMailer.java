@@ -0,0 +1,17 @@
+package testbeans.lazy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SmtpMailer implements Mailer {
+
+	public static final AtomicInteger instances = new AtomicInteger();
+
+	public SmtpMailer() {
+		instances.incrementAndGet();
+	}
+
+	@Override
+	public String send(String message) {
+		return "Sent: " + message;
+	}
+}
@@ -0,0 +1,11 @@
+package testbeans.lifecycle;
+
+import net.tylerwade.ioc.annotation.Destroy;
+
+public class BaseResource {
+
+	@Destroy
+	void release() {
+		ShutdownLog.events.add("BaseResource");
+	}
+}
@@ -0,0 +1,14 @@
+package testbeans.lifecycle;
+
+import java.io.IOException;
+
+public class FailingClient implements AutoCloseable {
+
+	public FailingClient(Pool pool) {
+	}
+
+	@Override
+	public void close() throws IOException {
+		throw new IOException("socket already closed");
+	}
+}
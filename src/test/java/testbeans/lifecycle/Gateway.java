@@ -0,0 +1,7 @@
+package testbeans.lifecycle;
+
+public class Gateway {
+
+	public Gateway(LeftPool leftPool, RightPool rightPool) {
+	}
+}
@@ -0,0 +1,15 @@
+package testbeans.lifecycle;
+
+/**
+ * Does not finish closing until the test releases it.
+ */
+public class HangingClient implements AutoCloseable {
+
+	public HangingClient(Pool pool) {
+	}
+
+	@Override
+	public void close() throws InterruptedException {
+		ShutdownLog.release.await();
+	}
+}
@@ -0,0 +1,10 @@
+package testbeans.lifecycle;
+
+import net.tylerwade.ioc.annotation.Destroy;
+
+public class InvalidDestroyBean {
+
+	@Destroy
+	public void stop(boolean force) {
+	}
+}
@@ -0,0 +1,18 @@
+package testbeans.lifecycle;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Only closes if it is closed at the same time as the other pool of {@link Gateway}.
+ */
+public class LeftPool implements AutoCloseable {
+
+	@Override
+	public void close() throws InterruptedException {
+		ShutdownLog.rendezvous.countDown();
+		if (!ShutdownLog.rendezvous.await(5, TimeUnit.SECONDS)) {
+			throw new IllegalStateException("pools were not closed concurrently");
+		}
+		ShutdownLog.events.add("LeftPool");
+	}
+}
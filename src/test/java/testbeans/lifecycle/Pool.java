@@ -0,0 +1,9 @@
+package testbeans.lifecycle;
+
+public class Pool implements AutoCloseable {
+
+	@Override
+	public void close() {
+		ShutdownLog.events.add("Pool");
+	}
+}
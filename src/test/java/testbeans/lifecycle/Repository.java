@@ -0,0 +1,14 @@
+package testbeans.lifecycle;
+
+import net.tylerwade.ioc.annotation.Destroy;
+
+public class Repository {
+
+	public Repository(Pool pool) {
+	}
+
+	@Destroy
+	private void flush() {
+		ShutdownLog.events.add("Repository");
+	}
+}
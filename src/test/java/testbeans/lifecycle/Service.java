@@ -0,0 +1,18 @@
+package testbeans.lifecycle;
+
+import net.tylerwade.ioc.annotation.Destroy;
+
+/**
+ * Marks its own {@code close()}, which must then be called only once.
+ */
+public class Service implements AutoCloseable {
+
+	public Service(Repository repository) {
+	}
+
+	@Destroy
+	@Override
+	public void close() {
+		ShutdownLog.events.add("Service");
+	}
+}
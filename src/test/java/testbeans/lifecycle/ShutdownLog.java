@@ -0,0 +1,25 @@
+package testbeans.lifecycle;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Records the destroy callbacks in the order they ran.
+ */
+public class ShutdownLog {
+
+	public static final ConcurrentLinkedQueue<String> events = new ConcurrentLinkedQueue<>();
+	public static volatile CountDownLatch rendezvous = new CountDownLatch(2);
+	public static volatile CountDownLatch release = new CountDownLatch(1);
+
+	public static void reset() {
+		events.clear();
+		rendezvous = new CountDownLatch(2);
+		release = new CountDownLatch(1);
+	}
+
+	public static List<String> events() {
+		return List.copyOf(events);
+	}
+}
@@ -0,0 +1,11 @@
+package testbeans.lifecycle;
+
+import net.tylerwade.ioc.annotation.Destroy;
+
+public class SubResource extends BaseResource {
+
+	@Destroy
+	void shutdown() {
+		ShutdownLog.events.add("SubResource");
+	}
+}
@@ -0,0 +1,12 @@
+package testbeans.multi;
+
+import net.tylerwade.ioc.annotation.Component;
+
+@Component
+public class HomeRoute implements Route {
+
+	@Override
+	public String path() {
+		return "/";
+	}
+}
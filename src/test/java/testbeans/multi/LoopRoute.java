@@ -0,0 +1,12 @@
+package testbeans.multi;
+
+public class LoopRoute implements Route {
+
+	public LoopRoute(Router router) {
+	}
+
+	@Override
+	public String path() {
+		return "/loop";
+	}
+}
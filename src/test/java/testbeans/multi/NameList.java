@@ -0,0 +1,9 @@
+package testbeans.multi;
+
+import java.util.List;
+
+public class NameList {
+
+	public NameList(List<String> names) {
+	}
+}
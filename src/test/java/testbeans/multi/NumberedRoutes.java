@@ -0,0 +1,9 @@
+package testbeans.multi;
+
+import java.util.Map;
+
+public class NumberedRoutes {
+
+	public NumberedRoutes(Map<Integer, Route> routes) {
+	}
+}
@@ -0,0 +1,4 @@
+package testbeans.multi;
+
+public interface Plugin {
+}
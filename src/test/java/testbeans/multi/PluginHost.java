@@ -0,0 +1,16 @@
+package testbeans.multi;
+
+import java.util.List;
+
+public class PluginHost {
+
+	private final List<Plugin> plugins;
+
+	public PluginHost(List<Plugin> plugins) {
+		this.plugins = plugins;
+	}
+
+	public List<Plugin> getPlugins() {
+		return plugins;
+	}
+}
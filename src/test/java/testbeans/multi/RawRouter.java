@@ -0,0 +1,10 @@
+package testbeans.multi;
+
+import java.util.List;
+
+public class RawRouter {
+
+	@SuppressWarnings("rawtypes")
+	public RawRouter(List routes) {
+	}
+}
@@ -0,0 +1,6 @@
+package testbeans.multi;
+
+public interface Route {
+
+	String path();
+}
@@ -0,0 +1,15 @@
+package testbeans.multi;
+
+import net.tylerwade.ioc.annotation.Inject;
+
+import java.util.List;
+
+public class RouteAuditor {
+
+	@Inject
+	private List<Route> routes;
+
+	public List<Route> getRoutes() {
+		return routes;
+	}
+}
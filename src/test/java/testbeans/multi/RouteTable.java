@@ -0,0 +1,16 @@
+package testbeans.multi;
+
+import java.util.Map;
+
+public class RouteTable {
+
+	private final Map<String, ? extends Route> routes;
+
+	public RouteTable(Map<String, ? extends Route> routes) {
+		this.routes = routes;
+	}
+
+	public Map<String, ? extends Route> getRoutes() {
+		return routes;
+	}
+}
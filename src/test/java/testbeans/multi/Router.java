@@ -0,0 +1,16 @@
+package testbeans.multi;
+
+import java.util.List;
+
+public class Router {
+
+	private final List<Route> routes;
+
+	public Router(List<Route> routes) {
+		this.routes = routes;
+	}
+
+	public List<Route> getRoutes() {
+		return routes;
+	}
+}
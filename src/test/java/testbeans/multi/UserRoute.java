@@ -0,0 +1,12 @@
+package testbeans.multi;
+
+import net.tylerwade.ioc.annotation.Component;
+
+@Component("users")
+public class UserRoute implements Route {
+
+	@Override
+	public String path() {
+		return "/users";
+	}
+}
@@ -0,0 +1,26 @@
+package testbeans.parallel;
+
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Blocks until both slow beans are being constructed at the same time.
+ */
+final class Rendezvous {
+
+	private static final CyclicBarrier barrier = new CyclicBarrier(2);
+
+	private Rendezvous() {
+	}
+
+	static void await() {
+		try {
+			barrier.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+			barrier.reset();
+			throw new IllegalStateException("Slow beans were not created concurrently", e);
+		}
+	}
+}
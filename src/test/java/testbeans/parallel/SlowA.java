@@ -0,0 +1,8 @@
+package testbeans.parallel;
+
+public class SlowA {
+
+	public SlowA() {
+		Rendezvous.await();
+	}
+}
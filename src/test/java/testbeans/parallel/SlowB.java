@@ -0,0 +1,8 @@
+package testbeans.parallel;
+
+public class SlowB {
+
+	public SlowB() {
+		Rendezvous.await();
+	}
+}
@@ -0,0 +1,12 @@
+package testbeans.parallel;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class SlowRoot {
+	private final SlowA slowA;
+	private final SlowB slowB;
+
+}
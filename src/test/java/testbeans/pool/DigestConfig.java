@@ -0,0 +1,8 @@
+package testbeans.pool;
+
+public class DigestConfig {
+
+	public String getAlgorithm() {
+		return "sum";
+	}
+}
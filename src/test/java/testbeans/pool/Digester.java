@@ -0,0 +1,52 @@
+package testbeans.pool;
+
+import lombok.Getter;
+import net.tylerwade.ioc.annotation.Destroy;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Not thread-safe: {@link #digest(String)} fails if two threads use the same instance at once.
+ */
+@Getter
+public class Digester {
+
+	public static final AtomicInteger created = new AtomicInteger();
+	public static final AtomicInteger destroyed = new AtomicInteger();
+
+	private final DigestConfig config;
+	private final AtomicBoolean inUse = new AtomicBoolean();
+
+	public Digester(DigestConfig config) {
+		this.config = config;
+		created.incrementAndGet();
+	}
+
+	public int digest(String input) {
+		if (!inUse.compareAndSet(false, true)) {
+			throw new IllegalStateException("Digester used by two threads at once");
+		}
+
+		try {
+			int sum = 0;
+			for (char c : input.toCharArray()) {
+				sum += c;
+				Thread.yield();
+			}
+			return sum;
+		} finally {
+			inUse.set(false);
+		}
+	}
+
+	@Destroy
+	void destroy() {
+		destroyed.incrementAndGet();
+	}
+
+	public static void reset() {
+		created.set(0);
+		destroyed.set(0);
+	}
+}
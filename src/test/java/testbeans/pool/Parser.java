@@ -0,0 +1,19 @@
+package testbeans.pool;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slow to build: each constructor waits until {@link #building} instances are being built at once.
+ */
+public class Parser {
+
+	public static volatile CountDownLatch building = new CountDownLatch(0);
+
+	public Parser(DigestConfig config) throws InterruptedException {
+		building.countDown();
+		if (!building.await(5, TimeUnit.SECONDS)) {
+			throw new IllegalStateException("Parsers were not built concurrently");
+		}
+	}
+}
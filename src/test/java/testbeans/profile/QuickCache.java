@@ -0,0 +1,4 @@
+package testbeans.profile;
+
+public class QuickCache {
+}
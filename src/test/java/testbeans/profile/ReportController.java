@@ -0,0 +1,7 @@
+package testbeans.profile;
+
+public class ReportController {
+
+	public ReportController(ReportService service) {
+	}
+}
@@ -0,0 +1,7 @@
+package testbeans.profile;
+
+public class ReportService {
+
+	public ReportService(SlowRepository repository, QuickCache cache) {
+	}
+}
@@ -0,0 +1,8 @@
+package testbeans.profile;
+
+public class SlowRepository {
+
+	public SlowRepository() throws InterruptedException {
+		Thread.sleep(60);
+	}
+}
@@ -0,0 +1,12 @@
+package testbeans.refresh;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class ApiClient {
+
+	private final Credentials credentials;
+
+}
@@ -0,0 +1,17 @@
+package testbeans.refresh;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Takes the next version every time it is created, like credentials rotated at runtime.
+ */
+@Getter
+public class Credentials {
+
+	public static final AtomicInteger versions = new AtomicInteger();
+
+	private final int version = versions.incrementAndGet();
+
+}
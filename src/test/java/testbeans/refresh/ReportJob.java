@@ -0,0 +1,14 @@
+package testbeans.refresh;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import testbeans.user.UserRepo;
+
+@Getter
+@RequiredArgsConstructor
+public class ReportJob {
+
+	private final ApiClient apiClient;
+	private final UserRepo userRepo;
+
+}
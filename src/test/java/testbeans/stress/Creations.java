@@ -0,0 +1,31 @@
+package testbeans.stress;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the constructor calls of each stress bean type.
+ */
+public final class Creations {
+
+	private static final Map<Class<?>, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+	private Creations() {
+	}
+
+	static void record(Object bean) {
+		counts.computeIfAbsent(bean.getClass(), ignored -> new AtomicInteger()).incrementAndGet();
+		// Widens the window in which other threads ask for the bean while it is being created.
+		Thread.yield();
+	}
+
+	public static int of(Class<?> beanType) {
+		AtomicInteger count = counts.get(beanType);
+		return count != null ? count.get() : 0;
+	}
+
+	public static void reset() {
+		counts.clear();
+	}
+}
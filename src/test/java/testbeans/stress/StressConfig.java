@@ -0,0 +1,8 @@
+package testbeans.stress;
+
+public class StressConfig {
+
+	public StressConfig() {
+		Creations.record(this);
+	}
+}
@@ -0,0 +1,8 @@
+package testbeans.stress;
+
+public class StressLeaf {
+
+	public StressLeaf() {
+		Creations.record(this);
+	}
+}
@@ -0,0 +1,16 @@
+package testbeans.stress;
+
+import lombok.Getter;
+
+@Getter
+public class StressMid {
+
+	private final StressLeaf leaf;
+	private final StressConfig config;
+
+	public StressMid(StressLeaf leaf, StressConfig config) {
+		this.leaf = leaf;
+		this.config = config;
+		Creations.record(this);
+	}
+}
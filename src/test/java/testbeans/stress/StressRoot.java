@@ -0,0 +1,16 @@
+package testbeans.stress;
+
+import lombok.Getter;
+
+@Getter
+public class StressRoot {
+
+	private final StressMid mid;
+	private final StressSide side;
+
+	public StressRoot(StressMid mid, StressSide side) {
+		this.mid = mid;
+		this.side = side;
+		Creations.record(this);
+	}
+}
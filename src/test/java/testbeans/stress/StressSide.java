@@ -0,0 +1,21 @@
+package testbeans.stress;
+
+import lombok.Getter;
+import net.tylerwade.ioc.annotation.Inject;
+
+/**
+ * Shares {@link StressConfig} with {@link StressMid} and gets {@link StressLeaf} through an injected field.
+ */
+@Getter
+public class StressSide {
+
+	private final StressConfig config;
+
+	@Inject
+	private StressLeaf leaf;
+
+	public StressSide(StressConfig config) {
+		this.config = config;
+		Creations.record(this);
+	}
+}